@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph;
+
+/**
+ * <p>The cost of a {@link GraphAnalyzer} in relation to the size of the analyzed graph state, which is used to
+ * evaluate cheap analyzers first.</p>
+ *
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public enum AnalyzerCost {
+    /**
+     * The analyzer does not depend on the size of the graph state, e.g. it only uses counters
+     */
+    CONSTANT,
+    /**
+     * The analyzer visits every vertex and edge at most a constant number of times
+     */
+    LINEAR,
+    /**
+     * The analyzer needs more than linear time or its cost is not known
+     */
+    SUPERLINEAR
+}
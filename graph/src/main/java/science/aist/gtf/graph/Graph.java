@@ -14,8 +14,9 @@ import science.aist.gtf.graph.impl.VertexVisitor;
 import science.aist.gtf.graph.traversal.TraversalStrategy;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -37,16 +38,35 @@ public interface Graph<V, E> extends MetaTagCollection, Iterable<Vertex<V, E>> {
     Collection<Vertex<V, E>> getVertices();
 
     /**
-     * <p>returns all edges that are inside the graph.</p>
-     * <p>Note: this operation traverses every node, and could therefore be extremely slow for big graphs</p>
+     * returns all edges that are inside the graph.
      *
-     * @return all edges that are inside the graph
+     * @return an unmodifiable view of all edges that are inside the graph
      */
     default Set<Edge<V, E>> getEdges() {
-        return getVertices().stream()
-                .map(Vertex::getEdges)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toSet());
+        return Collections.unmodifiableSet(getGraphState().getAllEdges());
+    }
+
+    /**
+     * <p>Returns the vertex with the given key. The keys are the ones of the key mapper that was used to build the
+     * graph (e.g. in {@link science.aist.gtf.graph.builder.impl.GraphBuilderImpl}).</p>
+     * <p>The default implementation returns an empty optional, as a graph does not need to have a key index.</p>
+     *
+     * @param key the key of the vertex
+     * @return the vertex with the given key, or an empty optional if there is none
+     */
+    default Optional<Vertex<V, E>> getVertexByKey(Object key) {
+        return Optional.empty();
+    }
+
+    /**
+     * Checks if the graph contains a vertex with the given key
+     *
+     * @param key the key of the vertex
+     * @return true if there is a vertex with the given key, false otherwise
+     * @see #getVertexByKey(Object)
+     */
+    default boolean containsKey(Object key) {
+        return getVertexByKey(key).isPresent();
     }
 
     /**
@@ -72,11 +92,56 @@ public interface Graph<V, E> extends MetaTagCollection, Iterable<Vertex<V, E>> {
     void traverseEdges(VertexVisitor<V, E> visitor, EdgeVisitor<V, E> edgeVisitor);
 
     /**
-     * Creates a stream and streams the vertices
+     * <p>Creates a stream and streams the vertices</p>
+     * <p>The stream is backed by the spliterator of {@link #getVertices()}, so it is sized and splits along the
+     * vertex storage of the graph state. The vertices are therefore returned in storage order and not in traversal
+     * order. Use {@link #depthFirstStream()} if the traversal order is required.</p>
      *
      * @return stream of vertices
      */
     default Stream<Vertex<V, E>> stream() {
+        return getVertices().stream();
+    }
+
+    /**
+     * Creates a parallel stream of the vertices
+     *
+     * @return parallel stream of vertices
+     * @see #stream()
+     * @since 2.0.2
+     */
+    default Stream<Vertex<V, E>> parallelStream() {
+        return getVertices().parallelStream();
+    }
+
+    /**
+     * Creates a stream of all the edges of the graph, which is backed by the spliterator of {@link #getEdges()}
+     *
+     * @return stream of edges
+     * @since 2.0.2
+     */
+    default Stream<Edge<V, E>> edgeStream() {
+        return getEdges().stream();
+    }
+
+    /**
+     * Creates a parallel stream of all the edges of the graph
+     *
+     * @return parallel stream of edges
+     * @see #edgeStream()
+     * @since 2.0.2
+     */
+    default Stream<Edge<V, E>> parallelEdgeStream() {
+        return getEdges().parallelStream();
+    }
+
+    /**
+     * Creates a sequential stream of the vertices in the order of {@link #iterator()}, i.e. in depth first order
+     *
+     * @return stream of vertices in traversal order
+     * @since 2.0.2
+     */
+    default Stream<Vertex<V, E>> depthFirstStream() {
         return StreamSupport.stream(spliterator(), false);
     }
 
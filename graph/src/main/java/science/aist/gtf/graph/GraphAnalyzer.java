@@ -26,4 +26,14 @@ public interface GraphAnalyzer<V, E, R> {
      * @return the analyze result
      */
     R analyzeGraphState(GraphStateAccessor<V, E> graphStateAccessor);
+
+    /**
+     * Returns the cost of this analyzer, which is used to evaluate cheap analyzers first. Unless declared otherwise,
+     * an analyzer is assumed to be expensive.
+     *
+     * @return the cost of this analyzer
+     */
+    default AnalyzerCost getCost() {
+        return AnalyzerCost.SUPERLINEAR;
+    }
 }
@@ -9,9 +9,7 @@
 
 package science.aist.gtf.graph;
 
-import science.aist.jack.general.util.CastUtils;
-
-import java.lang.reflect.Proxy;
+import science.aist.gtf.graph.impl.ReadonlyGraphStateAccessor;
 
 /**
  * <p>Representation of a graph state</p>
@@ -40,18 +38,69 @@ public interface GraphState<V, E> extends GraphStateAccessor<V, E> {
     void addEdge(Edge<V, E> edge, Vertex<V, E> source, Vertex<V, E> target);
 
     /**
-     * Returns a readonly instance of the given graph state
+     * <p>Removes an edge from the graph state.</p>
+     * <p>The default implementation does not support removing edges.</p>
+     *
+     * @param edge the edge to remove
+     * @throws IllegalStateException         if the edge is not contained in the graph state
+     * @throws UnsupportedOperationException if the graph state does not support removing edges
+     */
+    default void removeEdge(Edge<V, E> edge) {
+        throw new UnsupportedOperationException("Graph state implementation does not support removing edges");
+    }
+
+    /**
+     * <p>Removes a vertex and all its incoming and outgoing edges from the graph state.</p>
+     * <p>The default implementation does not support removing vertices.</p>
+     *
+     * @param vertex the vertex to remove
+     * @throws IllegalStateException         if the vertex is not contained in the graph state
+     * @throws UnsupportedOperationException if the graph state does not support removing vertices
+     */
+    default void removeVertex(Vertex<V, E> vertex) {
+        throw new UnsupportedOperationException("Graph state implementation does not support removing vertices");
+    }
+
+    /**
+     * <p>Hint, that the graph state will contain at least the given number of vertices and edges. This allows
+     * implementations to allocate their internal data structures once, instead of growing them repeatedly.</p>
+     * <p>The default implementation ignores the hint.</p>
+     *
+     * @param vertexCapacity the expected minimum number of vertices
+     * @param edgeCapacity   the expected minimum number of edges
+     */
+    default void ensureCapacity(int vertexCapacity, int edgeCapacity) {
+        // per default the hint is ignored
+    }
+
+    /**
+     * <p>Registers a listener, that is notified about every following modification of this graph state.</p>
+     * <p>The default implementation does not support listeners.</p>
+     *
+     * @param listener the listener
+     * @throws UnsupportedOperationException if the graph state does not support listeners
+     */
+    default void addListener(GraphStateListener<V, E> listener) {
+        throw new UnsupportedOperationException("Graph state implementation does not support listeners");
+    }
+
+    /**
+     * Removes a previously registered listener
+     *
+     * @param listener the listener
+     */
+    default void removeListener(GraphStateListener<V, E> listener) {
+        // per default there are no listeners
+    }
+
+    /**
+     * <p>Returns a readonly instance of the given graph state.</p>
+     * <p>The returned accessor directly delegates to this graph state, but it is not possible to cast it back to the
+     * graph state. Implementations might cache the returned instance.</p>
      *
      * @return the current graph state as ready only representation
      */
     default GraphStateAccessor<V, E> readonly() {
-        // Creates a proxy of the current graph state object that basically just delegates the methods to the object
-        // itself, but it avoids being able to cast it back to the graph state, nor does it allow to access the
-        // variables via reflection, which makes the GraphState readonly
-        return CastUtils.cast(Proxy.newProxyInstance(
-                Thread.currentThread().getContextClassLoader(),
-                new Class[]{GraphStateAccessor.class},
-                (proxy, method, args) -> method.invoke(this, args)));
-
+        return ReadonlyGraphStateAccessor.of(this);
     }
 }
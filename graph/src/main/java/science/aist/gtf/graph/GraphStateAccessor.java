@@ -10,7 +10,10 @@
 package science.aist.gtf.graph;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * <p>Allows reading access to a given graph state</p>
@@ -36,6 +39,97 @@ public interface GraphStateAccessor<V, E> {
      */
     Set<Edge<V, E>> getEdges(Vertex<V, E> vertex);
 
+    /**
+     * <p>Returns all the edges of the graph state, where every edge is contained exactly once.</p>
+     * <p>Implementations should override this method, the default implementation collects the edges of every vertex
+     * into a new set.</p>
+     *
+     * @return an unmodifiable set of all the edges in the graph state
+     */
+    default Set<Edge<V, E>> getAllEdges() {
+        return getVertices().stream()
+                .map(this::getEdges)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Returns the number of vertices in the graph state
+     *
+     * @return the number of vertices
+     */
+    default int vertexCount() {
+        return getVertices().size();
+    }
+
+    /**
+     * <p>Returns the number of edges in the graph state.</p>
+     * <p>Implementations should override this method, the default implementation uses {@link #getAllEdges()}.</p>
+     *
+     * @return the number of edges
+     */
+    default int edgeCount() {
+        return getAllEdges().size();
+    }
+
+    /**
+     * <p>Returns the edges which are outgoing from the given vertex.</p>
+     * <p>Implementations should override this method, the default implementation filters all the edges of the vertex,
+     * which requires a lookup of the source vertex for every edge.</p>
+     *
+     * @param vertex the vertex for which the outgoing edges should be retrieved
+     * @return the edges e that match vertex-(e)-&gt;x
+     */
+    default Collection<Edge<V, E>> getOutgoingEdges(Vertex<V, E> vertex) {
+        return getEdges(vertex).stream()
+                .filter(e -> vertex.equals(getSource(e)))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * <p>Returns the edges which are incoming into the given vertex.</p>
+     * <p>Implementations should override this method, the default implementation filters all the edges of the vertex,
+     * which requires a lookup of the target vertex for every edge.</p>
+     *
+     * @param vertex the vertex for which the incoming edges should be retrieved
+     * @return the edges e that match x-(e)-&gt;vertex
+     */
+    default Collection<Edge<V, E>> getIncomingEdges(Vertex<V, E> vertex) {
+        return getEdges(vertex).stream()
+                .filter(e -> vertex.equals(getTarget(e)))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Returns the vertices which are connected to the given vertex by an incoming or an outgoing edge. Every vertex is
+     * only contained once.
+     *
+     * @param vertex the vertex for which the adjacent vertices should be retrieved
+     * @return the sources of the incoming edges followed by the targets of the outgoing edges
+     */
+    default Collection<Vertex<V, E>> getAdjacentVertices(Vertex<V, E> vertex) {
+        return Stream.concat(
+                getIncomingEdges(vertex).stream().map(this::getSource),
+                getOutgoingEdges(vertex).stream().map(this::getTarget)
+        ).distinct().collect(Collectors.toList());
+    }
+
+    /**
+     * <p>Finds an edge from the source to the target vertex. If there are multiple such edges, one of them is
+     * returned.</p>
+     * <p>Implementations should override this method, the default implementation searches all the outgoing edges of
+     * the source vertex.</p>
+     *
+     * @param source the source vertex of the edge
+     * @param target the target vertex of the edge
+     * @return the edge from source to target or an empty optional if there is none
+     */
+    default Optional<Edge<V, E>> findEdge(Vertex<V, E> source, Vertex<V, E> target) {
+        return getOutgoingEdges(source).stream()
+                .filter(e -> target.equals(getTarget(e)))
+                .findAny();
+    }
+
     /**
      * Returns the source vertex for a given edge
      *
@@ -51,4 +145,19 @@ public interface GraphStateAccessor<V, E> {
      * @return the target vertex of the given
      */
     Vertex<V, E> getTarget(Edge<V, E> edge);
+
+    /**
+     * <p>Returns a stamp, that is increased every time a vertex or an edge is added to or removed from the graph
+     * state. As long as the stamp did not change, the structure of the graph state did not change either, which allows
+     * to cache results that are derived from the structure only.</p>
+     * <p>The stamp does not cover changes of the vertices and edges themselves, i.e. changes of their meta tags, their
+     * decorated elements or the weights of the edges. An immutable graph state (e.g. a frozen one) always returns the
+     * same stamp, even though these values can still be changed.</p>
+     * <p>The default implementation returns -1, which means that modifications are not tracked.</p>
+     *
+     * @return the modification stamp or -1 if modifications are not tracked
+     */
+    default long getModificationStamp() {
+        return -1;
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph;
+
+/**
+ * <p>Listener, that is notified about modifications of a {@link GraphState}.</p>
+ * <p>The listeners are called synchronously by the thread, that modified the graph state, after the modification was
+ * applied. If a graph state can be modified from multiple threads concurrently, its listeners must be thread-safe.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public interface GraphStateListener<V, E> {
+    /**
+     * Called after a vertex was added to the graph state
+     *
+     * @param vertex the added vertex
+     */
+    default void onVertexAdded(Vertex<V, E> vertex) {
+    }
+
+    /**
+     * Called after an edge was added to the graph state
+     *
+     * @param edge   the added edge
+     * @param source the source vertex of the edge
+     * @param target the target vertex of the edge
+     */
+    default void onEdgeAdded(Edge<V, E> edge, Vertex<V, E> source, Vertex<V, E> target) {
+    }
+
+    /**
+     * Called after an edge was removed from the graph state
+     *
+     * @param edge   the removed edge
+     * @param source the source vertex of the edge
+     * @param target the target vertex of the edge
+     */
+    default void onEdgeRemoved(Edge<V, E> edge, Vertex<V, E> source, Vertex<V, E> target) {
+    }
+
+    /**
+     * Called after a vertex was removed from the graph state. All the edges of the vertex were removed before.
+     *
+     * @param vertex the removed vertex
+     */
+    default void onVertexRemoved(Vertex<V, E> vertex) {
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph;
+
+/**
+ * <p>Graph analyzer, that computes its result in a single scan over the graph state, so that multiple analyzers can
+ * share the same scan.</p>
+ * <p>A scan first receives every vertex of the graph state and afterwards every edge. It can stop the scan early, as
+ * soon as it knows the result. The vertices are passed as returned by {@link GraphStateAccessor#getVertices()} and
+ * the edges as returned by {@link GraphStateAccessor#getAllEdges()}.</p>
+ *
+ * @param <R> result of the analysis
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public interface IncrementalGraphAnalyzer<V, E, R> extends GraphAnalyzer<V, E, R> {
+    /**
+     * Starts a new scan of the given graph state
+     *
+     * @param graphStateAccessor the graph state to be analyzed
+     * @return the scan, which receives the elements of the graph state
+     */
+    Scan<V, E, R> startScan(GraphStateAccessor<V, E> graphStateAccessor);
+
+    @Override
+    default R analyzeGraphState(GraphStateAccessor<V, E> graphStateAccessor) {
+        Scan<V, E, R> scan = startScan(graphStateAccessor);
+        if (!scan.isComplete()) {
+            for (Vertex<V, E> vertex : graphStateAccessor.getVertices()) {
+                scan.visitVertex(vertex);
+                if (scan.isComplete())
+                    return scan.getResult();
+            }
+            for (Edge<V, E> edge : graphStateAccessor.getAllEdges()) {
+                scan.visitEdge(edge);
+                if (scan.isComplete())
+                    break;
+            }
+        }
+        return scan.getResult();
+    }
+
+    @Override
+    default AnalyzerCost getCost() {
+        return AnalyzerCost.LINEAR;
+    }
+
+    /**
+     * A single scan over a graph state
+     *
+     * @param <R> result of the analysis
+     * @param <V> the type of the decorated vertex value
+     * @param <E> the type of the decorated edge value
+     */
+    interface Scan<V, E, R> {
+        /**
+         * Called for every vertex of the graph state, before any edge is visited
+         *
+         * @param vertex the vertex
+         */
+        default void visitVertex(Vertex<V, E> vertex) {
+        }
+
+        /**
+         * Called for every edge of the graph state, after all the vertices were visited
+         *
+         * @param edge the edge
+         */
+        default void visitEdge(Edge<V, E> edge) {
+        }
+
+        /**
+         * @return true if the result is known and no further elements need to be visited
+         */
+        default boolean isComplete() {
+            return false;
+        }
+
+        /**
+         * @return the result of the analysis
+         */
+        R getResult();
+    }
+}
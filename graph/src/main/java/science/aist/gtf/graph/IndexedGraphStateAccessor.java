@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph;
+
+import java.util.Optional;
+
+/**
+ * <p>Reading access to a graph state that identifies its vertices and edges by dense integer indices.</p>
+ * <p>Vertex indices are in the range [0, {@link #vertexCount()}) and edge indices are in the range
+ * [0, {@link #edgeCount()}). This allows algorithms to replace hash based lookups (e.g. visited sets) by plain arrays
+ * or bit sets.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public interface IndexedGraphStateAccessor<V, E> extends GraphStateAccessor<V, E> {
+    /**
+     * Returns the index of the given vertex
+     *
+     * @param vertex the vertex for which the index should be returned
+     * @return the index of the vertex
+     * @throws IllegalStateException if the vertex is not part of the graph state
+     */
+    int indexOf(Vertex<V, E> vertex);
+
+    /**
+     * Returns the index of the given edge
+     *
+     * @param edge the edge for which the index should be returned
+     * @return the index of the edge
+     * @throws IllegalStateException if the edge is not part of the graph state
+     */
+    int indexOf(Edge<V, E> edge);
+
+    /**
+     * Returns the vertex with the given index
+     *
+     * @param index the index of the vertex
+     * @return the vertex with the given index
+     * @throws IndexOutOfBoundsException if there is no vertex with the given index
+     */
+    Vertex<V, E> getVertex(int index);
+
+    /**
+     * Returns the edge with the given index
+     *
+     * @param index the index of the edge
+     * @return the edge with the given index
+     * @throws IndexOutOfBoundsException if there is no edge with the given index
+     */
+    Edge<V, E> getEdge(int index);
+
+    /**
+     * Returns the store, that holds the meta tags of all vertices, if the graph state provides one (e.g. a column based
+     * store). The vertices then delegate their meta tags to this store.
+     *
+     * @return the meta tag store of the vertices or an empty optional if every vertex stores its own meta tags
+     */
+    default Optional<? extends MetaTagStore> getVertexMetaTagStore() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the store, that holds the meta tags of all edges, if the graph state provides one (e.g. a column based
+     * store). The edges then delegate their meta tags to this store.
+     *
+     * @return the meta tag store of the edges or an empty optional if every edge stores its own meta tags
+     */
+    default Optional<? extends MetaTagStore> getEdgeMetaTagStore() {
+        return Optional.empty();
+    }
+}
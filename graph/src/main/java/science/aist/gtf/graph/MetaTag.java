@@ -25,9 +25,13 @@ public interface MetaTag<T> {
     String getKey();
 
     /**
-     * sets value of field key
+     * <p>sets value of field key</p>
+     * <p>Note: a collection may index its meta tags by their key, so the key must not be changed while the meta tag is
+     * part of a collection. Meta tags, that are provided by a collection itself (e.g. the column based meta tags of a
+     * {@link MetaTagStore}), may not support this operation at all.</p>
      *
      * @param key value of field key
+     * @throws UnsupportedOperationException if the key of the meta tag can not be changed
      */
     void setKey(String key);
 
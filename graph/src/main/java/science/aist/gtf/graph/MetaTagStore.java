@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph;
+
+/**
+ * <p>Storage of the meta tags of all vertices or all edges of an {@link IndexedGraphStateAccessor}, which is used
+ * instead of storing the meta tags in every single vertex or edge.</p>
+ * <p>The meta tags are bound to the indices of the graph state, that owns the store.</p>
+ *
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public interface MetaTagStore {
+    /**
+     * Returns a view on the meta tags of a single element. All modifications of the view are applied to the store.
+     *
+     * @param index the index of the vertex or edge
+     * @return the meta tags of the element with the given index
+     */
+    MetaTagCollection getMetaTags(int index);
+}
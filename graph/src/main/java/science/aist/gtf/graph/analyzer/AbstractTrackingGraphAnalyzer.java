@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.analyzer;
+
+import science.aist.gtf.graph.*;
+
+/**
+ * <p>Base class for graph analyzers, which keep their result up to date by listening to the modifications of a graph
+ * state, instead of analyzing the whole graph state again.</p>
+ * <p>After the analyzer was {@link #attach(GraphState) attached} to a graph state, analyzing this graph state (or its
+ * {@link GraphState#readonly() readonly view}) returns the tracked result in constant time. Any other graph state is
+ * analyzed by the given fallback analyzer.</p>
+ *
+ * @param <R> result of the analysis
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public abstract class AbstractTrackingGraphAnalyzer<V, E, R> implements GraphAnalyzer<V, E, R>, GraphStateListener<V, E> {
+    private final GraphAnalyzer<V, E, R> fallback;
+    private volatile GraphState<V, E> graphState;
+
+    /**
+     * @param fallback the analyzer, that is used for graph states, that are not tracked
+     */
+    protected AbstractTrackingGraphAnalyzer(GraphAnalyzer<V, E, R> fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * Starts tracking the given graph state. The vertices and edges, that are already contained in the graph state,
+     * are processed immediately. The graph state must not be modified concurrently while it is attached.
+     *
+     * @param graphState the graph state to be tracked
+     * @throws IllegalStateException         if the analyzer is already attached to a graph state
+     * @throws UnsupportedOperationException if the graph state does not support listeners
+     */
+    public synchronized void attach(GraphState<V, E> graphState) {
+        if (this.graphState != null)
+            throw new IllegalStateException("Analyzer is already attached to a graph state");
+        rebuild(graphState);
+        graphState.addListener(this);
+        this.graphState = graphState;
+    }
+
+    /**
+     * Stops tracking the currently attached graph state
+     */
+    public synchronized void detach() {
+        if (graphState != null) {
+            graphState.removeListener(this);
+            graphState = null;
+        }
+    }
+
+    /**
+     * @return the attached graph state or null if the analyzer is not attached
+     */
+    protected GraphState<V, E> getAttachedGraphState() {
+        return graphState;
+    }
+
+    @Override
+    public R analyzeGraphState(GraphStateAccessor<V, E> graphStateAccessor) {
+        GraphState<V, E> tracked = graphState;
+        if (tracked != null && (graphStateAccessor == tracked || graphStateAccessor == tracked.readonly()))
+            return getTrackedResult(tracked);
+        return fallback.analyzeGraphState(graphStateAccessor);
+    }
+
+    @Override
+    public AnalyzerCost getCost() {
+        // the cost of the fallback is only relevant for graph states, that are not tracked
+        return graphState != null ? AnalyzerCost.CONSTANT : fallback.getCost();
+    }
+
+    /**
+     * Resets the tracked state and processes all the vertices and edges of the given graph state again
+     *
+     * @param graphState the graph state
+     */
+    protected void rebuild(GraphStateAccessor<V, E> graphState) {
+        reset(graphState);
+        for (Vertex<V, E> vertex : graphState.getVertices()) {
+            onVertexAdded(vertex);
+        }
+        for (Edge<V, E> edge : graphState.getAllEdges()) {
+            onEdgeAdded(edge, graphState.getSource(edge), graphState.getTarget(edge));
+        }
+    }
+
+    /**
+     * Resets the tracked state, before the given graph state is processed
+     *
+     * @param graphState the graph state, which is going to be attached
+     */
+    protected abstract void reset(GraphStateAccessor<V, E> graphState);
+
+    /**
+     * Returns the tracked result
+     *
+     * @param graphState the attached graph state
+     * @return the tracked result
+     */
+    protected abstract R getTrackedResult(GraphStateAccessor<V, E> graphState);
+}
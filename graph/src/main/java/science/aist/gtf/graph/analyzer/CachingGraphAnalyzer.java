@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.analyzer;
+
+import lombok.RequiredArgsConstructor;
+import science.aist.gtf.graph.AnalyzerCost;
+import science.aist.gtf.graph.GraphAnalyzer;
+import science.aist.gtf.graph.GraphStateAccessor;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * <p>Decorator for a graph analyzer, that caches the result for the most recently analyzed graph state.</p>
+ * <p>The cached result is reused, as long as the same graph state is analyzed and its
+ * {@link GraphStateAccessor#getModificationStamp() modification stamp} did not change. Graph states, that do not track
+ * their modifications, are always analyzed by the decorated analyzer. The stamp only covers adding and removing
+ * vertices and edges, therefore the decorated analyzer must only depend on the structure of the graph state, but not
+ * on the meta tags, the decorated elements or the weights of the edges. Otherwise {@link #invalidate()} must be called
+ * after these values were changed. The graph state itself is only weakly referenced.</p>
+ *
+ * @param <R> result of the analysis
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+@RequiredArgsConstructor
+public class CachingGraphAnalyzer<V, E, R> implements GraphAnalyzer<V, E, R> {
+    private final GraphAnalyzer<V, E, R> delegate;
+    private volatile CachedResult<V, E, R> cachedResult;
+
+    @Override
+    public R analyzeGraphState(GraphStateAccessor<V, E> graphStateAccessor) {
+        long stamp = graphStateAccessor.getModificationStamp();
+        if (stamp < 0)
+            return delegate.analyzeGraphState(graphStateAccessor);
+        CachedResult<V, E, R> cached = cachedResult;
+        if (cached != null && cached.stamp == stamp && cached.graphState.get() == graphStateAccessor)
+            return cached.result;
+        R result = delegate.analyzeGraphState(graphStateAccessor);
+        cachedResult = new CachedResult<>(new WeakReference<>(graphStateAccessor), stamp, result);
+        return result;
+    }
+
+    @Override
+    public AnalyzerCost getCost() {
+        return delegate.getCost();
+    }
+
+    /**
+     * Removes the cached result
+     */
+    public void invalidate() {
+        cachedResult = null;
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedResult<V, E, R> {
+        private final WeakReference<GraphStateAccessor<V, E>> graphState;
+        private final long stamp;
+        private final R result;
+    }
+}
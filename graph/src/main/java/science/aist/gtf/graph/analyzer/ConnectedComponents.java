@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.analyzer;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import science.aist.gtf.graph.Vertex;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Result of the {@link ConnectedComponentsAnalyzer}</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class ConnectedComponents<V, E> {
+    /**
+     * The vertices of every component
+     */
+    @Getter
+    private final List<Collection<Vertex<V, E>>> components;
+    private final Map<Vertex<V, E>, Integer> componentOfVertex;
+
+    /**
+     * @return the number of connected components
+     */
+    public int getCount() {
+        return components.size();
+    }
+
+    /**
+     * @return true if there is exactly one component
+     */
+    public boolean isConnected() {
+        return components.size() == 1;
+    }
+
+    /**
+     * Returns the number of the component of the given vertex, which is the position in {@link #getComponents()}
+     *
+     * @param vertex the vertex
+     * @return the number of the component
+     * @throws IllegalStateException if the vertex is not part of the analyzed graph state
+     */
+    public int getComponentOf(Vertex<V, E> vertex) {
+        Integer component = componentOfVertex.get(vertex);
+        if (component == null)
+            throw new IllegalStateException("Vertex is not part of the analyzed graph state");
+        return component;
+    }
+
+    /**
+     * @param vertex the vertex
+     * @return the vertices, that are in the same component as the given vertex
+     * @throws IllegalStateException if the vertex is not part of the analyzed graph state
+     */
+    public Collection<Vertex<V, E>> getComponent(Vertex<V, E> vertex) {
+        return components.get(getComponentOf(vertex));
+    }
+}
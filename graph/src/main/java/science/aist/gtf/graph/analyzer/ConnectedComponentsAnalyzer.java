@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.analyzer;
+
+import science.aist.gtf.graph.GraphAnalyzer;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.Vertex;
+
+import java.util.*;
+
+/**
+ * <p>Calculates the connected components of a graph state, where the edges are seen as undirected.</p>
+ * <p>The components are merged edge by edge in a union-find, which stops as soon as all vertices are connected.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public class ConnectedComponentsAnalyzer<V, E> implements GraphAnalyzer<V, E, ConnectedComponents<V, E>> {
+    @Override
+    public ConnectedComponents<V, E> analyzeGraphState(GraphStateAccessor<V, E> graphStateAccessor) {
+        VertexUnionFind<V, E> unionFind = new VertexUnionFind<>(graphStateAccessor);
+        unionFind.unionAllEdges();
+
+        int[] componentOfRoot = new int[unionFind.vertexCount()];
+        Arrays.fill(componentOfRoot, -1);
+        List<List<Vertex<V, E>>> components = new ArrayList<>(unionFind.getComponentCount());
+        Map<Vertex<V, E>, Integer> componentOfVertex = new HashMap<>();
+        for (int i = 0; i < unionFind.vertexCount(); i++) {
+            int root = unionFind.find(i);
+            if (componentOfRoot[root] < 0) {
+                componentOfRoot[root] = components.size();
+                components.add(new ArrayList<>());
+            }
+            Vertex<V, E> vertex = unionFind.getVertex(i);
+            components.get(componentOfRoot[root]).add(vertex);
+            componentOfVertex.put(vertex, componentOfRoot[root]);
+        }
+        List<Collection<Vertex<V, E>>> result = new ArrayList<>(components.size());
+        for (List<Vertex<V, E>> component : components) {
+            result.add(Collections.unmodifiableList(component));
+        }
+        return new ConnectedComponents<>(Collections.unmodifiableList(result), componentOfVertex);
+    }
+}
@@ -9,43 +9,45 @@
 
 package science.aist.gtf.graph.analyzer;
 
-import science.aist.gtf.graph.GraphAnalyzer;
+import science.aist.gtf.graph.Edge;
 import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.IncrementalGraphAnalyzer;
 import science.aist.gtf.graph.Vertex;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Stream;
-
 /**
  * <p>Calculate if the graph state represents a connected graph, meaning every vertex can be reached.
  * via any other vertex over any hops of edges. The edges are seen as undirected.</p>
+ * <p>The components are merged edge by edge in a union-find, which stops as soon as all vertices are connected.</p>
  *
  * @param <V> the type of the decorated vertex value
  * @param <E> the type of the decorated edge value
  * @author Andreas Pointner
  * @since 1.0
  */
-public class ConnectedGraphAnalyzer<V, E> implements GraphAnalyzer<V, E, Boolean> {
+public class ConnectedGraphAnalyzer<V, E> implements IncrementalGraphAnalyzer<V, E, Boolean> {
     @Override
-    public Boolean analyzeGraphState(GraphStateAccessor<V, E> graphStateAccessor) {
-        Collection<Vertex<V, E>> vertices = graphStateAccessor.getVertices();
-        Optional<Vertex<V, E>> any = vertices.stream().findAny();
-        if (any.isPresent()) {
-            Set<Vertex<V, E>> visited = new HashSet<>();
-            visit(visited, any.get());
-            return visited.containsAll(vertices);
-        }
-        return false;
-    }
+    public Scan<V, E, Boolean> startScan(GraphStateAccessor<V, E> graphStateAccessor) {
+        VertexUnionFind<V, E> unionFind = new VertexUnionFind<>(graphStateAccessor);
+        return new Scan<>() {
+            @Override
+            public void visitVertex(Vertex<V, E> vertex) {
+                unionFind.addVertex(vertex);
+            }
+
+            @Override
+            public void visitEdge(Edge<V, E> edge) {
+                unionFind.union(edge);
+            }
+
+            @Override
+            public boolean isComplete() {
+                return unionFind.getComponentCount() <= 1;
+            }
 
-    private void visit(Set<Vertex<V, E>> visited, Vertex<V, E> toVisit) {
-        visited.add(toVisit);
-        toVisit.getEdges().stream().flatMap(e -> Stream.of(e.getSource(), e.getTarget()))
-                .filter(v -> v != toVisit)
-                .filter(v -> !visited.contains(v))
-                .forEach(v -> visit(visited, v));
+            @Override
+            public Boolean getResult() {
+                return unionFind.getComponentCount() == 1;
+            }
+        };
     }
 }
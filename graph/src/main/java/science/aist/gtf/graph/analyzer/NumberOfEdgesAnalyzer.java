@@ -9,11 +9,10 @@
 
 package science.aist.gtf.graph.analyzer;
 
+import science.aist.gtf.graph.AnalyzerCost;
 import science.aist.gtf.graph.GraphAnalyzer;
 import science.aist.gtf.graph.GraphStateAccessor;
 
-import java.util.Collection;
-
 /**
  * <p>Returns the number of edges in the graph state</p>
  *
@@ -25,11 +24,11 @@ import java.util.Collection;
 public class NumberOfEdgesAnalyzer<V, E> implements GraphAnalyzer<V, E, Integer> {
     @Override
     public Integer analyzeGraphState(GraphStateAccessor<V, E> graphStateAccessor) {
-        return (int) graphStateAccessor.getVertices()
-                .stream()
-                .map(graphStateAccessor::getEdges)
-                .flatMap(Collection::stream)
-                .distinct()
-                .count();
+        return graphStateAccessor.edgeCount();
+    }
+
+    @Override
+    public AnalyzerCost getCost() {
+        return AnalyzerCost.CONSTANT;
     }
 }
@@ -9,6 +9,7 @@
 
 package science.aist.gtf.graph.analyzer;
 
+import science.aist.gtf.graph.AnalyzerCost;
 import science.aist.gtf.graph.GraphAnalyzer;
 import science.aist.gtf.graph.GraphStateAccessor;
 
@@ -23,6 +24,11 @@ import science.aist.gtf.graph.GraphStateAccessor;
 public class NumberOfVertexAnalyzer<V, E> implements GraphAnalyzer<V, E, Integer> {
     @Override
     public Integer analyzeGraphState(GraphStateAccessor<V, E> graphStateAccessor) {
-        return graphStateAccessor.getVertices().size();
+        return graphStateAccessor.vertexCount();
+    }
+
+    @Override
+    public AnalyzerCost getCost() {
+        return AnalyzerCost.CONSTANT;
     }
 }
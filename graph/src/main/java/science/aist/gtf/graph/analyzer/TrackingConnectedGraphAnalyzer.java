@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.analyzer;
+
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.Vertex;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Calculate if the graph state represents a connected graph, where the edges are seen as undirected. The
+ * components are merged in a union-find every time an edge is added, so the result is always up to date. A union-find
+ * can not split components, therefore removing a vertex or an edge causes the components to be calculated again,
+ * the next time the result is requested.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @see ConnectedGraphAnalyzer
+ * @since 2.0.2
+ */
+public class TrackingConnectedGraphAnalyzer<V, E> extends AbstractTrackingGraphAnalyzer<V, E, Boolean> {
+    private final Map<Vertex<V, E>, Integer> indices = new HashMap<>();
+    private int[] parent = new int[16];
+    private int[] size = new int[16];
+    private int componentCount;
+    private boolean outdated;
+
+    public TrackingConnectedGraphAnalyzer() {
+        super(new ConnectedGraphAnalyzer<>());
+    }
+
+    @Override
+    public synchronized void onVertexAdded(Vertex<V, E> vertex) {
+        int index = indices.size();
+        if (indices.putIfAbsent(vertex, index) != null)
+            return;
+        if (index == parent.length) {
+            parent = Arrays.copyOf(parent, index * 2);
+            size = Arrays.copyOf(size, index * 2);
+        }
+        parent[index] = index;
+        size[index] = 1;
+        componentCount++;
+    }
+
+    @Override
+    public synchronized void onEdgeAdded(Edge<V, E> edge, Vertex<V, E> source, Vertex<V, E> target) {
+        int rootA = find(indices.get(source));
+        int rootB = find(indices.get(target));
+        if (rootA == rootB)
+            return;
+        if (size[rootA] < size[rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        componentCount--;
+    }
+
+    @Override
+    public synchronized void onEdgeRemoved(Edge<V, E> edge, Vertex<V, E> source, Vertex<V, E> target) {
+        outdated = true;
+    }
+
+    @Override
+    public synchronized void onVertexRemoved(Vertex<V, E> vertex) {
+        outdated = true;
+    }
+
+    /**
+     * @return the number of connected components of the tracked graph state
+     */
+    public synchronized int getComponentCount() {
+        GraphStateAccessor<V, E> graphState = getAttachedGraphState();
+        if (outdated && graphState != null)
+            rebuild(graphState);
+        return componentCount;
+    }
+
+    @Override
+    protected synchronized void reset(GraphStateAccessor<V, E> graphState) {
+        indices.clear();
+        componentCount = 0;
+        outdated = false;
+    }
+
+    @Override
+    protected Boolean getTrackedResult(GraphStateAccessor<V, E> graphState) {
+        return getComponentCount() == 1;
+    }
+
+    private int find(int index) {
+        while (parent[index] != index) {
+            parent[index] = parent[parent[index]];
+            index = parent[index];
+        }
+        return index;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.analyzer;
+
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.Vertex;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Returns the number of edges in the graph state, which is counted while the edges are added.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @see NumberOfEdgesAnalyzer
+ * @since 2.0.2
+ */
+public class TrackingNumberOfEdgesAnalyzer<V, E> extends AbstractTrackingGraphAnalyzer<V, E, Integer> {
+    private final AtomicInteger edgeCount = new AtomicInteger();
+
+    public TrackingNumberOfEdgesAnalyzer() {
+        super(new NumberOfEdgesAnalyzer<>());
+    }
+
+    @Override
+    public void onEdgeAdded(Edge<V, E> edge, Vertex<V, E> source, Vertex<V, E> target) {
+        edgeCount.incrementAndGet();
+    }
+
+    @Override
+    public void onEdgeRemoved(Edge<V, E> edge, Vertex<V, E> source, Vertex<V, E> target) {
+        edgeCount.decrementAndGet();
+    }
+
+    @Override
+    protected void reset(GraphStateAccessor<V, E> graphState) {
+        edgeCount.set(0);
+    }
+
+    @Override
+    protected Integer getTrackedResult(GraphStateAccessor<V, E> graphState) {
+        return edgeCount.get();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.analyzer;
+
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.Vertex;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Analyzes if every vertex in the graph has at least a single edge, by keeping track of the vertices without
+ * edges, while the graph state is modified.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @see VerticesHaveEdgesAnalyzer
+ * @since 2.0.2
+ */
+public class TrackingVerticesHaveEdgesAnalyzer<V, E> extends AbstractTrackingGraphAnalyzer<V, E, Boolean> {
+    private final Set<Vertex<V, E>> verticesWithoutEdges = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger vertexCount = new AtomicInteger();
+
+    public TrackingVerticesHaveEdgesAnalyzer() {
+        super(new VerticesHaveEdgesAnalyzer<>());
+    }
+
+    @Override
+    public void onVertexAdded(Vertex<V, E> vertex) {
+        vertexCount.incrementAndGet();
+        verticesWithoutEdges.add(vertex);
+    }
+
+    @Override
+    public void onEdgeAdded(Edge<V, E> edge, Vertex<V, E> source, Vertex<V, E> target) {
+        verticesWithoutEdges.remove(source);
+        verticesWithoutEdges.remove(target);
+    }
+
+    @Override
+    public void onEdgeRemoved(Edge<V, E> edge, Vertex<V, E> source, Vertex<V, E> target) {
+        GraphStateAccessor<V, E> graphState = getAttachedGraphState();
+        if (graphState.getEdges(source).isEmpty())
+            verticesWithoutEdges.add(source);
+        if (graphState.getEdges(target).isEmpty())
+            verticesWithoutEdges.add(target);
+    }
+
+    @Override
+    public void onVertexRemoved(Vertex<V, E> vertex) {
+        vertexCount.decrementAndGet();
+        verticesWithoutEdges.remove(vertex);
+    }
+
+    @Override
+    protected void reset(GraphStateAccessor<V, E> graphState) {
+        verticesWithoutEdges.clear();
+        vertexCount.set(0);
+    }
+
+    @Override
+    protected Boolean getTrackedResult(GraphStateAccessor<V, E> graphState) {
+        return vertexCount.get() > 0 && verticesWithoutEdges.isEmpty();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.analyzer;
+
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.IndexedGraphStateAccessor;
+import science.aist.gtf.graph.Vertex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Disjoint set over the vertices of a graph state, where the edges are seen as undirected.</p>
+ * <p>The vertices are identified by their index, if the graph state is index based, otherwise they are numbered in
+ * the order they are added. The union-find uses union by size and path halving, so merging all the edges is almost
+ * linear in the number of edges.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+class VertexUnionFind<V, E> {
+    private final GraphStateAccessor<V, E> graphState;
+    private final IndexedGraphStateAccessor<V, E> indexedGraphState;
+    private final List<Vertex<V, E>> vertices;
+    private final Map<Vertex<V, E>, Integer> localIndices;
+    private final int[] parent;
+    private final int[] size;
+    private int componentCount;
+
+    /**
+     * Creates a new union-find, where every vertex is its own component. If the graph state is not index based, the
+     * vertices must be added using {@link #addVertex(Vertex)} or {@link #addAllVertices()} before edges are merged.
+     *
+     * @param graphState the graph state
+     */
+    VertexUnionFind(GraphStateAccessor<V, E> graphState) {
+        this.graphState = graphState;
+        int vertexCount = graphState.vertexCount();
+        if (graphState instanceof IndexedGraphStateAccessor) {
+            indexedGraphState = (IndexedGraphStateAccessor<V, E>) graphState;
+            vertices = null;
+            localIndices = null;
+        } else {
+            indexedGraphState = null;
+            vertices = new ArrayList<>(vertexCount);
+            localIndices = new HashMap<>((int) (vertexCount / 0.75f) + 1);
+        }
+        parent = new int[vertexCount];
+        size = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        componentCount = vertexCount;
+    }
+
+    /**
+     * Assigns the next free index to the given vertex, if the graph state is not index based
+     *
+     * @param vertex the vertex
+     */
+    void addVertex(Vertex<V, E> vertex) {
+        if (indexedGraphState == null && localIndices.putIfAbsent(vertex, vertices.size()) == null)
+            vertices.add(vertex);
+    }
+
+    /**
+     * Assigns an index to all the vertices of the graph state, if the graph state is not index based
+     */
+    void addAllVertices() {
+        if (indexedGraphState == null)
+            graphState.getVertices().forEach(this::addVertex);
+    }
+
+    /**
+     * Merges the components of all the edges of the graph state, until everything is connected
+     *
+     * @return the number of components
+     */
+    int unionAllEdges() {
+        addAllVertices();
+        for (Edge<V, E> edge : graphState.getAllEdges()) {
+            if (componentCount <= 1)
+                break;
+            union(edge);
+        }
+        return componentCount;
+    }
+
+    /**
+     * Merges the components of the source and the target of the given edge
+     *
+     * @param edge the edge
+     */
+    void union(Edge<V, E> edge) {
+        union(indexOf(graphState.getSource(edge)), indexOf(graphState.getTarget(edge)));
+    }
+
+    /**
+     * @return the number of vertices
+     */
+    int vertexCount() {
+        return parent.length;
+    }
+
+    /**
+     * @return the current number of components
+     */
+    int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * @param index the index of the vertex
+     * @return the vertex with the given index
+     */
+    Vertex<V, E> getVertex(int index) {
+        return indexedGraphState == null ? vertices.get(index) : indexedGraphState.getVertex(index);
+    }
+
+    /**
+     * @param vertex the vertex
+     * @return the index of the given vertex
+     */
+    int indexOf(Vertex<V, E> vertex) {
+        if (indexedGraphState != null)
+            return indexedGraphState.indexOf(vertex);
+        Integer index = localIndices.get(vertex);
+        if (index == null)
+            throw new IllegalStateException("Vertex is not part of the graph state");
+        return index;
+    }
+
+    /**
+     * @param index the index of a vertex
+     * @return the index of the representative of the component of the vertex
+     */
+    int find(int index) {
+        while (parent[index] != index) {
+            parent[index] = parent[parent[index]];
+            index = parent[index];
+        }
+        return index;
+    }
+
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB)
+            return;
+        if (size[rootA] < size[rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        componentCount--;
+    }
+}
@@ -9,12 +9,10 @@
 
 package science.aist.gtf.graph.analyzer;
 
-import science.aist.gtf.graph.GraphAnalyzer;
 import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.IncrementalGraphAnalyzer;
 import science.aist.gtf.graph.Vertex;
 
-import java.util.Collection;
-
 /**
  * <p>Analyzes if every vertex in the graph has at least a single edge</p>
  *
@@ -23,11 +21,31 @@ import java.util.Collection;
  * @author Andreas Pointner
  * @since 1.0
  */
-public class VerticesHaveEdgesAnalyzer<V, E> implements GraphAnalyzer<V, E, Boolean> {
+public class VerticesHaveEdgesAnalyzer<V, E> implements IncrementalGraphAnalyzer<V, E, Boolean> {
     @Override
-    public Boolean analyzeGraphState(GraphStateAccessor<V, E> graphStateAccessor) {
-        Collection<Vertex<V, E>> vertices = graphStateAccessor.getVertices();
-        if (vertices.isEmpty()) return false;
-        return vertices.stream().noneMatch(v -> graphStateAccessor.getEdges(v).isEmpty());
+    public Scan<V, E, Boolean> startScan(GraphStateAccessor<V, E> graphStateAccessor) {
+        int vertexCount = graphStateAccessor.vertexCount();
+        return new Scan<>() {
+            private int visited;
+            private boolean vertexWithoutEdges;
+
+            @Override
+            public void visitVertex(Vertex<V, E> vertex) {
+                visited++;
+                if (graphStateAccessor.getEdges(vertex).isEmpty())
+                    vertexWithoutEdges = true;
+            }
+
+            @Override
+            public boolean isComplete() {
+                // edges are not needed
+                return vertexWithoutEdges || visited >= vertexCount;
+            }
+
+            @Override
+            public Boolean getResult() {
+                return vertexCount > 0 && !vertexWithoutEdges;
+            }
+        };
     }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.builder;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <p>Specification of a single edge, that is used to add edges in bulk using {@link
+ * GraphBuilder#addEdges(Iterable)}.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class EdgeSpec<V, E> {
+    /**
+     * The decorated value of the source vertex
+     */
+    private final V source;
+    /**
+     * The decorated value of the target vertex
+     */
+    private final V target;
+    /**
+     * The decorated value of the edge, which might be null
+     */
+    private final E data;
+
+    /**
+     * Creates the specification of an edge without data
+     *
+     * @param source the decorated value of the source vertex
+     * @param target the decorated value of the target vertex
+     * @param <V>    the type of the decorated vertex value
+     * @param <E>    the type of the decorated edge value
+     * @return the edge specification
+     */
+    public static <V, E> EdgeSpec<V, E> of(V source, V target) {
+        return new EdgeSpec<>(source, target, null);
+    }
+
+    /**
+     * Creates the specification of an edge with data
+     *
+     * @param source the decorated value of the source vertex
+     * @param target the decorated value of the target vertex
+     * @param data   the decorated value of the edge
+     * @param <V>    the type of the decorated vertex value
+     * @param <E>    the type of the decorated edge value
+     * @return the edge specification
+     */
+    public static <V, E> EdgeSpec<V, E> of(V source, V target, E data) {
+        return new EdgeSpec<>(source, target, data);
+    }
+}
@@ -11,6 +11,7 @@ package science.aist.gtf.graph.builder;
 
 import science.aist.gtf.graph.*;
 
+import java.util.Collection;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -43,6 +44,20 @@ public interface GraphBuilder<V, E> {
      */
     GraphBuilder<V, E> addVertex(V value);
 
+    /**
+     * <p>Adds all the given values as vertices, the same way as {@link GraphBuilder#addVertex(Object)} does, so the key
+     * mapper and the merger are applied to every value.</p>
+     * <p>Implementations should override this method to avoid the overhead of adding the values one by one, e.g. by
+     * pre-sizing the internal data structures.</p>
+     *
+     * @param values the values of the decorated elements
+     * @return the graph builder instance
+     */
+    default GraphBuilder<V, E> addVertices(Collection<V> values) {
+        values.forEach(this::addVertex);
+        return this;
+    }
+
     /**
      * Same as {@link GraphBuilder#addVertex(Object)} but returns a {@link VertexBuilderWith} that allows to use a
      * callback method for the returned vertex, to be able to add additional parameters (e.g. {@link MetaTag}s)
@@ -71,17 +86,36 @@ public interface GraphBuilder<V, E> {
      */
     EdgeBuilder<V, E> fromByKey(Object key);
 
+    /**
+     * <p>Adds all the given edges. This is the same as creating every edge using {@code
+     * from(source).toData(target).data(data)}, so missing vertices are created, the key mapper and the merger are
+     * applied and the weight of an already existing edge is incremented.</p>
+     * <p>Implementations should override this method to avoid the overhead of the fluent api for every edge.</p>
+     *
+     * @param edges the specifications of the edges to add
+     * @return the graph builder instance
+     */
+    default GraphBuilder<V, E> addEdges(Iterable<EdgeSpec<V, E>> edges) {
+        for (EdgeSpec<V, E> edge : edges) {
+            from(edge.getSource()).toData(edge.getTarget()).data(edge.getData());
+        }
+        return this;
+    }
+
     /**
      * Creates the graph based on the vertices and edges defines in that graph builder. This makes the GraphBuilder as
      * "finished" which means, that all further operations on the graph builder will result in an {@link
-     * IllegalStateException}.
+     * IllegalStateException}. The graph state of the created graph is frozen using {@link
+     * science.aist.gtf.graph.factory.GraphFactory#freezeGraphState(GraphState)}. The graph state is only frozen once,
+     * so calling this method again returns the graph that was created by the first call.
      *
      * @return a {@link Graph}
      */
     Graph<V, E> toGraph();
 
     /**
-     * Returns a readonly version of the current graph state.
+     * Returns a readonly version of the current graph state. Once the graph was created, this is the frozen graph
+     * state of the created graph.
      *
      * @return the current graph state of the builder
      * @see GraphState#readonly()
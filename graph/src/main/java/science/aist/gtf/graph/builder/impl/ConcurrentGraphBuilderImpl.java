@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.builder.impl;
+
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.Vertex;
+import science.aist.gtf.graph.builder.GraphBuilder;
+import science.aist.gtf.graph.factory.GraphFactory;
+import science.aist.gtf.graph.factory.GraphFactoryFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * <p>Graph builder, that allows adding vertices and edges from multiple threads concurrently.</p>
+ * <p>The vertices are stored in a {@link ConcurrentHashMap}, so creating a vertex respectively merging it with an
+ * existing one is atomic per key. Creating an edge is guarded by a lock, that is selected based on the source vertex
+ * (lock striping). So threads that add edges starting from different vertices usually do not block each other, while
+ * the check for an existing edge and the weight increment stay atomic.</p>
+ * <p>The graph state must be thread safe as well, which is why the builder uses {@link
+ * GraphFactoryFactory#getConcurrentFactory()} per default. Note, that keys and vertex values must not be null, that
+ * {@link #updateKey(Object, Object, java.util.function.BiConsumer)} and {@link #addSubGraph(science.aist.gtf.graph.Graph)}
+ * must not run concurrently to other modifications and that {@link #toGraph()} must only be called once all threads
+ * finished adding vertices and edges.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public class ConcurrentGraphBuilderImpl<V, E> extends GraphBuilderImpl<V, E> {
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * The locks used to create edges, the lock for a given source vertex is selected by its identity hash code.
+     */
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private ConcurrentGraphBuilderImpl(Function<V, Object> keyMapper, GraphFactory graphFactory, BinaryOperator<V> merger) {
+        super(keyMapper, graphFactory, merger, new ConcurrentHashMap<>(), new CopyOnWriteArrayList<>());
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Creates a new concurrent graph builder using the default key mapper as well as the concurrent factory ({@link
+     * GraphFactoryFactory#getConcurrentFactory()})
+     *
+     * @param <V> the type of the decorated vertex value
+     * @param <E> the type of the decorated edge value
+     * @return a new instance of the GraphBuilder
+     */
+    public static <V, E> GraphBuilder<V, E> create() {
+        return create(getDefaultKeyMapper());
+    }
+
+    /**
+     * Creates a new concurrent graph builder using the default key mapper
+     *
+     * @param graphFactory specify the graph factory that should be used, it must create thread safe graph states
+     * @param <V>          the type of the decorated vertex value
+     * @param <E>          the type of the decorated edge value
+     * @return a new instance of the GraphBuilder
+     */
+    public static <V, E> GraphBuilder<V, E> create(GraphFactory graphFactory) {
+        return create(getDefaultKeyMapper(), graphFactory);
+    }
+
+    /**
+     * Creates a new concurrent graph builder
+     *
+     * @param keyMapper    specify the key mapper that should be used
+     * @param graphFactory specify the graph factory that should be used, it must create thread safe graph states
+     * @param <V>          the type of the decorated vertex value
+     * @param <E>          the type of the decorated edge value
+     * @return a new instance of the GraphBuilder
+     */
+    public static <V, E> GraphBuilder<V, E> create(Function<V, Object> keyMapper, GraphFactory graphFactory) {
+        return create(keyMapper, graphFactory, (a, b) -> a);
+    }
+
+    /**
+     * Creates a new concurrent graph builder using the concurrent factory ({@link
+     * GraphFactoryFactory#getConcurrentFactory()})
+     *
+     * @param keyMapper specify the key mapper that should be used
+     * @param <V>       the type of the decorated vertex value
+     * @param <E>       the type of the decorated edge value
+     * @return a new instance of the GraphBuilder
+     */
+    public static <V, E> GraphBuilder<V, E> create(Function<V, Object> keyMapper) {
+        return create(keyMapper, (a, b) -> a);
+    }
+
+    /**
+     * Creates a new concurrent graph builder using the concurrent factory ({@link
+     * GraphFactoryFactory#getConcurrentFactory()})
+     *
+     * @param keyMapper specify the key mapper that should be used
+     * @param merger    specific the merger that should be used
+     * @param <V>       the type of the decorated vertex value
+     * @param <E>       the type of the decorated edge value
+     * @return a new instance of the GraphBuilder
+     */
+    public static <V, E> GraphBuilder<V, E> create(Function<V, Object> keyMapper, BinaryOperator<V> merger) {
+        return create(keyMapper, GraphFactoryFactory.getConcurrentFactory(), merger);
+    }
+
+    /**
+     * Creates a new concurrent graph builder.
+     *
+     * @param keyMapper    specify the key mapper that should be used
+     * @param graphFactory specify the graph factory that should be used, it must create thread safe graph states
+     * @param merger       specific the merger that should be used
+     * @param <V>          the type of the decorated vertex value
+     * @param <E>          the type of the decorated edge value
+     * @return a new instance of the GraphBuilder
+     */
+    public static <V, E> GraphBuilder<V, E> create(Function<V, Object> keyMapper, GraphFactory graphFactory, BinaryOperator<V> merger) {
+        return new ConcurrentGraphBuilderImpl<>(keyMapper, graphFactory, merger);
+    }
+
+    @Override
+    Edge<V, E> createEdge(Vertex<V, E> source, Vertex<V, E> target, E value) {
+        synchronized (lockFor(source)) {
+            return super.createEdge(source, target, value);
+        }
+    }
+
+    private Object lockFor(Vertex<V, E> vertex) {
+        int hash = System.identityHashCode(vertex);
+        return locks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+}
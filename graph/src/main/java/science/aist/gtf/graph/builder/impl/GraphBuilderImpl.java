@@ -10,7 +10,6 @@
 package science.aist.gtf.graph.builder.impl;
 
 import lombok.AllArgsConstructor;
-import lombok.CustomLog;
 import lombok.RequiredArgsConstructor;
 import science.aist.gtf.graph.*;
 import science.aist.gtf.graph.builder.*;
@@ -20,8 +19,6 @@ import science.aist.gtf.graph.impl.AbstractEdge;
 import science.aist.gtf.graph.impl.AbstractVertex;
 import science.aist.gtf.graph.impl.GraphStateImpl;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
@@ -45,7 +42,6 @@ import java.util.stream.Collectors;
  * @author Andreas Pointner
  * @since 1.0
  */
-@CustomLog
 public class GraphBuilderImpl<V, E> implements GraphBuilder<V, E> {
     /**
      * The graph state to save the vertices and edges
@@ -64,9 +60,9 @@ public class GraphBuilderImpl<V, E> implements GraphBuilder<V, E> {
     /**
      * Map that store the created vertices + the key of the decorated element. This could of course be calculated for
      * every vertex everytime a new vertex is added, but that would result in bad performance. So this can be seen as
-     * some sort of cache.
+     * some sort of cache. It is only replaced by a pre-sized map, as long as it is still empty.
      */
-    private final Map<Object, Vertex<V, E>> vertices;
+    private Map<Object, Vertex<V, E>> vertices;
     /**
      * Stores the callback methods that are executed on graph creation.
      */
@@ -79,7 +75,17 @@ public class GraphBuilderImpl<V, E> implements GraphBuilder<V, E> {
      * Flag that indicates if the GraphBuilder allows any further changes. This is set to false, once a graph is
      * created.
      */
-    private boolean allowChanges = true;
+    private volatile boolean allowChanges = true;
+    /**
+     * The read only graph state, that is created by the {@link #graphFactory} once the graph is created. Afterwards it
+     * replaces the {@link #graphState}.
+     */
+    private GraphStateAccessor<V, E> frozenGraphState;
+    /**
+     * The graph, that was created by the first call of {@link #toGraph()}. Freezing the graph state takes ownership of
+     * the vertices and edges, so it must only happen once and every further call returns this graph.
+     */
+    private Graph<V, E> graph;
 
     /**
      * Initializes the graph builder with a key mapper and a graph factory
@@ -92,37 +98,37 @@ public class GraphBuilderImpl<V, E> implements GraphBuilder<V, E> {
     }
 
     private GraphBuilderImpl(Function<V, Object> keyMapper, GraphFactory graphFactory, BinaryOperator<V> merger) {
+        this(keyMapper, graphFactory, merger, new HashMap<>(), new ArrayList<>());
+    }
+
+    /**
+     * Initializes the graph builder with all its components, which allows subclasses to replace the used collections.
+     *
+     * @param keyMapper         {@link GraphBuilderImpl#keyMapper}
+     * @param graphFactory      {@link GraphBuilderImpl#graphFactory}
+     * @param merger            {@link GraphBuilderImpl#merger}
+     * @param vertices          {@link GraphBuilderImpl#vertices}
+     * @param creationCallbacks {@link GraphBuilderImpl#creationCallbacks}
+     */
+    GraphBuilderImpl(Function<V, Object> keyMapper, GraphFactory graphFactory, BinaryOperator<V> merger,
+                     Map<Object, Vertex<V, E>> vertices, List<Consumer<Graph<V, E>>> creationCallbacks) {
         this.keyMapper = keyMapper;
         this.graphFactory = graphFactory;
         this.merger = merger;
-        graphState = graphFactory.createGraphState();
-        vertices = new HashMap<>();
-        creationCallbacks = new ArrayList<>();
+        this.graphState = graphFactory.createGraphState();
+        this.vertices = vertices;
+        this.creationCallbacks = creationCallbacks;
     }
 
     /**
      * Creates a new instance of the default key mapper, which either uses a method that is annotated with {@link
-     * GraphId} or uses the element itself as a fallback.
+     * GraphId} or uses the element itself as a fallback. The annotated method is looked up once per class and cached.
      *
      * @param <V> the type of the decorated vertex
      * @return an function representing the key mapper.
      */
     public static <V> Function<V, Object> getDefaultKeyMapper() {
-        return element -> {
-            try {
-                Optional<Method> method = Arrays.stream(element.getClass().getDeclaredMethods())
-                        .filter(m -> m.getAnnotation(GraphId.class) != null)
-                        .findFirst();
-                if (method.isPresent()) {
-                    return method.get().invoke(element);
-                }
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                log.debug(e);
-                // ignore the exception, because if we can't find a GraphKey, we use the element itself
-            }
-            // per default we will use the element itself as a key
-            return element;
-        };
+        return GraphIdKeyMapper::getKey;
     }
 
     /**
@@ -203,28 +209,30 @@ public class GraphBuilderImpl<V, E> implements GraphBuilder<V, E> {
 
     @Override
     public GraphStateAccessor<V, E> getGraphState() {
+        if (frozenGraphState != null)
+            return frozenGraphState;
         return graphState.readonly();
     }
 
     @Override
     public Vertex<V, E> getOrAddVertex(V value) {
-
         Object key = keyMapper.apply(value);
-        if (vertices.containsKey(key)) {
-            Vertex<V, E> vertex = vertices.get(key);
-            if (vertex instanceof AbstractVertex && vertex.getElement() != value) {
-                ((AbstractVertex<V, E>) vertex).setElement(merger.apply(vertex.getElement(), value));
+        // compute is atomic for concurrent maps, which makes creating respectively merging a vertex thread safe
+        return vertices.compute(key, (k, vertex) -> {
+            if (vertex != null) {
+                if (vertex instanceof AbstractVertex && vertex.getElement() != value) {
+                    ((AbstractVertex<V, E>) vertex).setElement(merger.apply(vertex.getElement(), value));
+                }
+                return vertex;
             }
-            return vertex;
-        }
 
-        // Check only needs to be performed on writing operations, the above case is readonly.
-        checkChangeAllowed();
+            // Check only needs to be performed on writing operations, the above case is readonly.
+            checkChangeAllowed();
 
-        Vertex<V, E> vertex = graphFactory.createVertex(value);
-        vertices.put(key, vertex);
-        graphState.addVertex(vertex);
-        return vertex;
+            Vertex<V, E> newVertex = graphFactory.createVertex(value);
+            graphState.addVertex(newVertex);
+            return newVertex;
+        });
     }
 
     @Override
@@ -234,6 +242,36 @@ public class GraphBuilderImpl<V, E> implements GraphBuilder<V, E> {
         return this;
     }
 
+    @Override
+    public GraphBuilder<V, E> addVertices(Collection<V> values) {
+        checkChangeAllowed();
+        ensureCapacity(values.size(), 0);
+        for (V value : values) {
+            getOrAddVertex(value);
+        }
+        return this;
+    }
+
+    @Override
+    public GraphBuilder<V, E> addEdges(Iterable<EdgeSpec<V, E>> edges) {
+        checkChangeAllowed();
+        if (edges instanceof Collection) {
+            ensureCapacity(0, ((Collection<?>) edges).size());
+        }
+        V lastSourceValue = null;
+        Vertex<V, E> lastSource = null;
+        for (EdgeSpec<V, E> edge : edges) {
+            // edge lists are often grouped by their source, so the lookup of the source vertex is skipped if the same
+            // value was already resolved for the previous edge and applying the merger again would not change anything
+            if (lastSource == null || lastSourceValue != edge.getSource() || lastSource.getElement() != lastSourceValue) {
+                lastSourceValue = edge.getSource();
+                lastSource = getOrAddVertex(lastSourceValue);
+            }
+            createEdge(lastSource, getOrAddVertex(edge.getTarget()), edge.getData());
+        }
+        return this;
+    }
+
     @Override
     public VertexBuilderWith<V, E> addVertexWith(V value) {
         checkChangeAllowed();
@@ -253,9 +291,12 @@ public class GraphBuilderImpl<V, E> implements GraphBuilder<V, E> {
     }
 
     @Override
-    public Graph<V, E> toGraph() {
+    public synchronized Graph<V, E> toGraph() {
+        if (graph != null)
+            return graph;
         allowChanges = false;
-        Graph<V, E> graph = graphFactory.createGraph(getGraphState());
+        frozenGraphState = graphFactory.freezeGraphState(graphState);
+        graph = graphFactory.createGraph(frozenGraphState, Collections.unmodifiableMap(vertices));
         creationCallbacks.forEach(c -> c.accept(graph));
         return graph;
     }
@@ -285,6 +326,7 @@ public class GraphBuilderImpl<V, E> implements GraphBuilder<V, E> {
 
     @Override
     public Graph<V, E> addSubGraph(Graph<V, E> subGraph) {
+        checkChangeAllowed();
         // validate if possible:
         List<Object> keys = subGraph.getVertices()
                 .stream()
@@ -302,6 +344,7 @@ public class GraphBuilderImpl<V, E> implements GraphBuilder<V, E> {
         GraphState<V, E> subGraphState = new GraphStateImpl<>();
 
         Map<Vertex<V, E>, VertexView<V, E>> cache = new HashMap<>();
+        Map<Object, Vertex<V, E>> subGraphKeys = new HashMap<>();
 
         // Add the vertices to the graph builder and add the vertices to the sub graph state.
         var edges = new HashSet<>(subGraph.getEdges());
@@ -314,6 +357,7 @@ public class GraphBuilderImpl<V, E> implements GraphBuilder<V, E> {
             // Add to resulting graph state but decorated from an VertexView
             VertexView<V, E> vertexView = graphFactory.createVertexView(vertex);
             cache.put(vertex, vertexView);
+            subGraphKeys.put(key, vertexView);
             subGraphState.addVertex(vertexView);
         }
 
@@ -326,24 +370,29 @@ public class GraphBuilderImpl<V, E> implements GraphBuilder<V, E> {
         }
 
         // Creating resulting view on the subgraph
-        Graph<V, E> resultGraph = graphFactory.createGraph(subGraphState.readonly());
+        Graph<V, E> resultGraph = graphFactory.createGraph(subGraphState.readonly(), subGraphKeys);
         subGraph.getMetaTags().forEach(resultGraph::addMetaTag);
         return resultGraph;
     }
 
     private Vertex<V, E> getVertexByKey(Object key) {
-        if (!vertices.containsKey(key)) {
+        Vertex<V, E> vertex = vertices.get(key);
+        if (vertex == null) {
             throw new IllegalStateException("Cannot start a vertex from an unknown key");
         }
-        return vertices.get(key);
+        return vertex;
     }
 
-    private Edge<V, E> createEdge(Vertex<V, E> source, Vertex<V, E> target, E value) {
-        return graphState.getEdges(source)
-                .stream()
-                .filter(e -> source == e.getSource())
-                .filter(e -> target == e.getTarget())
-                .findAny()
+    /**
+     * Creates a new edge between source and target, or increments the weight of the edge if it already exists.
+     *
+     * @param source the source vertex
+     * @param target the target vertex
+     * @param value  the decorated value of the edge, which is ignored if the edge already exists
+     * @return the created or existing edge
+     */
+    Edge<V, E> createEdge(Vertex<V, E> source, Vertex<V, E> target, E value) {
+        return graphState.findEdge(source, target)
                 .map(edge -> {
                     if (edge instanceof AbstractEdge)
                         ((AbstractEdge<V, E>) edge).setWeight(edge.getWeight() + 1);
@@ -355,6 +404,21 @@ public class GraphBuilderImpl<V, E> implements GraphBuilder<V, E> {
                 });
     }
 
+    /**
+     * Pre-sizes the graph state as well as the vertex cache, if it is still empty, for the given number of additional
+     * vertices and edges.
+     *
+     * @param additionalVertices the number of vertices that are expected to be added
+     * @param additionalEdges    the number of edges that are expected to be added
+     */
+    private void ensureCapacity(int additionalVertices, int additionalEdges) {
+        graphState.ensureCapacity(graphState.vertexCount() + additionalVertices, graphState.edgeCount() + additionalEdges);
+        // only the plain hash map of a single threaded builder is replaced, a concurrent map might already be in use
+        if (additionalVertices > 0 && vertices.isEmpty() && vertices.getClass() == HashMap.class) {
+            vertices = new HashMap<>((int) (additionalVertices / 0.75f) + 1);
+        }
+    }
+
     private void checkChangeAllowed() {
         if (!allowChanges)
             throw new IllegalStateException("Graph Builder already created graph, no further manipulations allowed");
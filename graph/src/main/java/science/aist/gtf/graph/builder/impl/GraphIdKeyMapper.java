@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.builder.impl;
+
+import lombok.CustomLog;
+import science.aist.gtf.graph.GraphId;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * <p>Key mapper, that uses the method annotated with {@link GraphId} or the element itself as a fallback.</p>
+ * <p>The key accessor is resolved only once per class and cached, including the decision that a class has no
+ * accessible {@link GraphId} method. The class itself is searched first, then its super classes and finally all its
+ * interfaces.</p>
+ *
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+@CustomLog
+final class GraphIdKeyMapper {
+    private static final MethodType KEY_ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * The key accessor per class, or an empty optional if the element itself is used as a key
+     */
+    private static final ClassValue<Optional<MethodHandle>> KEY_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+            return findGraphIdMethod(type).flatMap(GraphIdKeyMapper::toKeyAccessor);
+        }
+    };
+
+    /**
+     * This class must not be created
+     */
+    private GraphIdKeyMapper() {
+    }
+
+    /**
+     * Returns the key of the given element
+     *
+     * @param element the element for which the key should be returned
+     * @return the result of the {@link GraphId} method, or the element itself if there is no such method
+     */
+    static Object getKey(Object element) {
+        Optional<MethodHandle> keyAccessor = KEY_ACCESSORS.get(element.getClass());
+        if (keyAccessor.isEmpty()) {
+            // per default we will use the element itself as a key
+            return element;
+        }
+        try {
+            return (Object) keyAccessor.get().invokeExact(element);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            log.debug(e);
+            // ignore the exception, because if we can't get the GraphId, we use the element itself
+            return element;
+        }
+    }
+
+    private static Optional<Method> findGraphIdMethod(Class<?> type) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            Optional<Method> method = findDeclaredGraphIdMethod(current);
+            if (method.isPresent()) {
+                return method;
+            }
+            interfaces.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        // breadth first search through the interfaces and their super interfaces
+        Deque<Class<?>> queue = new ArrayDeque<>(interfaces);
+        while (!queue.isEmpty()) {
+            Class<?> current = queue.poll();
+            Optional<Method> method = findDeclaredGraphIdMethod(current);
+            if (method.isPresent()) {
+                return method;
+            }
+            for (Class<?> superInterface : current.getInterfaces()) {
+                if (interfaces.add(superInterface)) {
+                    queue.add(superInterface);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Method> findDeclaredGraphIdMethod(Class<?> type) {
+        return Arrays.stream(type.getDeclaredMethods())
+                .filter(m -> m.getAnnotation(GraphId.class) != null)
+                .filter(m -> m.getParameterCount() == 0 && !Modifier.isStatic(m.getModifiers()))
+                .findFirst();
+    }
+
+    private static Optional<MethodHandle> toKeyAccessor(Method method) {
+        try {
+            return Optional.of(MethodHandles.lookup().unreflect(method).asType(KEY_ACCESSOR_TYPE));
+        } catch (IllegalAccessException e) {
+            log.debug(e);
+            // the method is not accessible (e.g. private), so the element itself is used as a key
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.factory;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import science.aist.gtf.graph.GraphState;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.impl.CompactGraphStateImpl;
+
+/**
+ * <p>Graph Factory, that uses the memory efficient {@link CompactGraphStateImpl} as graph state</p>
+ *
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class CompactGraphFactory extends DefaultGraphFactory {
+    /**
+     * Flag, if the created graph states store the meta tags of their vertices and edges in column based stores
+     */
+    private boolean columnarMetaTags;
+
+    @Override
+    public <V, E> GraphState<V, E> createGraphState() {
+        return new CompactGraphStateImpl<>(columnarMetaTags);
+    }
+
+    /**
+     * Compacts the given graph state instead of creating a snapshot of it, as the compacted CSR arrays are already
+     * optimized for reading access and a snapshot would temporarily double the required memory.
+     *
+     * @param <V>        the type of the decorated vertex value
+     * @param <E>        the type of the decorated edge value
+     * @param graphState the graph state that is no longer modified
+     * @return the read only view on the compacted graph state
+     */
+    @Override
+    public <V, E> GraphStateAccessor<V, E> freezeGraphState(GraphState<V, E> graphState) {
+        if (!(graphState instanceof CompactGraphStateImpl))
+            return super.freezeGraphState(graphState);
+        ((CompactGraphStateImpl<V, E>) graphState).compact();
+        return graphState.readonly();
+    }
+}
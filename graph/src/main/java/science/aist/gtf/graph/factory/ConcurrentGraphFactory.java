@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.factory;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import science.aist.gtf.graph.GraphState;
+import science.aist.gtf.graph.impl.ConcurrentGraphStateImpl;
+
+/**
+ * <p>Graph Factory, that uses the thread safe {@link ConcurrentGraphStateImpl} as graph state</p>
+ *
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+public class ConcurrentGraphFactory extends DefaultGraphFactory {
+    @Override
+    public <V, E> GraphState<V, E> createGraphState() {
+        return new ConcurrentGraphStateImpl<>();
+    }
+}
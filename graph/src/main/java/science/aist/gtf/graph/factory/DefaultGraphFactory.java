@@ -14,6 +14,8 @@ import lombok.NoArgsConstructor;
 import science.aist.gtf.graph.*;
 import science.aist.gtf.graph.impl.*;
 
+import java.util.Map;
+
 /**
  * <p>Default Graph Factory</p>
  *
@@ -32,6 +34,16 @@ public class DefaultGraphFactory implements GraphFactory {
         return GraphImpl.create(graphStateAccessor);
     }
 
+    @Override
+    public <V, E> Graph<V, E> createGraph(GraphStateAccessor<V, E> graphState, Map<Object, Vertex<V, E>> vertexKeys) {
+        return GraphImpl.create(graphState, vertexKeys);
+    }
+
+    @Override
+    public <V, E> GraphStateAccessor<V, E> freezeGraphState(GraphState<V, E> graphState) {
+        return new FrozenGraphStateImpl<>(graphState);
+    }
+
     @Override
     public <T, E> Vertex<T, E> createVertex(T elem) {
         return new VertexImpl<>(elem);
@@ -11,6 +11,8 @@ package science.aist.gtf.graph.factory;
 
 import science.aist.gtf.graph.*;
 
+import java.util.Map;
+
 /**
  * <p>Interface for a graph factory</p>
  *
@@ -37,6 +39,36 @@ public interface GraphFactory {
      */
     <V, E> Graph<V, E> createGraph(GraphStateAccessor<V, E> graphState);
 
+    /**
+     * <p>Returns a new instance of a graph, which allows to look up its vertices by their keys (see {@link
+     * Graph#getVertexByKey(Object)}).</p>
+     * <p>The default implementation ignores the keys and calls {@link #createGraph(GraphStateAccessor)}.</p>
+     *
+     * @param <V>        the type of the decorated vertex value
+     * @param <E>        the type of the decorated edge value
+     * @param graphState the internal data state representation of the graph
+     * @param vertexKeys the index from the keys of the vertices to the vertices, which must not be modified afterwards
+     * @return the created graph
+     */
+    default <V, E> Graph<V, E> createGraph(GraphStateAccessor<V, E> graphState, Map<Object, Vertex<V, E>> vertexKeys) {
+        return createGraph(graphState);
+    }
+
+    /**
+     * <p>Returns a read only graph state, that contains the same vertices and edges as the given one. This is used once
+     * a graph state is completely built and only read afterwards.</p>
+     * <p>The default implementation returns {@link GraphState#readonly()}, implementations might return an immutable
+     * snapshot, that is optimized for reading access, instead.</p>
+     *
+     * @param <V>        the type of the decorated vertex value
+     * @param <E>        the type of the decorated edge value
+     * @param graphState the graph state that is no longer modified
+     * @return the read only graph state
+     */
+    default <V, E> GraphStateAccessor<V, E> freezeGraphState(GraphState<V, E> graphState) {
+        return graphState.readonly();
+    }
+
     /**
      * Returns a new instance of a vertex with elem as decorated value
      *
@@ -28,4 +28,36 @@ public final class GraphFactoryFactory {
     public static GraphFactory getDefaultFactory() {
         return new DefaultGraphFactory();
     }
+
+    /**
+     * Returns an instance of a factory, that creates memory efficient, index based graph states
+     *
+     * @return a instance of a graph factory
+     * @see science.aist.gtf.graph.impl.CompactGraphStateImpl
+     */
+    public static GraphFactory getCompactFactory() {
+        return new CompactGraphFactory();
+    }
+
+    /**
+     * Returns an instance of a factory, that creates memory efficient, index based graph states, which additionally
+     * store the meta tags of all vertices and edges in column based stores
+     *
+     * @return a instance of a graph factory
+     * @see science.aist.gtf.graph.impl.ColumnarMetaTagStore
+     */
+    public static GraphFactory getColumnarCompactFactory() {
+        return new CompactGraphFactory(true);
+    }
+
+    /**
+     * Returns an instance of a factory, that creates graph states which allow adding vertices and edges from multiple
+     * threads concurrently
+     *
+     * @return a instance of a graph factory
+     * @see science.aist.gtf.graph.impl.ConcurrentGraphStateImpl
+     */
+    public static GraphFactory getConcurrentFactory() {
+        return new ConcurrentGraphFactory();
+    }
 }
@@ -14,6 +14,9 @@ import lombok.Getter;
 import lombok.Setter;
 import science.aist.gtf.graph.Edge;
 import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.IndexedGraphStateAccessor;
+import science.aist.gtf.graph.MetaTagCollection;
+import science.aist.gtf.graph.MetaTagStore;
 import science.aist.gtf.graph.Vertex;
 
 /**
@@ -40,6 +43,27 @@ public abstract class AbstractEdge<V, E> extends MetaTagCollectionImpl implement
     @Setter(AccessLevel.PACKAGE)
     private GraphStateAccessor<V, E> graphState;
 
+    /**
+     * The dense index of the edge inside an index based graph state (e.g. {@link CompactGraphStateImpl}). It is only
+     * meaningful as long as this graph state is the one returned by {@link #getGraphState()}.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private int index = -1;
+
+    /**
+     * Delegates the meta tags to the meta tag store of the graph state, if it provides one.
+     *
+     * @return the view on the meta tags of this edge in the store, or null if the meta tags are stored in the edge itself
+     */
+    @Override
+    protected MetaTagCollection getMetaTagDelegate() {
+        if (!(graphState instanceof IndexedGraphStateAccessor))
+            return null;
+        MetaTagStore store = ((IndexedGraphStateAccessor<V, E>) graphState).getEdgeMetaTagStore().orElse(null);
+        return store == null ? null : store.getMetaTags(index);
+    }
+
     @Override
     public Vertex<V, E> getSource() {
         return getGraphState().getSource(this);
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.Vertex;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * <p>Base class of the read only graph state accessors, that directly delegates all the reading methods to the
+ * wrapped graph state accessor.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @param <S> the type of the wrapped graph state accessor
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+abstract class AbstractReadonlyGraphStateAccessor<V, E, S extends GraphStateAccessor<V, E>> implements GraphStateAccessor<V, E> {
+    private final S delegate;
+
+    AbstractReadonlyGraphStateAccessor(S delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the wrapped graph state accessor
+     *
+     * @return the wrapped graph state accessor
+     */
+    final S delegate() {
+        return delegate;
+    }
+
+    @Override
+    public final Collection<Vertex<V, E>> getVertices() {
+        return delegate.getVertices();
+    }
+
+    @Override
+    public final Set<Edge<V, E>> getEdges(Vertex<V, E> vertex) {
+        return delegate.getEdges(vertex);
+    }
+
+    @Override
+    public final Set<Edge<V, E>> getAllEdges() {
+        return delegate.getAllEdges();
+    }
+
+    @Override
+    public final int vertexCount() {
+        return delegate.vertexCount();
+    }
+
+    @Override
+    public final int edgeCount() {
+        return delegate.edgeCount();
+    }
+
+    @Override
+    public final Collection<Edge<V, E>> getOutgoingEdges(Vertex<V, E> vertex) {
+        return delegate.getOutgoingEdges(vertex);
+    }
+
+    @Override
+    public final Collection<Edge<V, E>> getIncomingEdges(Vertex<V, E> vertex) {
+        return delegate.getIncomingEdges(vertex);
+    }
+
+    @Override
+    public final Collection<Vertex<V, E>> getAdjacentVertices(Vertex<V, E> vertex) {
+        return delegate.getAdjacentVertices(vertex);
+    }
+
+    @Override
+    public final Optional<Edge<V, E>> findEdge(Vertex<V, E> source, Vertex<V, E> target) {
+        return delegate.findEdge(source, target);
+    }
+
+    @Override
+    public final Vertex<V, E> getSource(Edge<V, E> edge) {
+        return delegate.getSource(edge);
+    }
+
+    @Override
+    public final Vertex<V, E> getTarget(Edge<V, E> edge) {
+        return delegate.getTarget(edge);
+    }
+
+    @Override
+    public final long getModificationStamp() {
+        return delegate.getModificationStamp();
+    }
+}
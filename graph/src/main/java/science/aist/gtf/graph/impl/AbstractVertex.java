@@ -14,12 +14,12 @@ import lombok.Getter;
 import lombok.Setter;
 import science.aist.gtf.graph.Edge;
 import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.IndexedGraphStateAccessor;
+import science.aist.gtf.graph.MetaTagCollection;
+import science.aist.gtf.graph.MetaTagStore;
 import science.aist.gtf.graph.Vertex;
 
 import java.util.Collection;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * <p>Abstract base class to be used for different vertex implementation, that are based on a graph state.</p>
@@ -38,15 +38,30 @@ public abstract class AbstractVertex<V, E> extends MetaTagCollectionImpl impleme
     @Setter(AccessLevel.PACKAGE)
     private GraphStateAccessor<V, E> graphState;
 
+    /**
+     * The dense index of the vertex inside an index based graph state (e.g. {@link CompactGraphStateImpl}). It is only
+     * meaningful as long as this graph state is the one returned by {@link #getGraphState()}.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private int index = -1;
+
+    /**
+     * Delegates the meta tags to the meta tag store of the graph state, if it provides one.
+     *
+     * @return the view on the meta tags of this vertex in the store, or null if the meta tags are stored in the vertex itself
+     */
+    @Override
+    protected MetaTagCollection getMetaTagDelegate() {
+        if (!(graphState instanceof IndexedGraphStateAccessor))
+            return null;
+        MetaTagStore store = ((IndexedGraphStateAccessor<V, E>) graphState).getVertexMetaTagStore().orElse(null);
+        return store == null ? null : store.getMetaTags(index);
+    }
 
     @Override
     public Collection<Vertex<V, E>> getAdjacentVertices() {
-        return Stream.of(
-                getIncomingEdges().stream().map(Edge::getSource),
-                getOutgoingEdges().stream().map(Edge::getTarget)
-        ).flatMap(Function.identity())
-                .distinct()
-                .collect(Collectors.toList());
+        return getGraphState().getAdjacentVertices(this);
     }
 
     @Override
@@ -56,12 +71,12 @@ public abstract class AbstractVertex<V, E> extends MetaTagCollectionImpl impleme
 
     @Override
     public Collection<Edge<V, E>> getIncomingEdges() {
-        return this.getEdges().stream().filter(e -> e.getTarget().equals(this)).collect(Collectors.toSet());
+        return getGraphState().getIncomingEdges(this);
     }
 
     @Override
     public Collection<Edge<V, E>> getOutgoingEdges() {
-        return this.getEdges().stream().filter(e -> e.getSource().equals(this)).collect(Collectors.toSet());
+        return getGraphState().getOutgoingEdges(this);
     }
 
     /**
@@ -0,0 +1,805 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import science.aist.gtf.graph.MetaTag;
+import science.aist.gtf.graph.MetaTagCollection;
+import science.aist.gtf.graph.MetaTagStore;
+import science.aist.jack.general.util.CastUtils;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * <p>Column based storage of the meta tags of all vertices or all edges of an index based graph state.</p>
+ * <p>There is one column per meta tag key, which stores the values of all elements by their index. Integer, long,
+ * double and boolean values are stored in primitive arrays, all other values in an object array. This avoids a meta
+ * tag object and a boxed value per element and allows to scan a single key for all elements at once (e.g. {@link
+ * DoubleColumn#filter(DoublePredicate)}).</p>
+ * <p>In contrast to a {@link MetaTagCollectionImpl} every element can only have a single value per key and null values
+ * are not supported. The meta tags of a single element are available using {@link #getMetaTags(int)}. Adding a meta
+ * tag, whose value does not match the type of the existing column for its key, is rejected by returning false. The key
+ * of a meta tag, that is returned by the store, can not be changed.</p>
+ * <p>The store is not thread safe.</p>
+ *
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public final class ColumnarMetaTagStore implements MetaTagStore {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Map<String, Column<?>> columns = new LinkedHashMap<>();
+    private final Collection<Column<?>> columnView = Collections.unmodifiableCollection(columns.values());
+    /**
+     * The views on the meta tags of the single elements by their index, which are created on first access
+     */
+    private ElementMetaTags[] elementViews = new ElementMetaTags[0];
+
+    /**
+     * Returns all columns of the store
+     *
+     * @return an unmodifiable view on all columns
+     */
+    public Collection<Column<?>> getColumns() {
+        return columnView;
+    }
+
+    /**
+     * Returns the column for the given key
+     *
+     * @param key the meta tag key
+     * @return the column or an empty optional if there is no column for the key
+     */
+    public Optional<Column<?>> getColumn(String key) {
+        return Optional.ofNullable(columns.get(key));
+    }
+
+    /**
+     * Returns the column for the given key and creates it, if it does not exist yet
+     *
+     * @param key the meta tag key
+     * @return the int column for the key
+     * @throws IllegalStateException if there is already a column of a different type for the key
+     */
+    public IntColumn getIntColumn(String key) {
+        return getOrCreateColumn(key, IntColumn.class, IntColumn::new);
+    }
+
+    /**
+     * Returns the column for the given key and creates it, if it does not exist yet
+     *
+     * @param key the meta tag key
+     * @return the long column for the key
+     * @throws IllegalStateException if there is already a column of a different type for the key
+     */
+    public LongColumn getLongColumn(String key) {
+        return getOrCreateColumn(key, LongColumn.class, LongColumn::new);
+    }
+
+    /**
+     * Returns the column for the given key and creates it, if it does not exist yet
+     *
+     * @param key the meta tag key
+     * @return the double column for the key
+     * @throws IllegalStateException if there is already a column of a different type for the key
+     */
+    public DoubleColumn getDoubleColumn(String key) {
+        return getOrCreateColumn(key, DoubleColumn.class, DoubleColumn::new);
+    }
+
+    /**
+     * Returns the column for the given key and creates it, if it does not exist yet
+     *
+     * @param key the meta tag key
+     * @return the boolean column for the key
+     * @throws IllegalStateException if there is already a column of a different type for the key
+     */
+    public BooleanColumn getBooleanColumn(String key) {
+        return getOrCreateColumn(key, BooleanColumn.class, BooleanColumn::new);
+    }
+
+    /**
+     * Returns the column for the given key and creates it, if it does not exist yet
+     *
+     * @param key  the meta tag key
+     * @param type the type of the values
+     * @param <T>  the type of the values
+     * @return the object column for the key
+     * @throws IllegalStateException if there is already a column of a different type for the key
+     */
+    public <T> ObjectColumn<T> getObjectColumn(String key, Class<T> type) {
+        ObjectColumn<?> column = getOrCreateColumn(key, ObjectColumn.class, k -> new ObjectColumn<>(k, type));
+        if (column.getType() != type)
+            throw new IllegalStateException("There is already a column with a different type for key " + key);
+        return CastUtils.cast(column);
+    }
+
+    /**
+     * Removes the column for the given key including the values of all elements
+     *
+     * @param key the meta tag key
+     * @return true if there was a column for the key
+     */
+    public boolean removeColumn(String key) {
+        return columns.remove(key) != null;
+    }
+
+    @Override
+    public MetaTagCollection getMetaTags(int index) {
+        if (index >= elementViews.length)
+            elementViews = Arrays.copyOf(elementViews, Math.max(index + 1, Math.max(DEFAULT_CAPACITY, elementViews.length * 2)));
+        ElementMetaTags view = elementViews[index];
+        if (view == null) {
+            view = new ElementMetaTags(index);
+            elementViews[index] = view;
+        }
+        return view;
+    }
+
+    /**
+     * Checks if all the given meta tags can be added to a single element without a conflict with the type of an
+     * existing column or with the type of a column, that is created for a previous meta tag of the given ones.
+     *
+     * @param metaTags the meta tags to be checked
+     * @return true if all meta tags can be added
+     */
+    public boolean accepts(Collection<? extends MetaTag<?>> metaTags) {
+        Map<String, Class<?>> createdColumns = new HashMap<>();
+        for (MetaTag<?> metaTag : metaTags) {
+            if (metaTag == null || metaTag.getKey() == null || metaTag.getValue() == null)
+                continue;
+            Column<?> column = columns.get(metaTag.getKey());
+            Class<?> type = column != null
+                    ? column.getType()
+                    : createdColumns.computeIfAbsent(metaTag.getKey(), k -> getColumnType(metaTag.getValue()));
+            if (!type.isInstance(metaTag.getValue()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes all values of the element with the given index
+     *
+     * @param index the index of the vertex or edge
+     */
+    public void clear(int index) {
+        for (Column<?> column : columns.values()) {
+            column.remove(index);
+        }
+    }
+
+    private <C extends Column<?>> C getOrCreateColumn(String key, Class<C> type, Function<String, C> constructor) {
+        Column<?> column = columns.computeIfAbsent(Objects.requireNonNull(key), constructor);
+        if (!type.isInstance(column))
+            throw new IllegalStateException("There is already a column with a different type for key " + key);
+        return type.cast(column);
+    }
+
+    /**
+     * Returns the column, that stores the given value, and creates it, if it does not exist yet. Values that do not have
+     * a primitive column are stored in an object column.
+     *
+     * @return the column or null if the value does not match the type of the existing column for the key
+     */
+    private Column<?> getColumnFor(String key, Object value) {
+        Column<?> column = columns.get(key);
+        if (column != null)
+            return column.accepts(value) ? column : null;
+        if (value instanceof Integer)
+            return getIntColumn(key);
+        if (value instanceof Long)
+            return getLongColumn(key);
+        if (value instanceof Double)
+            return getDoubleColumn(key);
+        if (value instanceof Boolean)
+            return getBooleanColumn(key);
+        return getObjectColumn(key, Object.class);
+    }
+
+    /**
+     * Returns the type of the column, that is created by {@link #getColumnFor(String, Object)} for the given value
+     */
+    private static Class<?> getColumnType(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof Boolean)
+            return value.getClass();
+        return Object.class;
+    }
+
+    /**
+     * <p>Column that stores the values of a single meta tag key for all elements.</p>
+     *
+     * @param <T> the (boxed) type of the values
+     */
+    public abstract static class Column<T> {
+        private final String key;
+        /**
+         * The indices of the elements, that have a value in this column
+         */
+        protected final BitSet present = new BitSet();
+
+        private Column(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Returns the meta tag key of the column
+         *
+         * @return the meta tag key
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Returns the type of the values in the column
+         *
+         * @return the type of the values
+         */
+        public abstract Class<T> getType();
+
+        /**
+         * Checks if the element with the given index has a value in this column
+         *
+         * @param index the index of the vertex or edge
+         * @return true if there is a value
+         */
+        public boolean contains(int index) {
+            return index >= 0 && present.get(index);
+        }
+
+        /**
+         * Returns the (boxed) value of the element with the given index
+         *
+         * @param index the index of the vertex or edge
+         * @return the value or null if there is no value for the element
+         */
+        public abstract T get(int index);
+
+        /**
+         * Sets the value of the element with the given index
+         *
+         * @param index the index of the vertex or edge
+         * @param value the value, which must not be null
+         */
+        public abstract void set(int index, T value);
+
+        /**
+         * Removes the value of the element with the given index
+         *
+         * @param index the index of the vertex or edge
+         */
+        public void remove(int index) {
+            if (index >= 0)
+                present.clear(index);
+        }
+
+        /**
+         * Returns the indices of all elements, that have a value in this column
+         *
+         * @return a copy of the indices
+         */
+        public BitSet getIndices() {
+            return (BitSet) present.clone();
+        }
+
+        /**
+         * Returns the number of elements, that have a value in this column
+         *
+         * @return the number of values
+         */
+        public int size() {
+            return present.cardinality();
+        }
+
+        boolean accepts(Object value) {
+            return getType().isInstance(value);
+        }
+
+        /**
+         * Returns the index of the element or throws an exception if there is no value for it
+         */
+        int checkPresent(int index) {
+            if (!contains(index))
+                throw new IllegalStateException("There is no value for index " + index + " in column " + key);
+            return index;
+        }
+
+        static int capacityFor(int length, int index) {
+            return Math.max(index + 1, Math.max(DEFAULT_CAPACITY, length * 2));
+        }
+    }
+
+    /**
+     * Column of int values
+     */
+    public static final class IntColumn extends Column<Integer> {
+        private int[] values = new int[0];
+
+        private IntColumn(String key) {
+            super(key);
+        }
+
+        @Override
+        public Class<Integer> getType() {
+            return Integer.class;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return contains(index) ? values[index] : null;
+        }
+
+        @Override
+        public void set(int index, Integer value) {
+            setInt(index, value);
+        }
+
+        /**
+         * Returns the value of the element with the given index
+         *
+         * @param index the index of the vertex or edge
+         * @return the value
+         * @throws IllegalStateException if there is no value for the element
+         */
+        public int getInt(int index) {
+            return values[checkPresent(index)];
+        }
+
+        /**
+         * Sets the value of the element with the given index
+         *
+         * @param index the index of the vertex or edge
+         * @param value the value
+         */
+        public void setInt(int index, int value) {
+            if (index >= values.length)
+                values = Arrays.copyOf(values, capacityFor(values.length, index));
+            values[index] = value;
+            present.set(index);
+        }
+
+        /**
+         * Returns the indices of all elements, whose value matches the given predicate
+         *
+         * @param predicate the predicate that is tested for every value
+         * @return the indices of the matching elements
+         */
+        public BitSet filter(IntPredicate predicate) {
+            BitSet result = new BitSet();
+            for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+                if (predicate.test(values[i]))
+                    result.set(i);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Column of long values
+     */
+    public static final class LongColumn extends Column<Long> {
+        private long[] values = new long[0];
+
+        private LongColumn(String key) {
+            super(key);
+        }
+
+        @Override
+        public Class<Long> getType() {
+            return Long.class;
+        }
+
+        @Override
+        public Long get(int index) {
+            return contains(index) ? values[index] : null;
+        }
+
+        @Override
+        public void set(int index, Long value) {
+            setLong(index, value);
+        }
+
+        /**
+         * Returns the value of the element with the given index
+         *
+         * @param index the index of the vertex or edge
+         * @return the value
+         * @throws IllegalStateException if there is no value for the element
+         */
+        public long getLong(int index) {
+            return values[checkPresent(index)];
+        }
+
+        /**
+         * Sets the value of the element with the given index
+         *
+         * @param index the index of the vertex or edge
+         * @param value the value
+         */
+        public void setLong(int index, long value) {
+            if (index >= values.length)
+                values = Arrays.copyOf(values, capacityFor(values.length, index));
+            values[index] = value;
+            present.set(index);
+        }
+
+        /**
+         * Returns the indices of all elements, whose value matches the given predicate
+         *
+         * @param predicate the predicate that is tested for every value
+         * @return the indices of the matching elements
+         */
+        public BitSet filter(LongPredicate predicate) {
+            BitSet result = new BitSet();
+            for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+                if (predicate.test(values[i]))
+                    result.set(i);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Column of double values
+     */
+    public static final class DoubleColumn extends Column<Double> {
+        private double[] values = new double[0];
+
+        private DoubleColumn(String key) {
+            super(key);
+        }
+
+        @Override
+        public Class<Double> getType() {
+            return Double.class;
+        }
+
+        @Override
+        public Double get(int index) {
+            return contains(index) ? values[index] : null;
+        }
+
+        @Override
+        public void set(int index, Double value) {
+            setDouble(index, value);
+        }
+
+        /**
+         * Returns the value of the element with the given index
+         *
+         * @param index the index of the vertex or edge
+         * @return the value
+         * @throws IllegalStateException if there is no value for the element
+         */
+        public double getDouble(int index) {
+            return values[checkPresent(index)];
+        }
+
+        /**
+         * Sets the value of the element with the given index
+         *
+         * @param index the index of the vertex or edge
+         * @param value the value
+         */
+        public void setDouble(int index, double value) {
+            if (index >= values.length)
+                values = Arrays.copyOf(values, capacityFor(values.length, index));
+            values[index] = value;
+            present.set(index);
+        }
+
+        /**
+         * Returns the indices of all elements, whose value matches the given predicate
+         *
+         * @param predicate the predicate that is tested for every value
+         * @return the indices of the matching elements
+         */
+        public BitSet filter(DoublePredicate predicate) {
+            BitSet result = new BitSet();
+            for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+                if (predicate.test(values[i]))
+                    result.set(i);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Column of boolean values, which are stored as a bit set
+     */
+    public static final class BooleanColumn extends Column<Boolean> {
+        private final BitSet values = new BitSet();
+
+        private BooleanColumn(String key) {
+            super(key);
+        }
+
+        @Override
+        public Class<Boolean> getType() {
+            return Boolean.class;
+        }
+
+        @Override
+        public Boolean get(int index) {
+            return contains(index) ? values.get(index) : null;
+        }
+
+        @Override
+        public void set(int index, Boolean value) {
+            setBoolean(index, value);
+        }
+
+        /**
+         * Returns the value of the element with the given index
+         *
+         * @param index the index of the vertex or edge
+         * @return the value
+         * @throws IllegalStateException if there is no value for the element
+         */
+        public boolean getBoolean(int index) {
+            return values.get(checkPresent(index));
+        }
+
+        /**
+         * Sets the value of the element with the given index
+         *
+         * @param index the index of the vertex or edge
+         * @param value the value
+         */
+        public void setBoolean(int index, boolean value) {
+            values.set(index, value);
+            present.set(index);
+        }
+
+        /**
+         * Returns the indices of all elements with the given value
+         *
+         * @param value the value to search for
+         * @return the indices of the matching elements
+         */
+        public BitSet filter(boolean value) {
+            BitSet result = getIndices();
+            if (value) {
+                result.and(values);
+            } else {
+                result.andNot(values);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Column of arbitrary, non null values
+     *
+     * @param <T> the type of the values
+     */
+    public static final class ObjectColumn<T> extends Column<T> {
+        private final Class<T> type;
+        private Object[] values = new Object[0];
+
+        private ObjectColumn(String key, Class<T> type) {
+            super(key);
+            this.type = Objects.requireNonNull(type);
+        }
+
+        @Override
+        public Class<T> getType() {
+            return type;
+        }
+
+        @Override
+        public T get(int index) {
+            return contains(index) ? type.cast(values[index]) : null;
+        }
+
+        @Override
+        public void set(int index, T value) {
+            if (index >= values.length)
+                values = Arrays.copyOf(values, capacityFor(values.length, index));
+            values[index] = type.cast(Objects.requireNonNull(value));
+            present.set(index);
+        }
+
+        @Override
+        public void remove(int index) {
+            super.remove(index);
+            if (index >= 0 && index < values.length)
+                values[index] = null;
+        }
+
+        /**
+         * Returns the indices of all elements, whose value matches the given predicate
+         *
+         * @param predicate the predicate that is tested for every value
+         * @return the indices of the matching elements
+         */
+        public BitSet filter(Predicate<? super T> predicate) {
+            BitSet result = new BitSet();
+            for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+                if (predicate.test(type.cast(values[i])))
+                    result.set(i);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * View on the meta tags of a single element
+     */
+    private final class ElementMetaTags implements MetaTagCollection {
+        private final int index;
+
+        private ElementMetaTags(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public <T> Collection<MetaTag<T>> getMetaTags() {
+            return CastUtils.cast(new AbstractSet<MetaTag<?>>() {
+                @Override
+                public Iterator<MetaTag<?>> iterator() {
+                    Iterator<Column<?>> iterator = columns.values().iterator();
+                    return new Iterator<>() {
+                        private Column<?> next = advance();
+                        private Column<?> lastReturned;
+
+                        private Column<?> advance() {
+                            while (iterator.hasNext()) {
+                                Column<?> column = iterator.next();
+                                if (column.contains(index))
+                                    return column;
+                            }
+                            return null;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next != null;
+                        }
+
+                        @Override
+                        public MetaTag<?> next() {
+                            if (next == null)
+                                throw new NoSuchElementException();
+                            lastReturned = next;
+                            next = advance();
+                            return new ColumnMetaTag<>(lastReturned, index);
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (lastReturned == null)
+                                throw new IllegalStateException();
+                            lastReturned.remove(index);
+                            lastReturned = null;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (Column<?> column : columns.values()) {
+                        if (column.contains(index))
+                            size++;
+                    }
+                    return size;
+                }
+
+                @Override
+                public boolean add(MetaTag<?> metaTag) {
+                    return addMetaTag(metaTag);
+                }
+            });
+        }
+
+        @Override
+        public <T> boolean addMetaTag(MetaTag<T> metaTag) {
+            if (metaTag == null || metaTag.getKey() == null || metaTag.getValue() == null)
+                return false;
+            Column<?> column = getColumnFor(metaTag.getKey(), metaTag.getValue());
+            if (column == null)
+                return false;
+            column.set(index, CastUtils.cast(metaTag.getValue()));
+            return true;
+        }
+
+        @Override
+        public <T> boolean removeMetaTag(MetaTag<T> metaTag) {
+            if (metaTag == null)
+                return false;
+            Column<?> column = columns.get(metaTag.getKey());
+            if (column == null || !column.contains(index) || !Objects.equals(column.get(index), metaTag.getValue()))
+                return false;
+            column.remove(index);
+            return true;
+        }
+
+        @Override
+        public <T> T getMetaTagValue(String key, Class<T> clazz) {
+            T value = findMetaTagValue(key, clazz);
+            if (value == null)
+                throw new IllegalStateException("Did not find any element with given key and given class type");
+            return value;
+        }
+
+        @Override
+        public <T> Optional<T> tryGetMetaTagValue(String key, Class<T> clazz) {
+            return Optional.ofNullable(findMetaTagValue(key, clazz));
+        }
+
+        @Override
+        public void removeMetaTag(String key, Class<?>... clazz) {
+            Column<?> column = columns.get(key);
+            if (column == null || !column.contains(index))
+                return;
+            if (clazz == null || clazz.length == 0 || Arrays.asList(clazz).contains(column.get(index).getClass()))
+                column.remove(index);
+        }
+
+        private <T> T findMetaTagValue(String key, Class<T> clazz) {
+            Column<?> column = columns.get(key);
+            if (column == null)
+                return null;
+            Object value = column.get(index);
+            return clazz.isInstance(value) ? clazz.cast(value) : null;
+        }
+    }
+
+    /**
+     * Meta tag, that reads and writes the value of a single element in a column. The key of the meta tag can not be
+     * changed, as it is the key of the column (see {@link MetaTag#setKey(String)}).
+     *
+     * @param <T> the type of the value
+     */
+    private static final class ColumnMetaTag<T> implements MetaTag<T> {
+        private final Column<T> column;
+        private final int index;
+
+        private ColumnMetaTag(Column<?> column, int index) {
+            this.column = CastUtils.cast(column);
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return column.getKey();
+        }
+
+        @Override
+        public void setKey(String key) {
+            throw new UnsupportedOperationException("The key of a column based meta tag can not be changed");
+        }
+
+        @Override
+        public T getValue() {
+            return column.get(index);
+        }
+
+        @Override
+        public void setValue(T value) {
+            column.set(index, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ColumnMetaTag)) return false;
+            ColumnMetaTag<?> that = (ColumnMetaTag<?>) o;
+            return index == that.index && column == that.column;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(column) + index;
+        }
+    }
+}
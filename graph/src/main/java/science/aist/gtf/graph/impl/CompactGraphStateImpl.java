@@ -0,0 +1,724 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.GraphState;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.GraphStateListener;
+import science.aist.gtf.graph.IndexedGraphStateAccessor;
+import science.aist.gtf.graph.Vertex;
+import science.aist.jack.general.util.CastUtils;
+
+import java.util.*;
+
+/**
+ * <p>Memory efficient graph state, that assigns dense indices to its vertices and edges and stores the adjacency as
+ * compressed sparse row (CSR) arrays.</p>
+ * <p>Every vertex and edge only costs a few array slots instead of several hash entries, sets and pairs. The index of
+ * an element is stored inside the element itself, which is why a vertex or an edge can only be part of a single
+ * compact graph state at a time.</p>
+ * <p>Edges that are added after the last compaction are kept in a small per vertex linked list (forward star) until
+ * they are merged into the CSR arrays. The compaction happens automatically once the number of pending edges exceeds
+ * the number of compacted edges, which keeps adding an edge amortized constant, or can be triggered manually using
+ * {@link #compact()} (e.g. after a graph was fully built).</p>
+ * <p>Optionally, the meta tags of all vertices and edges can be stored in a {@link ColumnarMetaTagStore} owned by the
+ * graph state (see {@link #CompactGraphStateImpl(boolean)}). Meta tags, that were added to a vertex or an edge before
+ * it was added to the graph state, are moved into the store. A vertex or an edge, whose meta tags do not match the types
+ * of the existing columns, is rejected before the graph state is changed.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public class CompactGraphStateImpl<V, E> implements GraphState<V, E>, IndexedGraphStateAccessor<V, E> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MIN_PENDING_EDGES = 1024;
+    private static final int NONE = -1;
+    private static final int[] EMPTY_TABLE = new int[0];
+
+    private AbstractVertex<V, E>[] vertices = CastUtils.cast(new AbstractVertex[DEFAULT_CAPACITY]);
+    private int vertexCount;
+
+    private AbstractEdge<V, E>[] edges = CastUtils.cast(new AbstractEdge[DEFAULT_CAPACITY]);
+    private int[] edgeSources = new int[DEFAULT_CAPACITY];
+    private int[] edgeTargets = new int[DEFAULT_CAPACITY];
+    private int edgeCount;
+
+    /**
+     * CSR representation of all edges with an index lower than {@link #compactedEdgeCount} for all vertices with an
+     * index lower than {@link #compactedVertexCount}. The outgoing edges of vertex v are stored in outEdgeIds in the
+     * range [outOffsets[v], outOffsets[v + 1]) sorted by their target, the incoming ones analogously. The vertices on the other end of an edge
+     * are resolved using {@link #edgeSources} and {@link #edgeTargets}.
+     */
+    private int[] outOffsets = new int[1];
+    private int[] outEdgeIds = new int[0];
+    private int[] inOffsets = new int[1];
+    private int[] inEdgeIds = new int[0];
+    private int compactedVertexCount;
+    private int compactedEdgeCount;
+    private long modificationStamp;
+    private final List<GraphStateListener<V, E>> listeners = new ArrayList<>();
+
+    /**
+     * Linked lists of the edges that are not yet part of the CSR arrays. The head arrays are indexed by the vertex
+     * index, the next arrays by the edge index minus {@link #compactedEdgeCount}.
+     */
+    private int[] pendingOutHead = new int[DEFAULT_CAPACITY];
+    private int[] pendingInHead = new int[DEFAULT_CAPACITY];
+    private int[] pendingOutNext = new int[DEFAULT_CAPACITY];
+    private int[] pendingInNext = new int[DEFAULT_CAPACITY];
+    /**
+     * Number of pending outgoing and incoming edges per vertex, which together with the CSR offsets allows to determine
+     * the degree of a vertex in constant time.
+     */
+    private int[] pendingOutCount = new int[DEFAULT_CAPACITY];
+    private int[] pendingInCount = new int[DEFAULT_CAPACITY];
+    /**
+     * Number of self loops per vertex, which are only contained once in {@link #getEdges(Vertex)}
+     */
+    private int[] selfLoops = new int[DEFAULT_CAPACITY];
+    /**
+     * Number of compactions so far. As a compaction rebuilds the CSR arrays and clears the pending edges, iterators over
+     * the adjacent edges of a vertex use it to detect that they became invalid.
+     */
+    private int compactions;
+    /**
+     * Open addressing hash table (linear probing) of the ids of the pending edges by their source and target vertex
+     * index, where empty slots are {@link #NONE}. The endpoints are read from {@link #edgeSources} and {@link
+     * #edgeTargets}, so the table only stores a single int per slot. Only the first pending edge between two vertices
+     * is stored. The compacted edges are found using a binary search in the sorted CSR rows instead.
+     */
+    private int[] pendingEdgeTable = EMPTY_TABLE;
+    private int pendingEdgeTableSize;
+
+    /**
+     * Lazily created views on the adjacent edges per vertex. The views are live, so they never need to be recreated.
+     */
+    private Adjacency[] adjacencies = CastUtils.cast(new CompactGraphStateImpl.Adjacency[DEFAULT_CAPACITY]);
+    private final Collection<Vertex<V, E>> vertexView = new VertexList();
+    private final Set<Edge<V, E>> edgeView = new EdgeSet();
+    private final GraphStateAccessor<V, E> readonlyView = ReadonlyGraphStateAccessor.of(this);
+    private final Optional<ColumnarMetaTagStore> vertexMetaTagStore;
+    private final Optional<ColumnarMetaTagStore> edgeMetaTagStore;
+
+    /**
+     * Creates a new graph state, where every vertex and edge stores its own meta tags
+     */
+    public CompactGraphStateImpl() {
+        this(false);
+    }
+
+    /**
+     * Creates a new graph state
+     *
+     * @param columnarMetaTags true, if the meta tags of all vertices and edges should be stored in column based meta
+     *                         tag stores owned by this graph state
+     */
+    public CompactGraphStateImpl(boolean columnarMetaTags) {
+        vertexMetaTagStore = columnarMetaTags ? Optional.of(new ColumnarMetaTagStore()) : Optional.empty();
+        edgeMetaTagStore = columnarMetaTags ? Optional.of(new ColumnarMetaTagStore()) : Optional.empty();
+    }
+
+    @Override
+    public Collection<Vertex<V, E>> getVertices() {
+        return vertexView;
+    }
+
+    @Override
+    public Set<Edge<V, E>> getEdges(Vertex<V, E> vertex) {
+        return getAdjacency(vertex).all;
+    }
+
+    @Override
+    public Set<Edge<V, E>> getAllEdges() {
+        return edgeView;
+    }
+
+    @Override
+    public Collection<Edge<V, E>> getOutgoingEdges(Vertex<V, E> vertex) {
+        return getAdjacency(vertex).outgoing;
+    }
+
+    @Override
+    public Collection<Edge<V, E>> getIncomingEdges(Vertex<V, E> vertex) {
+        return getAdjacency(vertex).incoming;
+    }
+
+    @Override
+    public Optional<Edge<V, E>> findEdge(Vertex<V, E> source, Vertex<V, E> target) {
+        if (!contains(source))
+            throw new IllegalStateException("Access unknown vertex");
+        if (!contains(target))
+            return Optional.empty();
+        int sourceIndex = ((AbstractVertex<V, E>) source).getIndex();
+        int targetIndex = ((AbstractVertex<V, E>) target).getIndex();
+        if (sourceIndex < compactedVertexCount) {
+            int low = outOffsets[sourceIndex];
+            int high = outOffsets[sourceIndex + 1] - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int midTarget = edgeTargets[outEdgeIds[mid]];
+                if (midTarget < targetIndex) {
+                    low = mid + 1;
+                } else if (midTarget > targetIndex) {
+                    high = mid - 1;
+                } else {
+                    return Optional.of(edges[outEdgeIds[mid]]);
+                }
+            }
+        }
+        int pending = findPendingEdge(sourceIndex, targetIndex);
+        return pending == NONE ? Optional.empty() : Optional.of(edges[pending]);
+    }
+
+    @Override
+    public Vertex<V, E> getSource(Edge<V, E> edge) {
+        if (!contains(edge))
+            throw new IllegalStateException("Access unknown edge");
+        return vertices[edgeSources[((AbstractEdge<V, E>) edge).getIndex()]];
+    }
+
+    @Override
+    public Vertex<V, E> getTarget(Edge<V, E> edge) {
+        if (!contains(edge))
+            throw new IllegalStateException("Access unknown edge");
+        return vertices[edgeTargets[((AbstractEdge<V, E>) edge).getIndex()]];
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int indexOf(Vertex<V, E> vertex) {
+        if (!contains(vertex))
+            throw new IllegalStateException("Access unknown vertex");
+        return ((AbstractVertex<V, E>) vertex).getIndex();
+    }
+
+    @Override
+    public int indexOf(Edge<V, E> edge) {
+        if (!contains(edge))
+            throw new IllegalStateException("Access unknown edge");
+        return ((AbstractEdge<V, E>) edge).getIndex();
+    }
+
+    @Override
+    public Vertex<V, E> getVertex(int index) {
+        Objects.checkIndex(index, vertexCount);
+        return vertices[index];
+    }
+
+    @Override
+    public Edge<V, E> getEdge(int index) {
+        Objects.checkIndex(index, edgeCount);
+        return edges[index];
+    }
+
+    @Override
+    public Optional<ColumnarMetaTagStore> getVertexMetaTagStore() {
+        return vertexMetaTagStore;
+    }
+
+    @Override
+    public Optional<ColumnarMetaTagStore> getEdgeMetaTagStore() {
+        return edgeMetaTagStore;
+    }
+
+    @Override
+    public void addVertex(Vertex<V, E> vertex) {
+        if (!(vertex instanceof AbstractVertex))
+            throw new IllegalStateException("Graph state implementation only supports subclasses of AbstractVertex");
+        if (contains(vertex)) {
+            throw new IllegalStateException("Vertex already contained in graph state");
+        }
+        AbstractVertex<V, E> abstractVertex = (AbstractVertex<V, E>) vertex;
+        // the meta tags are checked before anything is changed, as they can not be moved into the store afterwards
+        checkMetaTags(vertexMetaTagStore, abstractVertex);
+        if (vertexCount == vertices.length) {
+            growVertexArrays(grow(vertices.length));
+        }
+        int index = vertexCount++;
+        vertices[index] = abstractVertex;
+        pendingOutHead[index] = NONE;
+        pendingInHead[index] = NONE;
+        vertexMetaTagStore.ifPresent(store -> abstractVertex.moveMetaTagsTo(store.getMetaTags(index)));
+        abstractVertex.setIndex(index);
+        abstractVertex.setGraphState(this);
+        modificationStamp++;
+        for (GraphStateListener<V, E> listener : listeners) {
+            listener.onVertexAdded(vertex);
+        }
+    }
+
+    @Override
+    public void addEdge(Edge<V, E> edge, Vertex<V, E> source, Vertex<V, E> target) {
+        if (!(edge instanceof AbstractEdge))
+            throw new IllegalStateException("Graph state implementation only supports subclasses of AbstractEdge");
+        if (contains(edge)) {
+            throw new IllegalStateException("Edge is already contained in graph state");
+        }
+        if (!contains(source) || !contains(target)) {
+            throw new IllegalStateException("Source of Target vertex is not yet contained in graph state");
+        }
+        AbstractEdge<V, E> abstractEdge = (AbstractEdge<V, E>) edge;
+        checkMetaTags(edgeMetaTagStore, abstractEdge);
+        if (edgeCount == edges.length) {
+            int newCapacity = grow(edges.length);
+            edges = Arrays.copyOf(edges, newCapacity);
+            edgeSources = Arrays.copyOf(edgeSources, newCapacity);
+            edgeTargets = Arrays.copyOf(edgeTargets, newCapacity);
+        }
+        int pendingIndex = edgeCount - compactedEdgeCount;
+        if (pendingIndex == pendingOutNext.length) {
+            int newCapacity = grow(pendingOutNext.length);
+            pendingOutNext = Arrays.copyOf(pendingOutNext, newCapacity);
+            pendingInNext = Arrays.copyOf(pendingInNext, newCapacity);
+        }
+
+        int sourceIndex = ((AbstractVertex<V, E>) source).getIndex();
+        int targetIndex = ((AbstractVertex<V, E>) target).getIndex();
+        int index = edgeCount++;
+        edges[index] = abstractEdge;
+        edgeSources[index] = sourceIndex;
+        edgeTargets[index] = targetIndex;
+        pendingOutNext[pendingIndex] = pendingOutHead[sourceIndex];
+        pendingOutHead[sourceIndex] = index;
+        pendingInNext[pendingIndex] = pendingInHead[targetIndex];
+        pendingInHead[targetIndex] = index;
+        pendingOutCount[sourceIndex]++;
+        pendingInCount[targetIndex]++;
+        if (sourceIndex == targetIndex)
+            selfLoops[sourceIndex]++;
+        addPendingEdge(index);
+        edgeMetaTagStore.ifPresent(store -> abstractEdge.moveMetaTagsTo(store.getMetaTags(index)));
+        abstractEdge.setIndex(index);
+        abstractEdge.setGraphState(this);
+        modificationStamp++;
+        for (GraphStateListener<V, E> listener : listeners) {
+            listener.onEdgeAdded(edge, source, target);
+        }
+
+        if (pendingIndex + 1 > Math.max(MIN_PENDING_EDGES, compactedEdgeCount)) {
+            compact();
+        }
+    }
+
+    @Override
+    public long getModificationStamp() {
+        return modificationStamp;
+    }
+
+    /**
+     * The vertices and edges are stored at fixed indices, therefore they can not be removed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void removeEdge(Edge<V, E> edge) {
+        throw new UnsupportedOperationException("CompactGraphStateImpl does not support removing edges");
+    }
+
+    /**
+     * The vertices and edges are stored at fixed indices, therefore they can not be removed.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void removeVertex(Vertex<V, E> vertex) {
+        throw new UnsupportedOperationException("CompactGraphStateImpl does not support removing vertices");
+    }
+
+    @Override
+    public void addListener(GraphStateListener<V, E> listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    @Override
+    public void removeListener(GraphStateListener<V, E> listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void ensureCapacity(int vertexCapacity, int edgeCapacity) {
+        if (vertexCapacity > vertices.length) {
+            growVertexArrays(vertexCapacity);
+        }
+        if (edgeCapacity > edges.length) {
+            edges = Arrays.copyOf(edges, edgeCapacity);
+            edgeSources = Arrays.copyOf(edgeSources, edgeCapacity);
+            edgeTargets = Arrays.copyOf(edgeTargets, edgeCapacity);
+        }
+    }
+
+    @Override
+    public GraphStateAccessor<V, E> readonly() {
+        return readonlyView;
+    }
+
+    /**
+     * Merges all pending edges into the compressed sparse row arrays. Calling this method after a graph state was
+     * completely built results in the best memory layout for read access.
+     */
+    public void compact() {
+        if (compactedVertexCount == vertexCount && compactedEdgeCount == edgeCount)
+            return;
+
+        int[] newOutOffsets = new int[vertexCount + 1];
+        int[] newInOffsets = new int[vertexCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            newOutOffsets[edgeSources[e] + 1]++;
+            newInOffsets[edgeTargets[e] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            newOutOffsets[v + 1] += newOutOffsets[v];
+            newInOffsets[v + 1] += newInOffsets[v];
+        }
+
+        int[] outPosition = Arrays.copyOf(newOutOffsets, vertexCount);
+        int[] inPosition = Arrays.copyOf(newInOffsets, vertexCount);
+        int[] newOutEdgeIds = new int[edgeCount];
+        int[] newInEdgeIds = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            newInEdgeIds[inPosition[edgeTargets[e]]++] = e;
+        }
+        // filling the outgoing edges in the order of their targets sorts every row by the target index, which allows to
+        // binary search an edge between two vertices
+        for (int e : newInEdgeIds) {
+            newOutEdgeIds[outPosition[edgeSources[e]]++] = e;
+        }
+
+        outOffsets = newOutOffsets;
+        outEdgeIds = newOutEdgeIds;
+        inOffsets = newInOffsets;
+        inEdgeIds = newInEdgeIds;
+        compactedVertexCount = vertexCount;
+        compactedEdgeCount = edgeCount;
+        Arrays.fill(pendingOutHead, 0, vertexCount, NONE);
+        Arrays.fill(pendingInHead, 0, vertexCount, NONE);
+        Arrays.fill(pendingOutCount, 0, vertexCount, 0);
+        Arrays.fill(pendingInCount, 0, vertexCount, 0);
+        pendingEdgeTable = EMPTY_TABLE;
+        pendingEdgeTableSize = 0;
+        compactions++;
+    }
+
+    private void growVertexArrays(int capacity) {
+        vertices = Arrays.copyOf(vertices, capacity);
+        pendingOutHead = Arrays.copyOf(pendingOutHead, capacity);
+        pendingInHead = Arrays.copyOf(pendingInHead, capacity);
+        pendingOutCount = Arrays.copyOf(pendingOutCount, capacity);
+        pendingInCount = Arrays.copyOf(pendingInCount, capacity);
+        selfLoops = Arrays.copyOf(selfLoops, capacity);
+        adjacencies = Arrays.copyOf(adjacencies, capacity);
+    }
+
+    private Adjacency getAdjacency(Vertex<V, E> vertex) {
+        if (!contains(vertex))
+            throw new IllegalStateException("Access unknown vertex");
+        int index = ((AbstractVertex<V, E>) vertex).getIndex();
+        Adjacency adjacency = adjacencies[index];
+        if (adjacency == null) {
+            adjacency = new Adjacency(index);
+            adjacencies[index] = adjacency;
+        }
+        return adjacency;
+    }
+
+    private int outDegree(int vertex) {
+        int compacted = vertex < compactedVertexCount ? outOffsets[vertex + 1] - outOffsets[vertex] : 0;
+        return compacted + pendingOutCount[vertex];
+    }
+
+    private int inDegree(int vertex) {
+        int compacted = vertex < compactedVertexCount ? inOffsets[vertex + 1] - inOffsets[vertex] : 0;
+        return compacted + pendingInCount[vertex];
+    }
+
+    private static void checkMetaTags(Optional<ColumnarMetaTagStore> store, MetaTagCollectionImpl element) {
+        if (store.isPresent() && !store.get().accepts(element.getOwnMetaTags()))
+            throw new IllegalStateException("The meta tags do not match the types of the columns of the meta tag store");
+    }
+
+    private boolean contains(Vertex<V, E> vertex) {
+        return vertex instanceof AbstractVertex && ((AbstractVertex<V, E>) vertex).getGraphState() == this;
+    }
+
+    private boolean contains(Edge<V, E> edge) {
+        return edge instanceof AbstractEdge && ((AbstractEdge<V, E>) edge).getGraphState() == this;
+    }
+
+    /**
+     * Returns the id of the first pending edge from the source to the target vertex
+     *
+     * @param source the index of the source vertex
+     * @param target the index of the target vertex
+     * @return the edge id or {@link #NONE} if there is no such pending edge
+     */
+    private int findPendingEdge(int source, int target) {
+        if (pendingEdgeTableSize == 0)
+            return NONE;
+        int mask = pendingEdgeTable.length - 1;
+        for (int slot = hash(source, target) & mask; ; slot = (slot + 1) & mask) {
+            int edge = pendingEdgeTable[slot];
+            if (edge == NONE || (edgeSources[edge] == source && edgeTargets[edge] == target))
+                return edge;
+        }
+    }
+
+    /**
+     * Adds the pending edge to the {@link #pendingEdgeTable}, unless there is already a pending edge between the same
+     * vertices. The table is kept at most half full.
+     *
+     * @param edge the id of the pending edge
+     */
+    private void addPendingEdge(int edge) {
+        if (findPendingEdge(edgeSources[edge], edgeTargets[edge]) != NONE)
+            return;
+        if ((pendingEdgeTableSize + 1) * 2 > pendingEdgeTable.length) {
+            int[] oldTable = pendingEdgeTable;
+            pendingEdgeTable = new int[Math.max(DEFAULT_CAPACITY, oldTable.length * 2)];
+            Arrays.fill(pendingEdgeTable, NONE);
+            for (int oldEdge : oldTable) {
+                if (oldEdge != NONE)
+                    insertPendingEdge(oldEdge);
+            }
+        }
+        insertPendingEdge(edge);
+        pendingEdgeTableSize++;
+    }
+
+    private void insertPendingEdge(int edge) {
+        int mask = pendingEdgeTable.length - 1;
+        int slot = hash(edgeSources[edge], edgeTargets[edge]) & mask;
+        while (pendingEdgeTable[slot] != NONE) {
+            slot = (slot + 1) & mask;
+        }
+        pendingEdgeTable[slot] = edge;
+    }
+
+    private static int hash(int source, int target) {
+        long h = (((long) source << 32) | (target & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int grow(int capacity) {
+        return Math.max(DEFAULT_CAPACITY, capacity + (capacity >> 1));
+    }
+
+    /**
+     * Live, unmodifiable view on the vertices of this graph state
+     */
+    private class VertexList extends AbstractList<Vertex<V, E>> implements RandomAccess {
+        @Override
+        public Vertex<V, E> get(int index) {
+            return getVertex(index);
+        }
+
+        @Override
+        public Spliterator<Vertex<V, E>> spliterator() {
+            return Spliterators.spliterator(vertices, 0, vertexCount, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+        }
+
+        @Override
+        public int size() {
+            return vertexCount;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Vertex && CompactGraphStateImpl.this.contains(CastUtils.<Vertex<V, E>>cast(o));
+        }
+    }
+
+    /**
+     * Unmodifiable view on all the edges of the graph state in the order of their indices.
+     */
+    private class EdgeSet extends AbstractSet<Edge<V, E>> {
+        @Override
+        public Iterator<Edge<V, E>> iterator() {
+            return new Iterator<>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < edgeCount;
+                }
+
+                @Override
+                public Edge<V, E> next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    return edges[next++];
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<Edge<V, E>> spliterator() {
+            return Spliterators.spliterator(edges, 0, edgeCount, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+        }
+
+        @Override
+        public int size() {
+            return edgeCount;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Edge && CompactGraphStateImpl.this.contains(CastUtils.<Edge<V, E>>cast(o));
+        }
+    }
+
+    /**
+     * The cached views on the edges of a single vertex.
+     */
+    private final class Adjacency {
+        private final AdjacentEdgeSet all;
+        private final AdjacentEdgeSet outgoing;
+        private final AdjacentEdgeSet incoming;
+
+        Adjacency(int vertex) {
+            all = new AdjacentEdgeSet(vertex, true, true);
+            outgoing = new AdjacentEdgeSet(vertex, true, false);
+            incoming = new AdjacentEdgeSet(vertex, false, true);
+        }
+    }
+
+    /**
+     * Live, unmodifiable view on the outgoing and/or incoming edges of a given vertex, that reads the CSR arrays and
+     * the pending edges. Self loops are only returned once.
+     */
+    private class AdjacentEdgeSet extends AbstractSet<Edge<V, E>> {
+        private final int vertex;
+        private final boolean outgoing;
+        private final boolean incoming;
+
+        AdjacentEdgeSet(int vertex, boolean outgoing, boolean incoming) {
+            this.vertex = vertex;
+            this.outgoing = outgoing;
+            this.incoming = incoming;
+        }
+
+        @Override
+        public Iterator<Edge<V, E>> iterator() {
+            return new AdjacentEdgeIterator(vertex, outgoing, incoming);
+        }
+
+        @Override
+        public int size() {
+            if (!incoming)
+                return outDegree(vertex);
+            if (!outgoing)
+                return inDegree(vertex);
+            return outDegree(vertex) + inDegree(vertex) - selfLoops[vertex];
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Edge) || !CompactGraphStateImpl.this.contains(CastUtils.<Edge<V, E>>cast(o)))
+                return false;
+            int edge = ((AbstractEdge<?, ?>) o).getIndex();
+            return (outgoing && edgeSources[edge] == vertex) || (incoming && edgeTargets[edge] == vertex);
+        }
+    }
+
+    /**
+     * Iterates the outgoing edges of a vertex followed by the incoming edges. If both directions are iterated, self
+     * loops are only returned as outgoing edge. Both parts first iterate the CSR arrays and afterwards the pending
+     * edges. Edges that are added during the iteration might not be returned, but as soon as a compaction happens
+     * (which can also be triggered by adding an edge) the iterator fails with a {@link ConcurrentModificationException}.
+     */
+    private class AdjacentEdgeIterator implements Iterator<Edge<V, E>> {
+        private final int vertex;
+        private final boolean incoming;
+        private final boolean skipSelfLoops;
+        private boolean outgoing;
+        private int position;
+        private int end;
+        private int pending;
+        private int next;
+        private final int expectedCompactions = compactions;
+
+        AdjacentEdgeIterator(int vertex, boolean outgoing, boolean incoming) {
+            this.vertex = vertex;
+            this.incoming = incoming;
+            this.skipSelfLoops = outgoing && incoming;
+            if (outgoing) {
+                startOutgoing();
+            } else {
+                startIncoming();
+            }
+            next = advance();
+        }
+
+        private void startOutgoing() {
+            boolean compacted = vertex < compactedVertexCount;
+            outgoing = true;
+            position = compacted ? outOffsets[vertex] : 0;
+            end = compacted ? outOffsets[vertex + 1] : 0;
+            pending = pendingOutHead[vertex];
+        }
+
+        private void startIncoming() {
+            boolean compacted = vertex < compactedVertexCount;
+            outgoing = false;
+            position = compacted ? inOffsets[vertex] : 0;
+            end = compacted ? inOffsets[vertex + 1] : 0;
+            pending = pendingInHead[vertex];
+        }
+
+        private int advance() {
+            while (true) {
+                int edge;
+                if (position < end) {
+                    edge = outgoing ? outEdgeIds[position++] : inEdgeIds[position++];
+                } else if (pending != NONE) {
+                    edge = pending;
+                    pending = outgoing
+                            ? pendingOutNext[edge - compactedEdgeCount]
+                            : pendingInNext[edge - compactedEdgeCount];
+                } else if (outgoing && incoming) {
+                    startIncoming();
+                    continue;
+                } else {
+                    return NONE;
+                }
+                // self loops are already part of the outgoing edges, if both directions are iterated
+                if (outgoing || !skipSelfLoops || edgeSources[edge] != vertex)
+                    return edge;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != NONE;
+        }
+
+        @Override
+        public Edge<V, E> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            if (compactions != expectedCompactions)
+                throw new ConcurrentModificationException();
+            int current = next;
+            next = advance();
+            return edges[current];
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Graph state, that allows adding vertices and edges from multiple threads concurrently.</p>
+ * <p>The vertices, edges and the adjacency of every vertex are stored in {@link ConcurrentHashMap}s. Reading
+ * operations, that run concurrently to modifications, are weakly consistent, i.e. they might or might not reflect
+ * vertices and edges that are added in the meantime. The listeners are stored in a {@link CopyOnWriteArrayList} and
+ * the modification stamp as well as the number of self loops of a vertex in atomic counters.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public class ConcurrentGraphStateImpl<V, E> extends GraphStateImpl<V, E> {
+    @Override
+    protected <K, T> Map<K, T> createMap() {
+        return new ConcurrentHashMap<>();
+    }
+
+    @Override
+    protected <T> Set<T> createSet() {
+        return ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    protected <T> List<T> createList() {
+        return new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    protected Counter createCounter() {
+        return new AtomicCounter();
+    }
+
+    /**
+     * Thread safe counter
+     */
+    private static final class AtomicCounter extends AtomicLong implements Counter {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void add(long delta) {
+            addAndGet(delta);
+        }
+    }
+}
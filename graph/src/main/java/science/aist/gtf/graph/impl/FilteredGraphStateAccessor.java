@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.Vertex;
+import science.aist.jack.general.util.CastUtils;
+
+import java.util.*;
+
+/**
+ * <p>Readonly view on a subset of the vertices of another graph state, which contains all the edges of the other
+ * graph state, whose source and target are part of the subset.</p>
+ * <p>Nothing is copied: the vertices and edges are the ones of the underlying graph state and the edges are filtered
+ * lazily, every time they are accessed. Creating the view is therefore independent of the size of the underlying graph
+ * state, but counting or iterating the edges costs the degree of the selected vertices. Note, that the vertices and
+ * edges still belong to the underlying graph state, so navigating via {@link Vertex#getEdges()} or
+ * {@link Edge#getTarget()} is not filtered. The underlying graph state must not remove any selected vertex.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public final class FilteredGraphStateAccessor<V, E> implements GraphStateAccessor<V, E> {
+    private final GraphStateAccessor<V, E> parent;
+    private final Set<Vertex<V, E>> vertices;
+    private final Set<Vertex<V, E>> vertexView;
+    private final Set<Edge<V, E>> allEdgesView = new AllEdges();
+
+    /**
+     * Creates a new view
+     *
+     * @param parent   the underlying graph state
+     * @param vertices the selected vertices of the underlying graph state, which is not copied, so it must not be
+     *                 modified afterwards
+     */
+    public FilteredGraphStateAccessor(GraphStateAccessor<V, E> parent, Set<Vertex<V, E>> vertices) {
+        this.parent = Objects.requireNonNull(parent);
+        this.vertices = Objects.requireNonNull(vertices);
+        this.vertexView = Collections.unmodifiableSet(vertices);
+    }
+
+    @Override
+    public Collection<Vertex<V, E>> getVertices() {
+        return vertexView;
+    }
+
+    @Override
+    public Set<Edge<V, E>> getEdges(Vertex<V, E> vertex) {
+        return new FilteredEdges(parent.getEdges(requireVertex(vertex)));
+    }
+
+    @Override
+    public Set<Edge<V, E>> getAllEdges() {
+        return allEdgesView;
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertices.size();
+    }
+
+    @Override
+    public Collection<Edge<V, E>> getOutgoingEdges(Vertex<V, E> vertex) {
+        return new FilteredEdges(parent.getOutgoingEdges(requireVertex(vertex)));
+    }
+
+    @Override
+    public Collection<Edge<V, E>> getIncomingEdges(Vertex<V, E> vertex) {
+        return new FilteredEdges(parent.getIncomingEdges(requireVertex(vertex)));
+    }
+
+    @Override
+    public Optional<Edge<V, E>> findEdge(Vertex<V, E> source, Vertex<V, E> target) {
+        if (!vertices.contains(target))
+            return Optional.empty();
+        return parent.findEdge(requireVertex(source), target);
+    }
+
+    @Override
+    public Vertex<V, E> getSource(Edge<V, E> edge) {
+        requireEdge(edge);
+        return parent.getSource(edge);
+    }
+
+    @Override
+    public Vertex<V, E> getTarget(Edge<V, E> edge) {
+        requireEdge(edge);
+        return parent.getTarget(edge);
+    }
+
+    @Override
+    public long getModificationStamp() {
+        return parent.getModificationStamp();
+    }
+
+    private Vertex<V, E> requireVertex(Vertex<V, E> vertex) {
+        if (!vertices.contains(vertex))
+            throw new IllegalStateException("Access unknown vertex");
+        return vertex;
+    }
+
+    private void requireEdge(Edge<V, E> edge) {
+        if (!parent.getAllEdges().contains(edge) || !isSelected(edge))
+            throw new IllegalStateException("Access unknown edge");
+    }
+
+    /**
+     * @param edge an edge of the underlying graph state
+     * @return true if the source and the target of the edge are selected
+     */
+    private boolean isSelected(Edge<V, E> edge) {
+        return vertices.contains(parent.getSource(edge)) && vertices.contains(parent.getTarget(edge));
+    }
+
+    /**
+     * Iterator over the selected edges of the given iterator
+     */
+    private final class FilteringIterator implements Iterator<Edge<V, E>> {
+        private final Iterator<Edge<V, E>> edges;
+        private Edge<V, E> next;
+
+        private FilteringIterator(Iterator<Edge<V, E>> edges) {
+            this.edges = edges;
+            this.next = advance();
+        }
+
+        private Edge<V, E> advance() {
+            while (edges.hasNext()) {
+                Edge<V, E> edge = edges.next();
+                if (isSelected(edge))
+                    return edge;
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Edge<V, E> next() {
+            if (next == null)
+                throw new NoSuchElementException();
+            Edge<V, E> current = next;
+            next = advance();
+            return current;
+        }
+    }
+
+    /**
+     * The selected edges of a collection of edges of the underlying graph state
+     */
+    private final class FilteredEdges extends AbstractSet<Edge<V, E>> {
+        private final Collection<Edge<V, E>> edges;
+
+        private FilteredEdges(Collection<Edge<V, E>> edges) {
+            this.edges = edges;
+        }
+
+        @Override
+        public Iterator<Edge<V, E>> iterator() {
+            return new FilteringIterator(edges.iterator());
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (Edge<V, E> edge : edges) {
+                if (isSelected(edge))
+                    size++;
+            }
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return edges.contains(o) && isSelected(CastUtils.cast(o));
+        }
+    }
+
+    /**
+     * All the selected edges, which are the selected outgoing edges of all selected vertices
+     */
+    private final class AllEdges extends AbstractSet<Edge<V, E>> {
+        @Override
+        public Iterator<Edge<V, E>> iterator() {
+            Iterator<Vertex<V, E>> vertexIterator = vertices.iterator();
+            return new FilteringIterator(new Iterator<>() {
+                private Iterator<Edge<V, E>> current = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasNext() && vertexIterator.hasNext()) {
+                        current = parent.getOutgoingEdges(vertexIterator.next()).iterator();
+                    }
+                    return current.hasNext();
+                }
+
+                @Override
+                public Edge<V, E> next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    return current.next();
+                }
+            });
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (Vertex<V, E> vertex : vertices) {
+                for (Edge<V, E> edge : parent.getOutgoingEdges(vertex)) {
+                    if (vertices.contains(parent.getTarget(edge)))
+                        size++;
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return parent.getAllEdges().contains(o) && isSelected(CastUtils.cast(o));
+        }
+    }
+}
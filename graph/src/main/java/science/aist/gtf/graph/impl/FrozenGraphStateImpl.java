@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.IndexedGraphStateAccessor;
+import science.aist.gtf.graph.MetaTag;
+import science.aist.gtf.graph.MetaTagCollection;
+import science.aist.gtf.graph.MetaTagStore;
+import science.aist.gtf.graph.Vertex;
+import science.aist.jack.general.util.CastUtils;
+
+import java.util.*;
+
+/**
+ * <p>Immutable, array based snapshot of a graph state.</p>
+ * <p>The snapshot is created once from an existing graph state (e.g. after a graph was built) and afterwards only
+ * allows reading access. All arrays are allocated with their final size. The edges of every vertex are stored in a
+ * single contiguous range [outgoing edges without self loops, self loops, incoming edges without self loops], so that
+ * the outgoing, the incoming and all the edges of a vertex are simple sub ranges of the same array. The views on these
+ * ranges as well as the adjacent vertices are created once per vertex on first access and then reused.</p>
+ * <p>The snapshot takes over the ownership of the vertices and edges, which means that they afterwards delegate to
+ * this graph state and no longer to the graph state the snapshot was created from. If the graph state stores the meta
+ * tags of its vertices or edges in a {@link MetaTagStore}, the meta tags are copied into the vertices and edges, as the
+ * store is bound to the indices of the original graph state. As all fields are final and the
+ * lazily created views are immutable, a snapshot can be shared between threads without further synchronization.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public final class FrozenGraphStateImpl<V, E> implements IndexedGraphStateAccessor<V, E> {
+    private final AbstractVertex<V, E>[] vertices;
+    private final AbstractEdge<V, E>[] edges;
+    private final int[] edgeSources;
+    private final int[] edgeTargets;
+
+    /**
+     * The indices of the edges of vertex v are stored in adjacentEdgeIds in the range [firstOut[v], firstOut[v + 1]). The outgoing edges
+     * start at firstOut[v] and are sorted by their target, the self loops start at firstLoop[v] and the remaining
+     * incoming edges at firstIn[v].
+     */
+    private final int[] adjacentEdgeIds;
+    private final int[] firstOut;
+    private final int[] firstLoop;
+    private final int[] firstIn;
+
+    /**
+     * Lazily created adjacency views per vertex. Racing threads might create the same adjacency twice, but as an
+     * adjacency is immutable and only consists of final fields, every thread sees a completely initialized instance.
+     */
+    private final Adjacency[] adjacencies;
+
+    private final Collection<Vertex<V, E>> vertexView = new VertexList();
+    private final Set<Edge<V, E>> edgeView = new EdgeSet();
+
+    /**
+     * Creates an immutable snapshot of the given graph state and takes over the ownership of its vertices and edges.
+     *
+     * @param graphState the graph state that should be frozen
+     * @throws IllegalStateException if the graph state contains vertices or edges that are not derived from {@link
+     *                               AbstractVertex} respectively {@link AbstractEdge}
+     */
+    public FrozenGraphStateImpl(GraphStateAccessor<V, E> graphState) {
+        Collection<Vertex<V, E>> sourceVertices = graphState.getVertices();
+        Set<Edge<V, E>> sourceEdges = graphState.getAllEdges();
+        int vertexCount = sourceVertices.size();
+        int edgeCount = sourceEdges.size();
+
+        vertices = CastUtils.cast(new AbstractVertex[vertexCount]);
+        Map<Vertex<V, E>, Integer> vertexIndices = new HashMap<>((int) (vertexCount / 0.75f) + 1);
+        int vertexIndex = 0;
+        for (Vertex<V, E> vertex : sourceVertices) {
+            if (!(vertex instanceof AbstractVertex))
+                throw new IllegalStateException("Graph state implementation only supports subclasses of AbstractVertex");
+            vertices[vertexIndex] = (AbstractVertex<V, E>) vertex;
+            vertexIndices.put(vertex, vertexIndex++);
+        }
+
+        edges = CastUtils.cast(new AbstractEdge[edgeCount]);
+        edgeSources = new int[edgeCount];
+        edgeTargets = new int[edgeCount];
+        int[] outCount = new int[vertexCount];
+        int[] loopCount = new int[vertexCount];
+        int[] inCount = new int[vertexCount];
+        int edgeIndex = 0;
+        for (Edge<V, E> edge : sourceEdges) {
+            if (!(edge instanceof AbstractEdge))
+                throw new IllegalStateException("Graph state implementation only supports subclasses of AbstractEdge");
+            int source = vertexIndices.get(graphState.getSource(edge));
+            int target = vertexIndices.get(graphState.getTarget(edge));
+            edges[edgeIndex] = (AbstractEdge<V, E>) edge;
+            edgeSources[edgeIndex] = source;
+            edgeTargets[edgeIndex] = target;
+            edgeIndex++;
+            if (source == target) {
+                loopCount[source]++;
+            } else {
+                outCount[source]++;
+                inCount[target]++;
+            }
+        }
+
+        firstOut = new int[vertexCount + 1];
+        firstLoop = new int[vertexCount];
+        firstIn = new int[vertexCount];
+        int position = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            firstOut[v] = position;
+            firstLoop[v] = position + outCount[v];
+            firstIn[v] = firstLoop[v] + loopCount[v];
+            position = firstIn[v] + inCount[v];
+        }
+        firstOut[vertexCount] = position;
+
+        // reuse the count arrays as insert positions
+        adjacentEdgeIds = new int[position];
+        System.arraycopy(firstOut, 0, outCount, 0, vertexCount);
+        System.arraycopy(firstLoop, 0, loopCount, 0, vertexCount);
+        System.arraycopy(firstIn, 0, inCount, 0, vertexCount);
+        for (int e = 0; e < edgeCount; e++) {
+            int source = edgeSources[e];
+            int target = edgeTargets[e];
+            if (source == target) {
+                adjacentEdgeIds[loopCount[source]++] = e;
+            } else {
+                adjacentEdgeIds[inCount[target]++] = e;
+            }
+        }
+        // filling the outgoing edges in the order of their targets sorts them by the target index, which allows to
+        // binary search an edge between two vertices
+        for (int target = 0; target < vertexCount; target++) {
+            for (int i = firstIn[target]; i < firstOut[target + 1]; i++) {
+                int e = adjacentEdgeIds[i];
+                adjacentEdgeIds[outCount[edgeSources[e]]++] = e;
+            }
+        }
+
+        adjacencies = CastUtils.cast(new FrozenGraphStateImpl.Adjacency[vertexCount]);
+
+        // the meta tags of a store need to be read before the elements are rebound, as they delegate to the store of
+        // their current graph state
+        boolean vertexMetaTagStore = false;
+        boolean edgeMetaTagStore = false;
+        if (graphState instanceof IndexedGraphStateAccessor) {
+            vertexMetaTagStore = ((IndexedGraphStateAccessor<V, E>) graphState).getVertexMetaTagStore().isPresent();
+            edgeMetaTagStore = ((IndexedGraphStateAccessor<V, E>) graphState).getEdgeMetaTagStore().isPresent();
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            List<MetaTag<Object>> metaTags = vertexMetaTagStore ? copyMetaTags(vertices[v]) : List.of();
+            vertices[v].setIndex(v);
+            vertices[v].setGraphState(this);
+            metaTags.forEach(vertices[v]::addMetaTag);
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            List<MetaTag<Object>> metaTags = edgeMetaTagStore ? copyMetaTags(edges[e]) : List.of();
+            edges[e].setIndex(e);
+            edges[e].setGraphState(this);
+            metaTags.forEach(edges[e]::addMetaTag);
+        }
+    }
+
+    private static List<MetaTag<Object>> copyMetaTags(MetaTagCollection element) {
+        List<MetaTag<Object>> metaTags = new ArrayList<>();
+        for (MetaTag<Object> metaTag : element.getMetaTags()) {
+            metaTags.add(new MetaTagImpl<>(metaTag.getKey(), metaTag.getValue()));
+        }
+        return metaTags;
+    }
+
+    @Override
+    public Collection<Vertex<V, E>> getVertices() {
+        return vertexView;
+    }
+
+    @Override
+    public Set<Edge<V, E>> getEdges(Vertex<V, E> vertex) {
+        return getAdjacency(vertex).all;
+    }
+
+    @Override
+    public Set<Edge<V, E>> getAllEdges() {
+        return edgeView;
+    }
+
+    @Override
+    public long getModificationStamp() {
+        // the graph state can not be modified
+        return 0;
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edges.length;
+    }
+
+    @Override
+    public Collection<Edge<V, E>> getOutgoingEdges(Vertex<V, E> vertex) {
+        return getAdjacency(vertex).outgoing;
+    }
+
+    @Override
+    public Collection<Edge<V, E>> getIncomingEdges(Vertex<V, E> vertex) {
+        return getAdjacency(vertex).incoming;
+    }
+
+    @Override
+    public Collection<Vertex<V, E>> getAdjacentVertices(Vertex<V, E> vertex) {
+        return getAdjacency(vertex).adjacentVertices;
+    }
+
+    @Override
+    public Optional<Edge<V, E>> findEdge(Vertex<V, E> source, Vertex<V, E> target) {
+        int sourceIndex = indexOf(source);
+        if (!contains(target))
+            return Optional.empty();
+        int targetIndex = ((AbstractVertex<V, E>) target).getIndex();
+        if (sourceIndex == targetIndex) {
+            return firstLoop[sourceIndex] < firstIn[sourceIndex]
+                    ? Optional.of(edges[adjacentEdgeIds[firstLoop[sourceIndex]]])
+                    : Optional.empty();
+        }
+        int low = firstOut[sourceIndex];
+        int high = firstLoop[sourceIndex] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midTarget = edgeTargets[adjacentEdgeIds[mid]];
+            if (midTarget < targetIndex) {
+                low = mid + 1;
+            } else if (midTarget > targetIndex) {
+                high = mid - 1;
+            } else {
+                return Optional.of(edges[adjacentEdgeIds[mid]]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Vertex<V, E> getSource(Edge<V, E> edge) {
+        return vertices[edgeSources[indexOf(edge)]];
+    }
+
+    @Override
+    public Vertex<V, E> getTarget(Edge<V, E> edge) {
+        return vertices[edgeTargets[indexOf(edge)]];
+    }
+
+    @Override
+    public int indexOf(Vertex<V, E> vertex) {
+        if (!contains(vertex))
+            throw new IllegalStateException("Access unknown vertex");
+        return ((AbstractVertex<V, E>) vertex).getIndex();
+    }
+
+    @Override
+    public int indexOf(Edge<V, E> edge) {
+        if (!contains(edge))
+            throw new IllegalStateException("Access unknown edge");
+        return ((AbstractEdge<V, E>) edge).getIndex();
+    }
+
+    @Override
+    public Vertex<V, E> getVertex(int index) {
+        return vertices[Objects.checkIndex(index, vertices.length)];
+    }
+
+    @Override
+    public Edge<V, E> getEdge(int index) {
+        return edges[Objects.checkIndex(index, edges.length)];
+    }
+
+    private Adjacency getAdjacency(Vertex<V, E> vertex) {
+        int index = indexOf(vertex);
+        Adjacency adjacency = adjacencies[index];
+        if (adjacency == null) {
+            adjacency = new Adjacency(index);
+            adjacencies[index] = adjacency;
+        }
+        return adjacency;
+    }
+
+    private boolean contains(Vertex<V, E> vertex) {
+        return vertex instanceof AbstractVertex && ((AbstractVertex<V, E>) vertex).getGraphState() == this;
+    }
+
+    private boolean contains(Edge<V, E> edge) {
+        return edge instanceof AbstractEdge && ((AbstractEdge<V, E>) edge).getGraphState() == this;
+    }
+
+    /**
+     * Unmodifiable view on all the vertices of the graph state in the order of their indices.
+     */
+    private class VertexList extends AbstractList<Vertex<V, E>> implements RandomAccess {
+        @Override
+        public Vertex<V, E> get(int index) {
+            return getVertex(index);
+        }
+
+        @Override
+        public Spliterator<Vertex<V, E>> spliterator() {
+            return Spliterators.spliterator(vertices, 0, vertices.length, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        }
+
+        @Override
+        public int size() {
+            return vertices.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Vertex && FrozenGraphStateImpl.this.contains(CastUtils.<Vertex<V, E>>cast(o));
+        }
+    }
+
+    /**
+     * Unmodifiable view on all the edges of the graph state in the order of their indices.
+     */
+    private class EdgeSet extends AbstractSet<Edge<V, E>> {
+        @Override
+        public Iterator<Edge<V, E>> iterator() {
+            return Arrays.<Edge<V, E>>asList(edges).iterator();
+        }
+
+        @Override
+        public Spliterator<Edge<V, E>> spliterator() {
+            return Spliterators.spliterator(edges, 0, edges.length, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        }
+
+        @Override
+        public int size() {
+            return edges.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Edge && FrozenGraphStateImpl.this.contains(CastUtils.<Edge<V, E>>cast(o));
+        }
+    }
+
+    /**
+     * The cached views on the edges and the adjacent vertices of a single vertex.
+     */
+    private final class Adjacency {
+        private final EdgeRange all;
+        private final EdgeRange outgoing;
+        private final EdgeRange incoming;
+        private final List<Vertex<V, E>> adjacentVertices;
+
+        Adjacency(int vertex) {
+            all = new EdgeRange(vertex, firstOut[vertex], firstOut[vertex + 1], true, true);
+            outgoing = new EdgeRange(vertex, firstOut[vertex], firstIn[vertex], true, false);
+            incoming = new EdgeRange(vertex, firstLoop[vertex], firstOut[vertex + 1], false, true);
+
+            // the sources of the incoming edges followed by the targets of the outgoing edges
+            Set<Vertex<V, E>> adjacent = new LinkedHashSet<>();
+            for (int i = incoming.from; i < incoming.to; i++) {
+                adjacent.add(vertices[edgeSources[adjacentEdgeIds[i]]]);
+            }
+            for (int i = outgoing.from; i < outgoing.to; i++) {
+                adjacent.add(vertices[edgeTargets[adjacentEdgeIds[i]]]);
+            }
+            adjacentVertices = List.copyOf(adjacent);
+        }
+    }
+
+    /**
+     * Unmodifiable view on a range of {@link #adjacentEdgeIds}, that contains the outgoing and/or incoming edges of a
+     * vertex.
+     */
+    private final class EdgeRange extends AbstractSet<Edge<V, E>> {
+        private final int vertex;
+        private final int from;
+        private final int to;
+        private final boolean outgoing;
+        private final boolean incoming;
+
+        EdgeRange(int vertex, int from, int to, boolean outgoing, boolean incoming) {
+            this.vertex = vertex;
+            this.from = from;
+            this.to = to;
+            this.outgoing = outgoing;
+            this.incoming = incoming;
+        }
+
+        @Override
+        public Iterator<Edge<V, E>> iterator() {
+            return new Iterator<>() {
+                private int position = from;
+
+                @Override
+                public boolean hasNext() {
+                    return position < to;
+                }
+
+                @Override
+                public Edge<V, E> next() {
+                    if (position >= to)
+                        throw new NoSuchElementException();
+                    return edges[adjacentEdgeIds[position++]];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Edge) || !FrozenGraphStateImpl.this.contains(CastUtils.<Edge<V, E>>cast(o)))
+                return false;
+            int edge = ((AbstractEdge<?, ?>) o).getIndex();
+            return (outgoing && edgeSources[edge] == vertex) || (incoming && edgeTargets[edge] == vertex);
+        }
+    }
+}
@@ -9,15 +9,21 @@
 
 package science.aist.gtf.graph.impl;
 
+import science.aist.gtf.graph.Edge;
 import science.aist.gtf.graph.Graph;
 import science.aist.gtf.graph.GraphState;
+import science.aist.gtf.graph.GraphStateAccessor;
 import science.aist.gtf.graph.Vertex;
 import science.aist.gtf.graph.VertexView;
+import science.aist.gtf.graph.builder.impl.GraphBuilderImpl;
 import science.aist.gtf.graph.factory.GraphFactory;
 import science.aist.gtf.graph.factory.GraphFactoryFactory;
+import science.aist.jack.data.Pair;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
@@ -77,6 +83,97 @@ public final class GraphCollector {
         });
     }
 
+    /**
+     * <p>Creates a collector, that allows to collect a stream of vertices and convert it into a graph, like
+     * {@link #toGraph(BiPredicate)}. Instead of testing the predicate for every pair of vertices, the vertices are
+     * grouped into blocks by the given blocking key, and the predicate is only tested for pairs of vertices within the
+     * same block. The blocks are evaluated in parallel, so the predicate must be thread-safe.</p>
+     * <p>The resulting graph is the same as the one of {@link #toGraph(BiPredicate)}, as long as the predicate is
+     * false for all vertices with different blocking keys.</p>
+     * <br>
+     * Usage example:
+     * <pre>{@code
+     *   Graph<Person, Void> sameCity = persons.stream()
+     *     .collect(GraphCollector.toGraph(p -> p.getElement().getCity(), (p1, p2) -> p1 != p2));
+     * }</pre>
+     *
+     * @param blockingKey function, that returns the block of a vertex
+     * @param predicate   test if an edge from first element to the second element should be created
+     * @param <V>         the type of the decorated vertex value
+     * @param <E>         the type of the decorated edge value
+     * @return a collector, that can be used in streams.
+     */
+    public static <V, E> Collector<Vertex<V, E>, ?, Graph<V, E>> toGraph(Function<Vertex<V, E>, ?> blockingKey,
+                                                                         BiPredicate<Vertex<V, E>, Vertex<V, E>> predicate) {
+        Objects.requireNonNull(blockingKey);
+        return toGraphWithBlockingKeys(v -> Collections.singletonList(blockingKey.apply(v)), predicate);
+    }
+
+    /**
+     * <p>Creates a collector like {@link #toGraph(Function, BiPredicate)}, where every vertex can be part of multiple
+     * blocks (e.g. the neighbouring cells of a grid, to find vertices within a given distance). Every pair of vertices
+     * is tested only once, in the first block of the source vertex, which also contains the target vertex.</p>
+     * <p>The resulting graph is the same as the one of {@link #toGraph(BiPredicate)}, as long as the predicate is
+     * false for all vertices, that do not share at least one blocking key.</p>
+     *
+     * @param blockingKeys function, that returns all the blocks of a vertex
+     * @param predicate    test if an edge from first element to the second element should be created
+     * @param <V>          the type of the decorated vertex value
+     * @param <E>          the type of the decorated edge value
+     * @return a collector, that can be used in streams.
+     */
+    public static <V, E> Collector<Vertex<V, E>, ?, Graph<V, E>> toGraphWithBlockingKeys(Function<Vertex<V, E>, ? extends Collection<?>> blockingKeys,
+                                                                                         BiPredicate<Vertex<V, E>, Vertex<V, E>> predicate) {
+        Objects.requireNonNull(blockingKeys);
+        Objects.requireNonNull(predicate);
+        return Collectors.collectingAndThen(Collectors.toSet(), (Set<Vertex<V, E>> set) -> {
+            GraphState<V, E> graphState = new GraphStateImpl<>();
+            set.forEach(graphState::addVertex);
+
+            Map<Vertex<V, E>, Set<Object>> keysOfVertex = new HashMap<>();
+            Map<Object, List<Vertex<V, E>>> blocks = new HashMap<>();
+            for (Vertex<V, E> vertex : set) {
+                Set<Object> keys = new LinkedHashSet<>(blockingKeys.apply(vertex));
+                keysOfVertex.put(vertex, keys);
+                for (Object key : keys) {
+                    blocks.computeIfAbsent(key, k -> new ArrayList<>()).add(vertex);
+                }
+            }
+
+            // the predicates are tested in parallel, but the edges are added sequentially
+            List<Pair<Vertex<V, E>, Vertex<V, E>>> edges = blocks.entrySet().parallelStream()
+                    .flatMap(block -> matchBlock(block.getKey(), block.getValue(), keysOfVertex, predicate).stream())
+                    .collect(Collectors.toList());
+            edges.forEach(edge -> graphState.addEdge(new EdgeImpl<>(null), edge.getFirst(), edge.getSecond()));
+
+            return GraphImpl.create(graphState);
+        });
+    }
+
+    private static <V, E> List<Pair<Vertex<V, E>, Vertex<V, E>>> matchBlock(Object key, List<Vertex<V, E>> block,
+                                                                          Map<Vertex<V, E>, Set<Object>> keysOfVertex,
+                                                                          BiPredicate<Vertex<V, E>, Vertex<V, E>> predicate) {
+        List<Pair<Vertex<V, E>, Vertex<V, E>>> result = new ArrayList<>();
+        for (Vertex<V, E> from : block) {
+            Set<Object> fromKeys = keysOfVertex.get(from);
+            for (Vertex<V, E> to : block) {
+                if (isFirstCommonKey(key, fromKeys, keysOfVertex.get(to)) && predicate.test(from, to))
+                    result.add(Pair.of(from, to));
+            }
+        }
+        return result;
+    }
+
+    private static boolean isFirstCommonKey(Object key, Set<Object> fromKeys, Set<Object> toKeys) {
+        if (fromKeys.size() == 1)
+            return true;
+        for (Object fromKey : fromKeys) {
+            if (toKeys.contains(fromKey))
+                return Objects.equals(fromKey, key);
+        }
+        return false;
+    }
+
     /**
      * <p>Creates a subgraph for a given set of vertices, where the edge between the vertices in the stream are
      * used.</p>
@@ -115,17 +212,40 @@ public final class GraphCollector {
      *                      .collect(GraphCollector.toSubGraph());
      * }</pre>
      *
+     * <p>The vertices of the resulting graph can be looked up by the keys of the default key mapper (see {@link
+     * GraphBuilderImpl#getDefaultKeyMapper()}). The key index is only best-effort: vertices without a decorated
+     * element and keys, that are shared by different vertices, are not indexed.</p>
+     *
      * @param <V> the type of the decorated vertex value
      * @param <E> the type of the decorated edge value
      * @return A collector which allows collecting for a vertex stream
      */
     public static <V, E> Collector<Vertex<V, E>, ?, Graph<V, E>> toSubGraph() {
+        return toSubGraph(GraphBuilderImpl.getDefaultKeyMapper());
+    }
+
+    /**
+     * <p>Creates a subgraph for a given set of vertices, where the edge between the vertices in the stream are used
+     * (see {@link #toSubGraph()}). The vertices of the resulting graph can be looked up by the keys of the given key
+     * mapper, where vertices without a decorated element, null keys and keys, that are shared by different vertices,
+     * are not indexed.</p>
+     *
+     * @param keyMapper function that maps the decorated value of a vertex to its key
+     * @param <V>       the type of the decorated vertex value
+     * @param <E>       the type of the decorated edge value
+     * @return A collector which allows collecting for a vertex stream
+     */
+    public static <V, E> Collector<Vertex<V, E>, ?, Graph<V, E>> toSubGraph(Function<V, Object> keyMapper) {
+        Objects.requireNonNull(keyMapper);
         final GraphFactory defaultFactory = GraphFactoryFactory.getDefaultFactory();
         return Collectors.collectingAndThen(Collectors.toSet(), (Set<Vertex<V, E>> set) -> {
             GraphState<V, E> subGraphState = new GraphStateImpl<>();
             Map<Vertex<V, E>, VertexView<V, E>> cache = new HashMap<>();
+            Map<Object, Vertex<V, E>> keys = new HashMap<>();
+            Set<Object> ambiguousKeys = new HashSet<>();
             for (Vertex<V, E> veVertex : set) {
                 VertexView<V, E> veVertexView = defaultFactory.createVertexView(veVertex);
+                addKey(keys, ambiguousKeys, keyMapper, veVertexView);
                 cache.put(veVertex, veVertexView);
                 subGraphState.addVertex(veVertexView);
             }
@@ -138,7 +258,190 @@ public final class GraphCollector {
                     .filter(e -> set.contains(e.getTarget()))
                     .forEach(e -> subGraphState.addEdge(defaultFactory.createEdgeView(e), cache.get(e.getSource()), cache.get(e.getTarget())));
 
-            return new GraphImpl<>(subGraphState.readonly());
+            return GraphImpl.create(subGraphState.readonly(), keys);
+        });
+    }
+
+    /**
+     * <p>Creates a concurrent collector, which creates the same graph as {@link #toGraph(BiPredicate)}. The vertices
+     * of a parallel stream are collected directly into a shared concurrent set, and the vertices and edges are added
+     * in parallel to a {@link ConcurrentGraphStateImpl}. Therefore, the given predicate must be thread-safe.</p>
+     *
+     * @param predicate test if an edge from first element to the second element should be created
+     * @param <V>       the type of the decorated vertex value
+     * @param <E>       the type of the decorated edge value
+     * @return a concurrent and unordered collector, that can be used in parallel streams.
+     */
+    public static <V, E> Collector<Vertex<V, E>, ?, Graph<V, E>> toConcurrentGraph(BiPredicate<Vertex<V, E>, Vertex<V, E>> predicate) {
+        Objects.requireNonNull(predicate);
+        return toConcurrentSet((Set<Vertex<V, E>> set) -> {
+            GraphState<V, E> graphState = new ConcurrentGraphStateImpl<>();
+            set.parallelStream().forEach(graphState::addVertex);
+
+            set.parallelStream().forEach(from -> {
+                for (Vertex<V, E> to : set) {
+                    if (predicate.test(from, to))
+                        graphState.addEdge(new EdgeImpl<>(null), from, to);
+                }
+            });
+
+            return GraphImpl.create(graphState);
+        });
+    }
+
+    /**
+     * <p>Creates a concurrent collector, which creates the same subgraph as {@link #toSubGraph()}. The vertices of a
+     * parallel stream are collected directly into a shared concurrent set, and the vertex and edge views are added in
+     * parallel to a {@link ConcurrentGraphStateImpl}.</p>
+     *
+     * @param <V> the type of the decorated vertex value
+     * @param <E> the type of the decorated edge value
+     * @return a concurrent and unordered collector, that can be used in parallel streams.
+     */
+    public static <V, E> Collector<Vertex<V, E>, ?, Graph<V, E>> toConcurrentSubGraph() {
+        return toConcurrentSubGraph(GraphBuilderImpl.getDefaultKeyMapper());
+    }
+
+    /**
+     * <p>Creates a concurrent collector, which creates the same subgraph as {@link #toSubGraph(Function)} (see
+     * {@link #toConcurrentSubGraph()}). The given key mapper must be thread-safe.</p>
+     *
+     * @param keyMapper function that maps the decorated value of a vertex to its key
+     * @param <V>       the type of the decorated vertex value
+     * @param <E>       the type of the decorated edge value
+     * @return a concurrent and unordered collector, that can be used in parallel streams.
+     */
+    public static <V, E> Collector<Vertex<V, E>, ?, Graph<V, E>> toConcurrentSubGraph(Function<V, Object> keyMapper) {
+        Objects.requireNonNull(keyMapper);
+        final GraphFactory defaultFactory = GraphFactoryFactory.getDefaultFactory();
+        return toConcurrentSet((Set<Vertex<V, E>> set) -> {
+            GraphState<V, E> subGraphState = new ConcurrentGraphStateImpl<>();
+            Map<Vertex<V, E>, VertexView<V, E>> cache = new ConcurrentHashMap<>();
+            Map<Object, Vertex<V, E>> keys = new ConcurrentHashMap<>();
+            Set<Object> ambiguousKeys = ConcurrentHashMap.newKeySet();
+            set.parallelStream().forEach(veVertex -> {
+                VertexView<V, E> veVertexView = defaultFactory.createVertexView(veVertex);
+                addKey(keys, ambiguousKeys, keyMapper, veVertexView);
+                cache.put(veVertex, veVertexView);
+                subGraphState.addVertex(veVertexView);
+            });
+
+            // every edge is added by its source vertex, so no edge is added twice
+            set.parallelStream().forEach(source -> {
+                for (Edge<V, E> e : source.getOutgoingEdges()) {
+                    VertexView<V, E> target = cache.get(e.getTarget());
+                    if (target != null)
+                        subGraphState.addEdge(defaultFactory.createEdgeView(e), cache.get(source), target);
+                }
+            });
+
+            // the index is copied into a hash map, as a concurrent map does not support looking up a null key
+            return GraphImpl.create(subGraphState.readonly(), new HashMap<>(keys));
+        });
+    }
+
+    /**
+     * Adds the vertex to the key index on a best-effort basis. Vertices without a decorated element or with a null key
+     * are not indexed, and a key that is shared by different vertices is removed from the index, as it does not
+     * identify a single vertex. This is also correct, if it is called concurrently for a concurrent map and set.
+     *
+     * @param keys          the key index
+     * @param ambiguousKeys the keys, that are shared by different vertices
+     * @param keyMapper     function that maps the decorated value of a vertex to its key
+     * @param vertex        the vertex to be indexed
+     */
+    private static <V, E> void addKey(Map<Object, Vertex<V, E>> keys, Set<Object> ambiguousKeys,
+                                      Function<V, Object> keyMapper, Vertex<V, E> vertex) {
+        V element = vertex.getElement();
+        if (element == null)
+            return;
+        Object key = keyMapper.apply(element);
+        if (key == null)
+            return;
+        if (keys.putIfAbsent(key, vertex) == null) {
+            // another vertex with the same key might have been added in the meantime
+            if (ambiguousKeys.contains(key))
+                keys.remove(key);
+        } else {
+            ambiguousKeys.add(key);
+            keys.remove(key);
+        }
+    }
+
+    private static <V, E> Collector<Vertex<V, E>, ?, Graph<V, E>> toConcurrentSet(Function<Set<Vertex<V, E>>, Graph<V, E>> finisher) {
+        return Collector.of(
+                ConcurrentHashMap::newKeySet,
+                Set::add,
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                },
+                finisher,
+                Collector.Characteristics.CONCURRENT,
+                Collector.Characteristics.UNORDERED
+        );
+    }
+
+    /**
+     * <p>Creates a subgraph for a given set of vertices, which contains the same vertices and edges as
+     * {@link #toSubGraph()}. Instead of copying them into a new graph state, the resulting graph is a
+     * {@link FilteredGraphStateAccessor view} on the graph state of the given vertices, so creating it only depends on
+     * the number of selected vertices. The vertices and edges of the resulting graph are the original ones, and not
+     * views on them.</p>
+     * <p><b>Important:</b> the resulting graph is not a drop-in replacement for {@link #toSubGraph()}. Only the
+     * accessors of the graph and its graph state (e.g. {@link Graph#getEdges()}, {@link
+     * GraphStateAccessor#getOutgoingEdges(Vertex)} or {@link Graph#traverseVertices(VertexVisitor)}) respect the
+     * selection. The vertices and edges still belong to the original graph state, so the accessors of the vertices and
+     * edges themselves (e.g. {@link Vertex#getEdges()}, {@link Vertex#getOutgoingEdges()} or {@link Edge#getTarget()})
+     * are not filtered and return edges to vertices outside of the subgraph. Code that navigates the graph via its
+     * vertices must use {@link #toSubGraph()} instead.</p>
+     * <p>The vertices of the resulting graph can be looked up by the keys of the default key mapper (see {@link
+     * GraphBuilderImpl#getDefaultKeyMapper()}).</p>
+     *
+     * @param <V> the type of the decorated vertex value
+     * @param <E> the type of the decorated edge value
+     * @return A collector which allows collecting for a vertex stream
+     * @throws IllegalStateException if different vertices have the same key, or the vertices belong to different graph
+     *                               states
+     */
+    public static <V, E> Collector<Vertex<V, E>, ?, Graph<V, E>> toSubGraphView() {
+        return toSubGraphView(GraphBuilderImpl.getDefaultKeyMapper());
+    }
+
+    /**
+     * <p>Creates a subgraph view for a given set of vertices (see {@link #toSubGraphView()}). The vertices of the
+     * resulting graph can be looked up by the keys of the given key mapper.</p>
+     * <p><b>Important:</b> as for {@link #toSubGraphView()}, the accessors of the vertices and edges themselves (e.g.
+     * {@link Vertex#getEdges()}) are not filtered, so the resulting graph is not a drop-in replacement for {@link
+     * #toSubGraph(Function)}.</p>
+     *
+     * @param keyMapper function that maps the decorated value of a vertex to its key
+     * @param <V>       the type of the decorated vertex value
+     * @param <E>       the type of the decorated edge value
+     * @return A collector which allows collecting for a vertex stream
+     * @throws IllegalStateException if different vertices have the same key, or the vertices belong to different graph
+     *                               states
+     */
+    public static <V, E> Collector<Vertex<V, E>, ?, Graph<V, E>> toSubGraphView(Function<V, Object> keyMapper) {
+        Objects.requireNonNull(keyMapper);
+        return Collectors.collectingAndThen(Collectors.toSet(), (Set<Vertex<V, E>> set) -> {
+            GraphStateAccessor<V, E> parent = null;
+            Map<Object, Vertex<V, E>> keys = new HashMap<>();
+            for (Vertex<V, E> vertex : set) {
+                if (!(vertex instanceof AbstractVertex))
+                    throw new IllegalStateException("Sub graph views only support subclasses of AbstractVertex");
+                GraphStateAccessor<V, E> graphState = ((AbstractVertex<V, E>) vertex).getGraphState();
+                if (parent == null)
+                    parent = graphState;
+                else if (parent != graphState)
+                    throw new IllegalStateException("All vertices of a sub graph view must belong to the same graph state");
+                if (keys.putIfAbsent(keyMapper.apply(vertex.getElement()), vertex) != null)
+                    throw new IllegalStateException("Different elements in the subgraph have the same key.");
+            }
+            GraphStateAccessor<V, E> subGraphState = parent == null
+                    ? new GraphStateImpl<V, E>().readonly()
+                    : new FilteredGraphStateAccessor<>(parent, set);
+            return GraphImpl.create(subGraphState, keys);
         });
     }
 }
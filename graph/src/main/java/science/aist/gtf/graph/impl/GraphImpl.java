@@ -10,7 +10,6 @@
 package science.aist.gtf.graph.impl;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import science.aist.gtf.graph.Edge;
 import science.aist.gtf.graph.Graph;
@@ -19,8 +18,7 @@ import science.aist.gtf.graph.Vertex;
 import science.aist.gtf.graph.impl.iterator.DepthFirstSearchGraphIterator;
 import science.aist.gtf.graph.traversal.TraversalStrategy;
 
-import java.util.Collection;
-import java.util.Iterator;
+import java.util.*;
 
 /**
  * <p>Implementation of a graph</p>
@@ -31,18 +29,43 @@ import java.util.Iterator;
  * @author Andreas Pointner
  * @since 1.0
  */
-@RequiredArgsConstructor
 public class GraphImpl<V, E> extends MetaTagCollectionImpl implements Graph<V, E> {
 
     @Getter
     private final GraphStateAccessor<V, E> graphState;
 
+    /**
+     * Index from the keys of the vertices to the vertices itself
+     */
+    private final Map<Object, Vertex<V, E>> vertexKeys;
+
     /**
      * TraversalStrategy
      */
     @Setter
     private TraversalStrategy<Vertex<V, E>, Edge<V, E>> vertexTraversalStrategy;
 
+    /**
+     * Creates a new graph without a key index
+     *
+     * @param graphState the internal data state representation of the graph
+     */
+    public GraphImpl(GraphStateAccessor<V, E> graphState) {
+        this(graphState, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a new graph, which allows to look up its vertices by their keys. The given map is not copied, so it must
+     * not be modified afterwards.
+     *
+     * @param graphState the internal data state representation of the graph
+     * @param vertexKeys the index from the keys of the vertices to the vertices
+     */
+    public GraphImpl(GraphStateAccessor<V, E> graphState, Map<Object, Vertex<V, E>> vertexKeys) {
+        this.graphState = graphState;
+        this.vertexKeys = Objects.requireNonNull(vertexKeys);
+    }
+
     /**
      * Creates a new Graph
      *
@@ -55,11 +78,34 @@ public class GraphImpl<V, E> extends MetaTagCollectionImpl implements Graph<V, E
         return new GraphImpl<>(graphState);
     }
 
+    /**
+     * Creates a new Graph, which allows to look up its vertices by their keys
+     *
+     * @param <V>        the type of the decorated vertex value
+     * @param <E>        the type of the decorated edge value
+     * @param graphState the internal data state representation of the graph
+     * @param vertexKeys the index from the keys of the vertices to the vertices, which must not be modified afterwards
+     * @return a new graph
+     */
+    public static <V, E> Graph<V, E> create(GraphStateAccessor<V, E> graphState, Map<Object, Vertex<V, E>> vertexKeys) {
+        return new GraphImpl<>(graphState, vertexKeys);
+    }
+
     @Override
     public Collection<Vertex<V, E>> getVertices() {
         return graphState.getVertices();
     }
 
+    @Override
+    public Optional<Vertex<V, E>> getVertexByKey(Object key) {
+        return Optional.ofNullable(vertexKeys.get(key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return vertexKeys.containsKey(key);
+    }
+
     /**
      * traverses through the graph
      *
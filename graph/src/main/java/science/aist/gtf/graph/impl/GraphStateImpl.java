@@ -11,6 +11,8 @@ package science.aist.gtf.graph.impl;
 
 import science.aist.gtf.graph.Edge;
 import science.aist.gtf.graph.GraphState;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.GraphStateListener;
 import science.aist.gtf.graph.Vertex;
 import science.aist.jack.data.Pair;
 
@@ -18,6 +20,9 @@ import java.util.*;
 
 /**
  * <p>Represents a current state of a graph</p>
+ * <p>The edges of a vertex, as well as its outgoing and incoming edges, are returned as live, unmodifiable views and
+ * not as snapshots. Adding or removing edges of a vertex while iterating over these views results in a {@link
+ * ConcurrentModificationException}, so the edges must be copied first in this case.</p>
  *
  * @param <V> the type of the decorated vertex value
  * @param <E> the type of the decorated edge value
@@ -25,20 +30,119 @@ import java.util.*;
  * @since 1.0
  */
 public class GraphStateImpl<V, E> implements GraphState<V, E> {
-    private final Map<Vertex<V, E>, Set<Edge<V, E>>> edges = new HashMap<>();
-    private final Map<Edge<V, E>, Pair<Vertex<V, E>, Vertex<V, E>>> edgePairMap = new HashMap<>();
+    /**
+     * The number of outgoing edges of a vertex, above which its outgoing edges are indexed by their target vertex.
+     */
+    private static final int OUTGOING_INDEX_THRESHOLD = 8;
 
+    private final Map<Vertex<V, E>, Adjacency<V, E>> edges = createMap();
+    private final Map<Edge<V, E>, Pair<Vertex<V, E>, Vertex<V, E>>> edgePairMap = createMap();
+    private final Set<Vertex<V, E>> vertexView = Collections.unmodifiableSet(edges.keySet());
+    private final Set<Edge<V, E>> allEdgesView = Collections.unmodifiableSet(edgePairMap.keySet());
+    private final GraphStateAccessor<V, E> readonlyView = ReadonlyGraphStateAccessor.of(this);
+    private final Counter modificationStamp = createCounter();
+    private final List<GraphStateListener<V, E>> listeners = createList();
+
+    /**
+     * Creates a new map, that is used to store the vertices respectively the edges. This allows subclasses to replace
+     * the used map implementation. Note: this method is called during the construction of the graph state.
+     *
+     * @param <K> the type of the keys
+     * @param <T> the type of the values
+     * @return a new, empty map
+     */
+    protected <K, T> Map<K, T> createMap() {
+        return new HashMap<>();
+    }
+
+    /**
+     * Creates a new set, that is used to store the incoming respectively outgoing edges of a vertex. This allows
+     * subclasses to replace the used set implementation.
+     *
+     * @param <T> the type of the elements
+     * @return a new, empty set
+     */
+    protected <T> Set<T> createSet() {
+        return new HashSet<>();
+    }
+
+    /**
+     * Creates a new list, that is used to store the listeners. This allows subclasses to replace the used list
+     * implementation. Note: this method is called during the construction of the graph state.
+     *
+     * @param <T> the type of the elements
+     * @return a new, empty list
+     */
+    protected <T> List<T> createList() {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Creates a new counter, that is used for the modification stamp and for the number of self loops of a vertex. This
+     * allows subclasses to replace the used counter implementation. Note: this method is called during the
+     * construction of the graph state.
+     *
+     * @return a new counter starting at zero
+     */
+    protected Counter createCounter() {
+        return new PlainCounter();
+    }
 
     @Override
     public Collection<Vertex<V, E>> getVertices() {
-        return Collections.unmodifiableSet(edges.keySet());
+        return vertexView;
     }
 
     @Override
     public Set<Edge<V, E>> getEdges(Vertex<V, E> vertex) {
-        if (!edges.containsKey(vertex))
-            throw new IllegalStateException("Access unknown vertex");
-        return Collections.unmodifiableSet(edges.get(vertex));
+        return getAdjacency(vertex);
+    }
+
+    @Override
+    public Set<Edge<V, E>> getAllEdges() {
+        return allEdgesView;
+    }
+
+    @Override
+    public int vertexCount() {
+        return edges.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgePairMap.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The returned collection is a live view, see the class documentation.</p>
+     */
+    @Override
+    public Collection<Edge<V, E>> getOutgoingEdges(Vertex<V, E> vertex) {
+        return getAdjacency(vertex).outgoingView;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The returned collection is a live view, see the class documentation.</p>
+     */
+    @Override
+    public Collection<Edge<V, E>> getIncomingEdges(Vertex<V, E> vertex) {
+        return getAdjacency(vertex).incomingView;
+    }
+
+    @Override
+    public Optional<Edge<V, E>> findEdge(Vertex<V, E> source, Vertex<V, E> target) {
+        Adjacency<V, E> adjacency = getAdjacency(source);
+        Map<Vertex<V, E>, Edge<V, E>> index = adjacency.outgoingByTarget;
+        if (index != null)
+            return Optional.ofNullable(index.get(target));
+        for (Edge<V, E> edge : adjacency.outgoing) {
+            Pair<Vertex<V, E>, Vertex<V, E>> endpoints = edgePairMap.get(edge);
+            if (endpoints != null && endpoints.getSecond().equals(target))
+                return Optional.of(edge);
+        }
+        return Optional.empty();
     }
 
     @Override
@@ -59,26 +163,257 @@ public class GraphStateImpl<V, E> implements GraphState<V, E> {
     public void addVertex(Vertex<V, E> vertex) {
         if (!(vertex instanceof AbstractVertex))
             throw new IllegalStateException("Graph state implementation only supports subclasses of AbstractVertex");
-        if (edges.containsKey(vertex)) {
+        // set the graph state first, so that the vertex is usable, as soon as it is visible to other threads
+        ((AbstractVertex<V, E>) vertex).setGraphState(this);
+        if (edges.putIfAbsent(vertex, new Adjacency<>(createSet(), createSet(), createCounter())) != null) {
             throw new IllegalStateException("Vertex already contained in graph state");
         }
-        edges.put(vertex, new HashSet<>());
-        ((AbstractVertex<V, E>) vertex).setGraphState(this);
+        modificationStamp.add(1);
+        for (GraphStateListener<V, E> listener : listeners) {
+            listener.onVertexAdded(vertex);
+        }
     }
 
     @Override
     public void addEdge(Edge<V, E> edge, Vertex<V, E> source, Vertex<V, E> target) {
         if (!(edge instanceof AbstractEdge))
             throw new IllegalStateException("Graph state implementation only supports subclasses of AbstractVertex");
-        if (edgePairMap.containsKey(edge)) {
-            throw new IllegalStateException("Edge is already contained in graph state");
-        }
-        if (!edges.containsKey(source) || !edges.containsKey(target)) {
+        Adjacency<V, E> sourceAdjacency = edges.get(source);
+        Adjacency<V, E> targetAdjacency = edges.get(target);
+        if (sourceAdjacency == null || targetAdjacency == null) {
             throw new IllegalStateException("Source of Target vertex is not yet contained in graph state");
         }
-        edges.get(source).add(edge);
-        edges.get(target).add(edge);
-        edgePairMap.put(edge, Pair.of(source, target));
+        // set the graph state first, so that the edge is usable, as soon as it is visible to other threads
         ((AbstractEdge<V, E>) edge).setGraphState(this);
+        if (edgePairMap.putIfAbsent(edge, Pair.of(source, target)) != null) {
+            throw new IllegalStateException("Edge is already contained in graph state");
+        }
+        sourceAdjacency.outgoing.add(edge);
+        indexOutgoingEdge(sourceAdjacency, target, edge);
+        targetAdjacency.incoming.add(edge);
+        if (sourceAdjacency == targetAdjacency)
+            sourceAdjacency.selfLoops.add(1);
+        modificationStamp.add(1);
+        for (GraphStateListener<V, E> listener : listeners) {
+            listener.onEdgeAdded(edge, source, target);
+        }
+    }
+
+    @Override
+    public void removeEdge(Edge<V, E> edge) {
+        Pair<Vertex<V, E>, Vertex<V, E>> endpoints = edgePairMap.remove(edge);
+        if (endpoints == null)
+            throw new IllegalStateException("Access unknown edge");
+        Vertex<V, E> source = endpoints.getFirst();
+        Vertex<V, E> target = endpoints.getSecond();
+        Adjacency<V, E> sourceAdjacency = getAdjacency(source);
+        Adjacency<V, E> targetAdjacency = getAdjacency(target);
+        sourceAdjacency.outgoing.remove(edge);
+        targetAdjacency.incoming.remove(edge);
+        if (sourceAdjacency == targetAdjacency)
+            sourceAdjacency.selfLoops.add(-1);
+        Map<Vertex<V, E>, Edge<V, E>> index = sourceAdjacency.outgoingByTarget;
+        if (index != null && index.remove(target, edge)) {
+            // another edge between the same vertices becomes the indexed one
+            for (Edge<V, E> outgoing : sourceAdjacency.outgoing) {
+                Pair<Vertex<V, E>, Vertex<V, E>> outgoingEndpoints = edgePairMap.get(outgoing);
+                if (outgoingEndpoints != null && outgoingEndpoints.getSecond() == target) {
+                    index.putIfAbsent(target, outgoing);
+                    break;
+                }
+            }
+        }
+        ((AbstractEdge<V, E>) edge).setGraphState(null);
+        modificationStamp.add(1);
+        for (GraphStateListener<V, E> listener : listeners) {
+            listener.onEdgeRemoved(edge, source, target);
+        }
+    }
+
+    @Override
+    public void removeVertex(Vertex<V, E> vertex) {
+        Adjacency<V, E> adjacency = getAdjacency(vertex);
+        for (Edge<V, E> edge : new ArrayList<>(adjacency)) {
+            removeEdge(edge);
+        }
+        edges.remove(vertex);
+        ((AbstractVertex<V, E>) vertex).setGraphState(null);
+        modificationStamp.add(1);
+        for (GraphStateListener<V, E> listener : listeners) {
+            listener.onVertexRemoved(vertex);
+        }
+    }
+
+    @Override
+    public void addListener(GraphStateListener<V, E> listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    @Override
+    public void removeListener(GraphStateListener<V, E> listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public long getModificationStamp() {
+        return modificationStamp.get();
+    }
+
+    @Override
+    public GraphStateAccessor<V, E> readonly() {
+        return readonlyView;
+    }
+
+    /**
+     * Adds the outgoing edge to the index of the outgoing edges by their target vertex. The index is only created once
+     * the vertex has more than {@link #OUTGOING_INDEX_THRESHOLD} outgoing edges, as searching a few edges is cheaper
+     * than maintaining another map per vertex.
+     *
+     * @param adjacency the adjacency of the source vertex, which already contains the edge
+     * @param target    the target vertex of the edge
+     * @param edge      the outgoing edge
+     */
+    private void indexOutgoingEdge(Adjacency<V, E> adjacency, Vertex<V, E> target, Edge<V, E> edge) {
+        Map<Vertex<V, E>, Edge<V, E>> index = adjacency.outgoingByTarget;
+        if (index == null) {
+            if (adjacency.outgoing.size() <= OUTGOING_INDEX_THRESHOLD)
+                return;
+            synchronized (adjacency) {
+                index = adjacency.outgoingByTarget;
+                if (index == null) {
+                    index = createMap();
+                    for (Edge<V, E> outgoing : adjacency.outgoing) {
+                        Pair<Vertex<V, E>, Vertex<V, E>> endpoints = edgePairMap.get(outgoing);
+                        if (endpoints != null)
+                            index.putIfAbsent(endpoints.getSecond(), outgoing);
+                    }
+                    adjacency.outgoingByTarget = index;
+                }
+            }
+        }
+        index.putIfAbsent(target, edge);
+    }
+
+    private Adjacency<V, E> getAdjacency(Vertex<V, E> vertex) {
+        Adjacency<V, E> adjacency = edges.get(vertex);
+        if (adjacency == null)
+            throw new IllegalStateException("Access unknown vertex");
+        return adjacency;
+    }
+
+    /**
+     * The outgoing and incoming edges of a single vertex. The adjacency itself is an unmodifiable set of all the edges
+     * of the vertex. All views are created once, so that accessing the edges of a vertex does not allocate anything.
+     * Once there are more than {@link #OUTGOING_INDEX_THRESHOLD} outgoing edges, they are additionally indexed by their
+     * target vertex, where only one edge is indexed, if there are multiple edges between the same vertices.
+     *
+     * @param <V> the type of the decorated vertex value
+     * @param <E> the type of the decorated edge value
+     */
+    private static final class Adjacency<V, E> extends AbstractSet<Edge<V, E>> {
+        private final Set<Edge<V, E>> outgoing;
+        private final Set<Edge<V, E>> incoming;
+        private final Set<Edge<V, E>> outgoingView;
+        private final Set<Edge<V, E>> incomingView;
+        /**
+         * The outgoing edges by their target vertex, or null as long as there are only a few outgoing edges
+         */
+        private volatile Map<Vertex<V, E>, Edge<V, E>> outgoingByTarget;
+        /**
+         * The number of self loops, which are part of both the outgoing and the incoming edges
+         */
+        private final Counter selfLoops;
+
+        Adjacency(Set<Edge<V, E>> outgoing, Set<Edge<V, E>> incoming, Counter selfLoops) {
+            this.outgoing = outgoing;
+            this.incoming = incoming;
+            this.selfLoops = selfLoops;
+            this.outgoingView = Collections.unmodifiableSet(outgoing);
+            this.incomingView = Collections.unmodifiableSet(incoming);
+        }
+
+        @Override
+        public Iterator<Edge<V, E>> iterator() {
+            return new Iterator<>() {
+                private final Iterator<Edge<V, E>> outgoingIterator = outgoing.iterator();
+                private final Iterator<Edge<V, E>> incomingIterator = incoming.iterator();
+                private Edge<V, E> next = advance();
+
+                private Edge<V, E> advance() {
+                    if (outgoingIterator.hasNext())
+                        return outgoingIterator.next();
+                    while (incomingIterator.hasNext()) {
+                        Edge<V, E> edge = incomingIterator.next();
+                        // self loops are already part of the outgoing edges
+                        if (!outgoing.contains(edge))
+                            return edge;
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Edge<V, E> next() {
+                    if (next == null)
+                        throw new NoSuchElementException();
+                    Edge<V, E> current = next;
+                    next = advance();
+                    return current;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return outgoing.size() + incoming.size() - (int) selfLoops.get();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return outgoing.isEmpty() && incoming.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return outgoing.contains(o) || incoming.contains(o);
+        }
+    }
+
+    /**
+     * A counter, whose implementation is provided by {@link #createCounter()}
+     */
+    protected interface Counter {
+        /**
+         * @return the current value of the counter
+         */
+        long get();
+
+        /**
+         * Adds the given delta to the counter
+         *
+         * @param delta the value to be added, which might be negative
+         */
+        void add(long delta);
+    }
+
+    /**
+     * Counter, that is not thread safe
+     */
+    private static final class PlainCounter implements Counter {
+        private long value;
+
+        @Override
+        public long get() {
+            return value;
+        }
+
+        @Override
+        public void add(long delta) {
+            value += delta;
+        }
     }
 }
@@ -13,37 +13,331 @@ import science.aist.gtf.graph.MetaTag;
 import science.aist.gtf.graph.MetaTagCollection;
 import science.aist.jack.general.util.CastUtils;
 
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.*;
 
 /**
  * <p>Handles MetaTags</p>
+ * <p>The meta tags are stored in a plain array, which is scanned as long as there are only a few of them. Once there
+ * are more than {@link #INLINE_CAPACITY} meta tags, their positions in the array are additionally indexed by their key,
+ * so that looking up a value, as well as finding and removing a meta tag, does not depend on the number of meta tags.
+ * Therefore, the key of a meta tag must not be changed while it is part of the collection. A removed meta tag is
+ * replaced by the last one in the array, so the meta tags are only in the order they were added in, as long as none of
+ * them was removed.</p>
+ * <p>Subclasses can store their meta tags somewhere else (e.g. in a {@link ColumnarMetaTagStore}) by returning a
+ * delegate in {@link #getMetaTagDelegate()}.</p>
  *
  * @author Andreas Pointner
  * @since 1.0
  */
 public class MetaTagCollectionImpl implements MetaTagCollection {
+    private static final int INLINE_CAPACITY = 4;
+    private static final MetaTag<?>[] EMPTY = new MetaTag<?>[0];
+
     /**
      * meta-information about a specific vertex
      */
-    private final Collection<MetaTag<?>> metaTags = new HashSet<>();
+    private MetaTag<?>[] metaTags = EMPTY;
+    private int size;
+    private int modCount;
+
+    /**
+     * Index from the key of the meta tags to the positions of all meta tags with this key in {@link #metaTags}, which is
+     * only created once there are more than {@link #INLINE_CAPACITY} meta tags.
+     */
+    private Map<String, int[]> keyIndex;
+
+    private Set<MetaTag<?>> metaTagView;
+
+    /**
+     * Returns the collection, to which all meta tag operations are delegated, or null if the meta tags are stored in
+     * this collection itself.
+     *
+     * @return the delegate or null
+     */
+    protected MetaTagCollection getMetaTagDelegate() {
+        return null;
+    }
 
     @Override
     public <T> Collection<MetaTag<T>> getMetaTags() {
-        return CastUtils.cast(metaTags);
+        MetaTagCollection delegate = getMetaTagDelegate();
+        if (delegate != null)
+            return delegate.getMetaTags();
+        if (metaTagView == null)
+            metaTagView = new MetaTagSet();
+        return CastUtils.cast(metaTagView);
     }
 
     @Override
     public <T> boolean addMetaTag(MetaTag<T> metaTag) {
-        if (metaTag == null)
+        MetaTagCollection delegate = getMetaTagDelegate();
+        if (delegate != null)
+            return delegate.addMetaTag(metaTag);
+        if (metaTag == null || indexOf(metaTag) >= 0)
             return false;
-        return this.metaTags.add(metaTag);
+        if (size == metaTags.length)
+            metaTags = Arrays.copyOf(metaTags, Math.max(INLINE_CAPACITY, size * 2));
+        metaTags[size++] = metaTag;
+        modCount++;
+        if (keyIndex != null) {
+            addPosition(metaTag.getKey(), size - 1);
+        } else if (size > INLINE_CAPACITY) {
+            keyIndex = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                addPosition(metaTags[i].getKey(), i);
+            }
+        }
+        return true;
     }
 
     @Override
     public <T> boolean removeMetaTag(MetaTag<T> metaTag) {
+        MetaTagCollection delegate = getMetaTagDelegate();
+        if (delegate != null)
+            return delegate.removeMetaTag(metaTag);
         if (metaTag == null)
             return false;
-        return this.metaTags.remove(metaTag);
+        int index = indexOf(metaTag);
+        if (index < 0)
+            return false;
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public <T> T getMetaTagValue(String key, Class<T> clazz) {
+        MetaTagCollection delegate = getMetaTagDelegate();
+        if (delegate != null)
+            return delegate.getMetaTagValue(key, clazz);
+        T value = findMetaTagValue(key, clazz);
+        if (value == null)
+            throw new IllegalStateException("Did not find any element with given key and given class type");
+        return value;
+    }
+
+    @Override
+    public <T> Optional<T> tryGetMetaTagValue(String key, Class<T> clazz) {
+        MetaTagCollection delegate = getMetaTagDelegate();
+        if (delegate != null)
+            return delegate.tryGetMetaTagValue(key, clazz);
+        return Optional.ofNullable(findMetaTagValue(key, clazz));
+    }
+
+    @Override
+    public void removeMetaTag(String key, Class<?>... clazz) {
+        MetaTagCollection delegate = getMetaTagDelegate();
+        if (delegate != null) {
+            delegate.removeMetaTag(key, clazz);
+            return;
+        }
+        boolean filterClasses = clazz != null && clazz.length > 0;
+        if (keyIndex != null) {
+            int[] positions = keyIndex.get(key);
+            if (positions == null)
+                return;
+            // removing a meta tag only moves the last one, so the positions are processed in descending order
+            positions = positions.clone();
+            Arrays.sort(positions);
+            for (int i = positions.length - 1; i >= 0; i--) {
+                if (!filterClasses || isOneOf(metaTags[positions[i]].getValue(), clazz))
+                    removeAt(positions[i]);
+            }
+            return;
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            MetaTag<?> metaTag = metaTags[i];
+            if (Objects.equals(metaTag.getKey(), key) && (!filterClasses || isOneOf(metaTag.getValue(), clazz)))
+                removeAt(i);
+        }
+    }
+
+    /**
+     * Returns the meta tags, that are stored in this collection itself, independent of a delegate
+     *
+     * @return an unmodifiable view on the own meta tags
+     */
+    Collection<MetaTag<?>> getOwnMetaTags() {
+        return Collections.unmodifiableList(Arrays.asList(metaTags).subList(0, size));
+    }
+
+    /**
+     * Moves all meta tags, that are stored in this collection itself, to the given target collection
+     *
+     * @param target the collection, which receives the meta tags
+     */
+    void moveMetaTagsTo(MetaTagCollection target) {
+        for (int i = 0; i < size; i++) {
+            target.addMetaTag(metaTags[i]);
+        }
+        metaTags = EMPTY;
+        size = 0;
+        keyIndex = null;
+        modCount++;
+    }
+
+    private <T> T findMetaTagValue(String key, Class<T> clazz) {
+        if (keyIndex != null) {
+            int[] positions = keyIndex.get(key);
+            if (positions != null) {
+                for (int position : positions) {
+                    Object value = metaTags[position].getValue();
+                    if (clazz.isInstance(value))
+                        return clazz.cast(value);
+                }
+            }
+            return null;
+        }
+        for (int i = 0; i < size; i++) {
+            MetaTag<?> metaTag = metaTags[i];
+            if (Objects.equals(metaTag.getKey(), key)) {
+                Object value = metaTag.getValue();
+                if (clazz.isInstance(value))
+                    return clazz.cast(value);
+            }
+        }
+        return null;
+    }
+
+    private int indexOf(Object metaTag) {
+        if (keyIndex != null) {
+            int[] positions = metaTag instanceof MetaTag ? keyIndex.get(((MetaTag<?>) metaTag).getKey()) : null;
+            if (positions != null) {
+                for (int position : positions) {
+                    if (metaTags[position].equals(metaTag))
+                        return position;
+                }
+            }
+            return -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (metaTags[i].equals(metaTag))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the meta tag at the given position by replacing it with the last one
+     *
+     * @param index the position of the meta tag
+     */
+    private void removeAt(int index) {
+        int last = --size;
+        if (keyIndex != null)
+            removePosition(metaTags[index].getKey(), index);
+        if (index != last) {
+            metaTags[index] = metaTags[last];
+            if (keyIndex != null)
+                replacePosition(metaTags[index].getKey(), last, index);
+        }
+        metaTags[last] = null;
+        modCount++;
+    }
+
+    private void addPosition(String key, int position) {
+        int[] positions = keyIndex.get(key);
+        if (positions == null) {
+            keyIndex.put(key, new int[]{position});
+        } else {
+            positions = Arrays.copyOf(positions, positions.length + 1);
+            positions[positions.length - 1] = position;
+            keyIndex.put(key, positions);
+        }
+    }
+
+    private void removePosition(String key, int position) {
+        int[] positions = keyIndex.get(key);
+        if (positions.length == 1) {
+            keyIndex.remove(key);
+            return;
+        }
+        int[] remaining = new int[positions.length - 1];
+        int j = 0;
+        for (int p : positions) {
+            if (p != position)
+                remaining[j++] = p;
+        }
+        keyIndex.put(key, remaining);
+    }
+
+    private void replacePosition(String key, int oldPosition, int newPosition) {
+        int[] positions = keyIndex.get(key);
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] == oldPosition) {
+                positions[i] = newPosition;
+                return;
+            }
+        }
+    }
+
+    private static boolean isOneOf(Object value, Class<?>[] classes) {
+        if (value == null)
+            return false;
+        for (Class<?> clazz : classes) {
+            if (value.getClass() == clazz)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Modifiable view on the meta tags, where all modifications are applied to the collection itself.
+     */
+    private class MetaTagSet extends AbstractSet<MetaTag<?>> {
+        @Override
+        public Iterator<MetaTag<?>> iterator() {
+            return new Iterator<>() {
+                private int cursor;
+                private int lastReturned = -1;
+                private int expectedModCount = modCount;
+
+                @Override
+                public boolean hasNext() {
+                    return cursor < size;
+                }
+
+                @Override
+                public MetaTag<?> next() {
+                    if (modCount != expectedModCount)
+                        throw new ConcurrentModificationException();
+                    if (cursor >= size)
+                        throw new NoSuchElementException();
+                    lastReturned = cursor++;
+                    return metaTags[lastReturned];
+                }
+
+                @Override
+                public void remove() {
+                    if (lastReturned < 0)
+                        throw new IllegalStateException();
+                    if (modCount != expectedModCount)
+                        throw new ConcurrentModificationException();
+                    removeAt(lastReturned);
+                    cursor = lastReturned;
+                    lastReturned = -1;
+                    expectedModCount = modCount;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o != null && indexOf(o) >= 0;
+        }
+
+        @Override
+        public boolean add(MetaTag<?> metaTag) {
+            return addMetaTag(metaTag);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o instanceof MetaTag && removeMetaTag((MetaTag<?>) o);
+        }
     }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.IndexedGraphStateAccessor;
+
+/**
+ * <p>Read only view on a graph state.</p>
+ * <p>All the reading methods are directly delegated to the wrapped graph state, which allows the JIT to inline them.
+ * As the class is final and does not expose the wrapped graph state, it is not possible to cast it back to a graph
+ * state and modify it.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @see science.aist.gtf.graph.GraphState#readonly()
+ * @since 2.0.2
+ */
+public final class ReadonlyGraphStateAccessor<V, E> extends AbstractReadonlyGraphStateAccessor<V, E, GraphStateAccessor<V, E>> {
+    private ReadonlyGraphStateAccessor(GraphStateAccessor<V, E> delegate) {
+        super(delegate);
+    }
+
+    /**
+     * Creates a read only view on the given graph state accessor. If the given accessor is index based, the returned
+     * view is an {@link IndexedGraphStateAccessor} as well.
+     *
+     * @param graphStateAccessor the graph state accessor that should be wrapped
+     * @param <V>                the type of the decorated vertex value
+     * @param <E>                the type of the decorated edge value
+     * @return the read only view on the given graph state accessor
+     */
+    public static <V, E> GraphStateAccessor<V, E> of(GraphStateAccessor<V, E> graphStateAccessor) {
+        if (graphStateAccessor instanceof AbstractReadonlyGraphStateAccessor)
+            return graphStateAccessor;
+        if (graphStateAccessor instanceof IndexedGraphStateAccessor)
+            return new ReadonlyIndexedGraphStateAccessor<>((IndexedGraphStateAccessor<V, E>) graphStateAccessor);
+        return new ReadonlyGraphStateAccessor<>(graphStateAccessor);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.IndexedGraphStateAccessor;
+import science.aist.gtf.graph.MetaTagStore;
+import science.aist.gtf.graph.Vertex;
+
+import java.util.Optional;
+
+/**
+ * <p>Read only view on an index based graph state, that keeps the index based access of the wrapped graph state.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @see ReadonlyGraphStateAccessor#of(science.aist.gtf.graph.GraphStateAccessor)
+ * @since 2.0.2
+ */
+public final class ReadonlyIndexedGraphStateAccessor<V, E>
+        extends AbstractReadonlyGraphStateAccessor<V, E, IndexedGraphStateAccessor<V, E>>
+        implements IndexedGraphStateAccessor<V, E> {
+
+    ReadonlyIndexedGraphStateAccessor(IndexedGraphStateAccessor<V, E> delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public int indexOf(Vertex<V, E> vertex) {
+        return delegate().indexOf(vertex);
+    }
+
+    @Override
+    public int indexOf(Edge<V, E> edge) {
+        return delegate().indexOf(edge);
+    }
+
+    @Override
+    public Vertex<V, E> getVertex(int index) {
+        return delegate().getVertex(index);
+    }
+
+    @Override
+    public Edge<V, E> getEdge(int index) {
+        return delegate().getEdge(index);
+    }
+
+    @Override
+    public Optional<? extends MetaTagStore> getVertexMetaTagStore() {
+        return delegate().getVertexMetaTagStore();
+    }
+
+    @Override
+    public Optional<? extends MetaTagStore> getEdgeMetaTagStore() {
+        return delegate().getEdgeMetaTagStore();
+    }
+}
@@ -11,12 +11,19 @@ package science.aist.gtf.graph.impl.iterator;
 
 import science.aist.gtf.graph.Edge;
 import science.aist.gtf.graph.Graph;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.IndexedGraphStateAccessor;
 import science.aist.gtf.graph.Vertex;
 
 import java.util.*;
 
 /**
  * <p>Depth first search iteration strategy for graphs</p>
+ * <p>The vertices are visited in pre-order by following the outgoing edges. Every vertex is returned exactly once.
+ * Whenever the current search tree is exhausted, the next not yet visited vertex of the graph is used as a new root.
+ * The iterator keeps a stack of edge iterators instead of a stack of vertices, so every vertex and edge is only touched
+ * once, which makes a complete iteration linear in the size of the graph. If the graph state is index based, the
+ * visited vertices are tracked in a bit set instead of a hash set.</p>
  *
  * @param <V> the type of the decorated vertex value
  * @param <E> the type of the decorated edge value
@@ -24,26 +31,57 @@ import java.util.*;
  * @since 1.0
  */
 public class DepthFirstSearchGraphIterator<V, E> implements Iterator<Vertex<V, E>> {
+    private final GraphStateAccessor<V, E> graphState;
+
+    /**
+     * The vertices that are used as roots, if the current search tree is exhausted
+     */
+    private final Iterator<Vertex<V, E>> roots;
+
+    /**
+     * The already visited vertices, if the graph state is index based
+     */
+    private final IndexedGraphStateAccessor<V, E> indexedGraphState;
+    private final BitSet visitedIndices;
+
+    /**
+     * The already visited vertices, if the graph state is not index based
+     */
+    private final Set<Vertex<V, E>> visited;
+
     /**
-     * The already visited vertices
+     * The outgoing edges of the vertices on the current path, which are not processed yet
      */
-    private final Set<Vertex<V, E>> visited = new HashSet<>();
+    private final Deque<Iterator<Edge<V, E>>> stack = new ArrayDeque<>();
 
     /**
-     * The current stack in the graph depth
+     * The next vertex to be returned, or null if it was not searched yet
      */
-    private final Deque<Vertex<V, E>> stack = new ArrayDeque<>();
+    private Vertex<V, E> next;
 
     /**
      * @param graph the graph to be iterated
      */
     public DepthFirstSearchGraphIterator(Graph<V, E> graph) {
-        stack.addAll(graph.getVertices());
+        graphState = graph.getGraphState();
+        roots = graphState.getVertices().iterator();
+        if (graphState instanceof IndexedGraphStateAccessor) {
+            indexedGraphState = (IndexedGraphStateAccessor<V, E>) graphState;
+            visitedIndices = new BitSet(indexedGraphState.vertexCount());
+            visited = null;
+        } else {
+            indexedGraphState = null;
+            visitedIndices = null;
+            visited = new HashSet<>();
+        }
     }
 
     @Override
     public boolean hasNext() {
-        return !stack.isEmpty();
+        if (next == null) {
+            next = findNext();
+        }
+        return next != null;
     }
 
     @Override
@@ -51,16 +89,47 @@ public class DepthFirstSearchGraphIterator<V, E> implements Iterator<Vertex<V, E
         if (!hasNext()) {
             throw new NoSuchElementException();
         }
+        Vertex<V, E> v = next;
+        next = null;
+        stack.push(graphState.getOutgoingEdges(v).iterator());
+        return v;
+    }
 
-        Vertex<V, E> v = stack.pop();
-        visited.add(v);
-        for (Edge<V, E> e : v.getEdges()) {
-            Vertex<V, E> adj = e.getTarget();
-            stack.remove(adj);
-            if (!visited.contains(adj)) {
-                stack.push(adj);
+    private Vertex<V, E> findNext() {
+        while (!stack.isEmpty()) {
+            Iterator<Edge<V, E>> edges = stack.peek();
+            while (edges.hasNext()) {
+                Vertex<V, E> target = graphState.getTarget(edges.next());
+                if (markVisited(target)) {
+                    return target;
+                }
             }
+            stack.pop();
         }
-        return v;
+        while (roots.hasNext()) {
+            Vertex<V, E> root = roots.next();
+            if (markVisited(root)) {
+                return root;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Marks the vertex as visited
+     *
+     * @param vertex the vertex to mark
+     * @return true if the vertex was not visited before
+     */
+    private boolean markVisited(Vertex<V, E> vertex) {
+        if (visited != null) {
+            return visited.add(vertex);
+        }
+        int index = indexedGraphState.indexOf(vertex);
+        if (visitedIndices.get(index)) {
+            return false;
+        }
+        visitedIndices.set(index);
+        return true;
     }
 }
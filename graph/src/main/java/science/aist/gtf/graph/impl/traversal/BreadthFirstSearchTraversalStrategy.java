@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl.traversal;
+
+import lombok.RequiredArgsConstructor;
+import science.aist.gtf.graph.*;
+import science.aist.gtf.graph.traversal.TraversalStrategy;
+
+import java.util.*;
+
+/**
+ * <p>Breadth-First Search traversal strategy for a given graph.</p>
+ * <p>Starting with the first not yet visited vertex of the graph, all vertices that are reachable via outgoing edges
+ * are visited level by level, i.e. a vertex is visited before all vertices that are further away from the root. This
+ * is repeated until every vertex was visited exactly once. Every edge is visited once, when its source vertex is
+ * visited. The traversal only uses the adjacency of the graph state and therefore runs in linear time.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+@RequiredArgsConstructor
+public class BreadthFirstSearchTraversalStrategy<V, E> implements TraversalStrategy<Vertex<V, E>, Edge<V, E>> {
+
+    private final Graph<V, E> graph;
+    /**
+     * The visited vertices (if the graph state is not index based) and the queue, which are cleared and reused for
+     * every traversal
+     */
+    private final Set<Vertex<V, E>> visitedSet = new HashSet<>();
+    private final BitSet visitedIndices = new BitSet();
+    private final Deque<Vertex<V, E>> queue = new ArrayDeque<>();
+
+    @Override
+    public void traverse(final Visitor<Vertex<V, E>> visitor, final Visitor<Edge<V, E>> edgeVisitor) {
+        GraphStateAccessor<V, E> graphState = graph.getGraphState();
+        IndexedGraphStateAccessor<V, E> indexedGraphState = graphState instanceof IndexedGraphStateAccessor
+                ? (IndexedGraphStateAccessor<V, E>) graphState
+                : null;
+        visitedSet.clear();
+        visitedIndices.clear();
+        try {
+            for (Vertex<V, E> root : graphState.getVertices()) {
+                if (!markVisited(root, indexedGraphState))
+                    continue;
+                queue.add(root);
+                while (!queue.isEmpty()) {
+                    Vertex<V, E> vertex = queue.poll();
+                    visitor.visit(vertex);
+                    for (Edge<V, E> edge : graphState.getOutgoingEdges(vertex)) {
+                        if (edgeVisitor != null)
+                            edgeVisitor.visit(edge);
+                        Vertex<V, E> target = graphState.getTarget(edge);
+                        if (markVisited(target, indexedGraphState))
+                            queue.add(target);
+                    }
+                }
+            }
+        } finally {
+            queue.clear();
+        }
+    }
+
+    @Override
+    public void traverse(final Visitor<Vertex<V, E>> visitor) {
+        this.traverse(visitor, null);
+    }
+
+    private boolean markVisited(Vertex<V, E> vertex, IndexedGraphStateAccessor<V, E> indexedGraphState) {
+        if (indexedGraphState == null)
+            return visitedSet.add(vertex);
+        int index = indexedGraphState.indexOf(vertex);
+        if (visitedIndices.get(index))
+            return false;
+        visitedIndices.set(index);
+        return true;
+    }
+}
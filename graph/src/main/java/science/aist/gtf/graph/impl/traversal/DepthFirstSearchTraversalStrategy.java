@@ -12,13 +12,12 @@ package science.aist.gtf.graph.impl.traversal;
 import lombok.RequiredArgsConstructor;
 import science.aist.gtf.graph.Edge;
 import science.aist.gtf.graph.Graph;
+import science.aist.gtf.graph.GraphStateAccessor;
 import science.aist.gtf.graph.Vertex;
 import science.aist.gtf.graph.Visitor;
 import science.aist.gtf.graph.traversal.TraversalStrategy;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 /**
  * <p>Depth-First Search traversal strategy for a given graph PseudoCode:</p>
@@ -44,17 +43,29 @@ import java.util.Set;
 public class DepthFirstSearchTraversalStrategy<V, E> implements TraversalStrategy<Vertex<V, E>, Edge<V, E>> {
 
     private final Graph<V, E> graph;
-    private Set<Vertex<V, E>> visitedSet;
-    private Set<Edge<V, E>> visitedEdgeSet;
+    /**
+     * The visited vertices and edges, which are cleared and reused for every traversal
+     */
+    private final Set<Vertex<V, E>> visitedSet = new HashSet<>();
+    private final Set<Edge<V, E>> visitedEdgeSet = new HashSet<>();
+    /**
+     * The explicit call stack of the depth first search, which replaces the recursion, so that the traversal of long
+     * paths does not depend on the stack size of the thread.
+     */
+    private final Deque<Frame<V, E>> stack = new ArrayDeque<>();
 
     @Override
     public void traverse(final Visitor<Vertex<V, E>> visitor, final Visitor<Edge<V, E>> edgeVisitor) {
-        visitedSet = new HashSet<>();
-        visitedEdgeSet = new HashSet<>();
-        for (Vertex<V, E> vertex : graph.getVertices()) {
-            dfs(vertex, visitor, edgeVisitor);
-            if (isUnexplored(vertex))
-                visitor.visit(vertex);
+        visitedSet.clear();
+        visitedEdgeSet.clear();
+        try {
+            for (Vertex<V, E> vertex : graph.getVertices()) {
+                dfs(vertex, visitor, edgeVisitor);
+                if (isUnexplored(vertex))
+                    visitor.visit(vertex);
+            }
+        } finally {
+            stack.clear();
         }
     }
 
@@ -71,16 +82,52 @@ public class DepthFirstSearchTraversalStrategy<V, E> implements TraversalStrateg
         return visitedEdgeSet.add(edge);
     }
 
+    /**
+     * Visits all vertices, that are reachable from the given one, in post-order. Every frame on the stack represents a
+     * call of the recursive variant, where {@link Frame#pendingEdge} is the edge, whose adjacent vertex is currently
+     * explored.
+     */
     private void dfs(final Vertex<V, E> vertex, final Visitor<Vertex<V, E>> visitor, final Visitor<Edge<V, E>> edgeVisitor) {
-        Collection<Edge<V, E>> edges = vertex.getEdges();
-        for (Edge<V, E> edge : edges) {
-            Vertex<V, E> adjacent = edge.getTarget();
+        // the adjacency is taken from the graph state of the graph, which might be a view on the one of the vertices
+        GraphStateAccessor<V, E> graphState = graph.getGraphState();
+        stack.push(new Frame<>(graphState.getEdges(vertex).iterator()));
+        while (!stack.isEmpty()) {
+            Frame<V, E> frame = stack.peek();
+            if (frame.pendingEdge != null) {
+                // the adjacent vertex was completely explored
+                visitor.visit(frame.pendingAdjacent);
+                visitEdge(frame.pendingEdge, edgeVisitor);
+                frame.pendingEdge = null;
+                frame.pendingAdjacent = null;
+            }
+            if (!frame.edges.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            Edge<V, E> edge = frame.edges.next();
+            Vertex<V, E> adjacent = graphState.getTarget(edge);
             if (isUnexplored(adjacent)) {
-                dfs(adjacent, visitor, edgeVisitor);
-                visitor.visit(adjacent);
+                frame.pendingEdge = edge;
+                frame.pendingAdjacent = adjacent;
+                stack.push(new Frame<>(graphState.getEdges(adjacent).iterator()));
+            } else {
+                visitEdge(edge, edgeVisitor);
             }
-            if (edgeVisitor != null && isUnexploredEdge(edge))
-                edgeVisitor.visit(edge);
         }
     }
+
+    private void visitEdge(Edge<V, E> edge, Visitor<Edge<V, E>> edgeVisitor) {
+        if (edgeVisitor != null && isUnexploredEdge(edge))
+            edgeVisitor.visit(edge);
+    }
+
+    /**
+     * State of a single vertex on the explicit stack
+     */
+    @RequiredArgsConstructor
+    private static final class Frame<V, E> {
+        private final Iterator<Edge<V, E>> edges;
+        private Edge<V, E> pendingEdge;
+        private Vertex<V, E> pendingAdjacent;
+    }
 }
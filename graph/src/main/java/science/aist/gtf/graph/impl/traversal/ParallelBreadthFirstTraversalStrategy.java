@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl.traversal;
+
+import science.aist.gtf.graph.*;
+import science.aist.gtf.graph.traversal.TraversalStrategy;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Level-synchronous parallel Breadth-First Search traversal strategy for a given graph.</p>
+ * <p>Starting with the first not yet visited vertex of the graph, the vertices are visited level by level. Every
+ * level (the frontier) is split into chunks, which are visited in parallel on a {@link ForkJoinPool}. While visiting a
+ * vertex, its outgoing edges are visited and all targets, that were not visited yet, are claimed in a concurrent
+ * visited set and become part of the next frontier. Frontiers that are not larger than the parallelism threshold are
+ * visited on the calling thread. Every vertex and every edge is visited exactly once, but the order within a level is
+ * not defined.</p>
+ * <p><b>The given visitors are called concurrently from multiple threads and must therefore be thread-safe.</b> The
+ * graph must not be modified while it is traversed.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+public class ParallelBreadthFirstTraversalStrategy<V, E> implements TraversalStrategy<Vertex<V, E>, Edge<V, E>> {
+    /**
+     * The default number of vertices, that are visited sequentially within a single task
+     */
+    public static final int DEFAULT_PARALLELISM_THRESHOLD = 256;
+
+    private final Graph<V, E> graph;
+    private final ForkJoinPool pool;
+    private final int parallelismThreshold;
+
+    /**
+     * Creates a new strategy, which uses the common pool and the {@link #DEFAULT_PARALLELISM_THRESHOLD}
+     *
+     * @param graph the graph to be traversed
+     */
+    public ParallelBreadthFirstTraversalStrategy(Graph<V, E> graph) {
+        this(graph, ForkJoinPool.commonPool(), DEFAULT_PARALLELISM_THRESHOLD);
+    }
+
+    /**
+     * Creates a new strategy
+     *
+     * @param graph                the graph to be traversed
+     * @param pool                 the pool, which executes the visitors
+     * @param parallelismThreshold the maximum number of vertices, that are visited sequentially within a single task
+     */
+    public ParallelBreadthFirstTraversalStrategy(Graph<V, E> graph, ForkJoinPool pool, int parallelismThreshold) {
+        if (parallelismThreshold < 1)
+            throw new IllegalStateException("The parallelism threshold must be at least 1");
+        this.graph = Objects.requireNonNull(graph);
+        this.pool = Objects.requireNonNull(pool);
+        this.parallelismThreshold = parallelismThreshold;
+    }
+
+    @Override
+    public void traverse(final Visitor<Vertex<V, E>> visitor, final Visitor<Edge<V, E>> edgeVisitor) {
+        GraphStateAccessor<V, E> graphState = graph.getGraphState();
+        VisitedSet<V, E> visited = graphState instanceof IndexedGraphStateAccessor
+                ? new IndexedVisitedSet<>((IndexedGraphStateAccessor<V, E>) graphState)
+                : new HashVisitedSet<>();
+        for (Vertex<V, E> root : graphState.getVertices()) {
+            if (!visited.tryVisit(root))
+                continue;
+            List<Vertex<V, E>> frontier = List.of(root);
+            while (!frontier.isEmpty()) {
+                FrontierTask task = new FrontierTask(graphState, visited, visitor, edgeVisitor, frontier, 0, frontier.size());
+                frontier = frontier.size() <= parallelismThreshold ? task.compute() : pool.invoke(task);
+            }
+        }
+    }
+
+    @Override
+    public void traverse(final Visitor<Vertex<V, E>> visitor) {
+        this.traverse(visitor, null);
+    }
+
+    /**
+     * Visits a range of the frontier and returns the newly discovered vertices
+     */
+    private class FrontierTask extends RecursiveTask<List<Vertex<V, E>>> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient GraphStateAccessor<V, E> graphState;
+        private final transient VisitedSet<V, E> visited;
+        private final transient Visitor<Vertex<V, E>> visitor;
+        private final transient Visitor<Edge<V, E>> edgeVisitor;
+        private final transient List<Vertex<V, E>> frontier;
+        private final int from;
+        private final int to;
+
+        FrontierTask(GraphStateAccessor<V, E> graphState, VisitedSet<V, E> visited, Visitor<Vertex<V, E>> visitor,
+                     Visitor<Edge<V, E>> edgeVisitor, List<Vertex<V, E>> frontier, int from, int to) {
+            this.graphState = graphState;
+            this.visited = visited;
+            this.visitor = visitor;
+            this.edgeVisitor = edgeVisitor;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Vertex<V, E>> compute() {
+            if (to - from > parallelismThreshold) {
+                int mid = (from + to) >>> 1;
+                FrontierTask left = new FrontierTask(graphState, visited, visitor, edgeVisitor, frontier, from, mid);
+                FrontierTask right = new FrontierTask(graphState, visited, visitor, edgeVisitor, frontier, mid, to);
+                left.fork();
+                List<Vertex<V, E>> next = right.compute();
+                List<Vertex<V, E>> leftNext = left.join();
+                if (leftNext.isEmpty())
+                    return next;
+                leftNext.addAll(next);
+                return leftNext;
+            }
+            List<Vertex<V, E>> next = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                Vertex<V, E> vertex = frontier.get(i);
+                visitor.visit(vertex);
+                for (Edge<V, E> edge : graphState.getOutgoingEdges(vertex)) {
+                    if (edgeVisitor != null)
+                        edgeVisitor.visit(edge);
+                    Vertex<V, E> target = graphState.getTarget(edge);
+                    if (visited.tryVisit(target))
+                        next.add(target);
+                }
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Thread-safe set of the visited vertices
+     */
+    private interface VisitedSet<V, E> {
+        /**
+         * Marks the given vertex as visited
+         *
+         * @param vertex the vertex
+         * @return true if the vertex was not visited before, i.e. the calling thread claimed the vertex
+         */
+        boolean tryVisit(Vertex<V, E> vertex);
+    }
+
+    /**
+     * Visited set based on an atomic bitmap over the vertex indices
+     */
+    private static class IndexedVisitedSet<V, E> implements VisitedSet<V, E> {
+        private final IndexedGraphStateAccessor<V, E> graphState;
+        private final AtomicLongArray bits;
+
+        IndexedVisitedSet(IndexedGraphStateAccessor<V, E> graphState) {
+            this.graphState = graphState;
+            this.bits = new AtomicLongArray((graphState.vertexCount() + 63) >>> 6);
+        }
+
+        @Override
+        public boolean tryVisit(Vertex<V, E> vertex) {
+            int index = graphState.indexOf(vertex);
+            int word = index >>> 6;
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0)
+                    return false;
+            } while (!bits.compareAndSet(word, current, current | mask));
+            return true;
+        }
+    }
+
+    /**
+     * Visited set based on a concurrent hash set
+     */
+    private static class HashVisitedSet<V, E> implements VisitedSet<V, E> {
+        private final Set<Vertex<V, E>> visited = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public boolean tryVisit(Vertex<V, E> vertex) {
+            return visited.add(vertex);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl.traversal;
+
+import lombok.RequiredArgsConstructor;
+import science.aist.gtf.graph.*;
+import science.aist.gtf.graph.traversal.TraversalStrategy;
+
+import java.util.*;
+
+/**
+ * <p>Traversal strategy, that visits the vertices of a directed acyclic graph in topological order, i.e. the source of
+ * an edge is always visited before its target (producers before consumers).</p>
+ * <p>The order is computed using Kahn's algorithm: the number of incoming edges of every vertex is counted once, then
+ * vertices without remaining incoming edges are processed in the order of the graph, which decrements the counter of
+ * their targets. This runs in linear time. The complete order is computed before the first vertex is visited, so if
+ * the graph contains a cycle, an exception is thrown without visiting any vertex.</p>
+ * <p>The edges are visited after their source vertex was visited.</p>
+ *
+ * @param <V> the type of the decorated vertex value
+ * @param <E> the type of the decorated edge value
+ * @author Andreas Pointner
+ * @since 2.0.2
+ */
+@RequiredArgsConstructor
+public class TopologicalOrderTraversalStrategy<V, E> implements TraversalStrategy<Vertex<V, E>, Edge<V, E>> {
+
+    private final Graph<V, E> graph;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the graph contains a cycle
+     */
+    @Override
+    public void traverse(final Visitor<Vertex<V, E>> visitor, final Visitor<Edge<V, E>> edgeVisitor) {
+        GraphStateAccessor<V, E> graphState = graph.getGraphState();
+        for (Vertex<V, E> vertex : getOrder()) {
+            visitor.visit(vertex);
+            if (edgeVisitor != null) {
+                for (Edge<V, E> edge : graphState.getOutgoingEdges(vertex)) {
+                    edgeVisitor.visit(edge);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the graph contains a cycle
+     */
+    @Override
+    public void traverse(final Visitor<Vertex<V, E>> visitor) {
+        this.traverse(visitor, null);
+    }
+
+    /**
+     * Computes the topological order of the vertices
+     *
+     * @return the vertices in topological order
+     * @throws IllegalStateException if the graph contains a cycle
+     */
+    public List<Vertex<V, E>> getOrder() {
+        GraphStateAccessor<V, E> graphState = graph.getGraphState();
+        int vertexCount = graphState.vertexCount();
+        List<Vertex<V, E>> vertices = new ArrayList<>(graphState.getVertices());
+
+        // dense indices for the vertices, that are either provided by the graph state or created here
+        Map<Vertex<V, E>, Integer> localIndices = null;
+        IndexedGraphStateAccessor<V, E> indexedGraphState = null;
+        if (graphState instanceof IndexedGraphStateAccessor) {
+            indexedGraphState = (IndexedGraphStateAccessor<V, E>) graphState;
+        } else {
+            localIndices = new HashMap<>((int) (vertexCount / 0.75f) + 1);
+            for (int i = 0; i < vertices.size(); i++) {
+                localIndices.put(vertices.get(i), i);
+            }
+        }
+
+        int[] remainingIncoming = new int[vertexCount];
+        int[] queue = new int[vertexCount];
+        int tail = 0;
+        for (int i = 0; i < vertices.size(); i++) {
+            Vertex<V, E> vertex = vertices.get(i);
+            int index = indexedGraphState == null ? i : indexedGraphState.indexOf(vertex);
+            remainingIncoming[index] = graphState.getIncomingEdges(vertex).size();
+            if (remainingIncoming[index] == 0)
+                queue[tail++] = index;
+        }
+
+        List<Vertex<V, E>> order = new ArrayList<>(vertexCount);
+        for (int head = 0; head < tail; head++) {
+            Vertex<V, E> vertex = indexedGraphState == null ? vertices.get(queue[head]) : indexedGraphState.getVertex(queue[head]);
+            order.add(vertex);
+            for (Edge<V, E> edge : graphState.getOutgoingEdges(vertex)) {
+                Vertex<V, E> target = graphState.getTarget(edge);
+                int targetIndex = indexedGraphState == null ? localIndices.get(target) : indexedGraphState.indexOf(target);
+                if (--remainingIncoming[targetIndex] == 0)
+                    queue[tail++] = targetIndex;
+            }
+        }
+
+        if (order.size() != vertexCount)
+            throw new IllegalStateException("Graph contains a cycle, " + (vertexCount - order.size()) +
+                    " vertices are part of or reachable from a cycle");
+        return order;
+    }
+}
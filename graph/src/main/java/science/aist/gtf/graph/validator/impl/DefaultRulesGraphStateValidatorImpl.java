@@ -9,7 +9,9 @@
 
 package science.aist.gtf.graph.validator.impl;
 
+import science.aist.gtf.graph.GraphAnalyzer;
 import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.analyzer.CachingGraphAnalyzer;
 import science.aist.gtf.graph.analyzer.ConnectedGraphAnalyzer;
 import science.aist.gtf.graph.analyzer.NumberOfEdgesAnalyzer;
 import science.aist.gtf.graph.analyzer.NumberOfVertexAnalyzer;
@@ -17,6 +19,9 @@ import science.aist.gtf.graph.validator.GraphStateValidator;
 
 /**
  * <p>Default Aist Way on how a graph has to be, to be valid</p>
+ * <p>All the default rules only depend on the structure of the graph state. The connectivity, which is the only rule
+ * that needs to scan the whole graph state, is therefore cached using a {@link CachingGraphAnalyzer}, so validating an
+ * unchanged graph state again is essentially free.</p>
  *
  * @param <V> the type of the decorated vertex value
  * @param <E> the type of the decorated edge value
@@ -28,13 +33,22 @@ public class DefaultRulesGraphStateValidatorImpl<V, E> implements GraphStateVali
     private final RuleBasedGraphStateValidatorImpl<V, E> ruleBasedGraphStateValidator;
 
     public DefaultRulesGraphStateValidatorImpl() {
+        this(new ConnectedGraphAnalyzer<>());
+    }
+
+    /**
+     * Creates the validator with the given analyzer for the connectivity, which is cached
+     *
+     * @param connectedGraphAnalyzer the analyzer, that checks if the graph is connected
+     */
+    DefaultRulesGraphStateValidatorImpl(GraphAnalyzer<V, E, Boolean> connectedGraphAnalyzer) {
         ruleBasedGraphStateValidator = new RuleBasedGraphStateValidatorImpl<>();
         // must have at least two vertices (meaning a graph that contains a vertex pointing to itself, does not count)
         ruleBasedGraphStateValidator.addAnalyzerRule(new NumberOfVertexAnalyzer<>(), x -> x >= 2);
         // must have at least one edge
         ruleBasedGraphStateValidator.addAnalyzerRule(new NumberOfEdgesAnalyzer<>(), x -> x >= 1);
         // must be a connected graph
-        ruleBasedGraphStateValidator.addAnalyzerRule(new ConnectedGraphAnalyzer<>(), Boolean.TRUE::equals);
+        ruleBasedGraphStateValidator.addAnalyzerRule(new CachingGraphAnalyzer<>(connectedGraphAnalyzer), Boolean.TRUE::equals);
     }
 
     @Override
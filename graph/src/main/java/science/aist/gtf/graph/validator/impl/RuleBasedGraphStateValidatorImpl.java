@@ -9,16 +9,24 @@
 
 package science.aist.gtf.graph.validator.impl;
 
-import science.aist.gtf.graph.GraphAnalyzer;
-import science.aist.gtf.graph.GraphStateAccessor;
+import lombok.RequiredArgsConstructor;
+import science.aist.gtf.graph.*;
 import science.aist.gtf.graph.validator.GraphStateValidator;
+import science.aist.jack.general.util.CastUtils;
 
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.function.Predicate;
 
 /**
  * <p>Tests if a given graphState confirms to a list of graph analyzer and their rules</p>
+ * <p>The rules are evaluated in the order of the {@link AnalyzerCost} of their analyzers and the validation stops at
+ * the first rule, that is not fulfilled. All the {@link IncrementalGraphAnalyzer}s are evaluated together in a single
+ * scan over the graph state, as soon as the first of them is needed.</p>
+ * <p>Every call validates the graph state again. The result of a single analyzer, that only depends on the structure of
+ * the graph state, can be reused by decorating it with a {@link science.aist.gtf.graph.analyzer.CachingGraphAnalyzer}.
+ * </p>
  *
  * @param <V> the type of the decorated vertex value
  * @param <E> the type of the decorated edge value
@@ -27,15 +35,110 @@ import java.util.function.Predicate;
  */
 public class RuleBasedGraphStateValidatorImpl<V, E> implements GraphStateValidator<V, E> {
 
-    private final Collection<Predicate<GraphStateAccessor<V, E>>> graphRuleAnalyzers = new HashSet<>();
+    /**
+     * All rules ordered by their cost
+     */
+    private final List<Rule<V, E>> graphRuleAnalyzers = new ArrayList<>();
+    /**
+     * The incremental analyzers in the order they were added, which are scanned together
+     */
+    private final List<IncrementalGraphAnalyzer<V, E, ?>> incrementalAnalyzers = new ArrayList<>();
 
     public <R> void addAnalyzerRule(GraphAnalyzer<V, E, R> graphAnalyzer, Predicate<R> rule) {
-        graphRuleAnalyzers.add(graphState -> rule.test(graphAnalyzer.analyzeGraphState(graphState)));
+        int incrementalIndex = -1;
+        if (graphAnalyzer instanceof IncrementalGraphAnalyzer) {
+            incrementalIndex = incrementalAnalyzers.size();
+            incrementalAnalyzers.add((IncrementalGraphAnalyzer<V, E, R>) graphAnalyzer);
+        }
+        graphRuleAnalyzers.add(new Rule<>(graphAnalyzer, CastUtils.cast(rule), incrementalIndex));
+        // the sort is stable, so rules with the same cost keep the order they were added in
+        graphRuleAnalyzers.sort(Comparator.comparing(r -> r.analyzer.getCost()));
     }
 
     @Override
     public boolean isValidGraphState(GraphStateAccessor<V, E> graphState) {
-        return graphRuleAnalyzers.stream().allMatch(p -> p.test(graphState));
+        Object[] incrementalResults = null;
+        for (Rule<V, E> rule : graphRuleAnalyzers) {
+            Object result;
+            if (rule.incrementalIndex >= 0) {
+                if (incrementalResults == null)
+                    incrementalResults = scan(graphState);
+                result = incrementalResults[rule.incrementalIndex];
+            } else {
+                result = rule.analyzer.analyzeGraphState(graphState);
+            }
+            if (!rule.predicate.test(result))
+                return false;
+        }
+        return true;
     }
 
+    /**
+     * Evaluates all the incremental analyzers in a single scan over the graph state
+     *
+     * @param graphState the graph state
+     * @return the results of the incremental analyzers
+     */
+    private Object[] scan(GraphStateAccessor<V, E> graphState) {
+        int count = incrementalAnalyzers.size();
+        List<IncrementalGraphAnalyzer.Scan<V, E, ?>> scans = new ArrayList<>(count);
+        for (IncrementalGraphAnalyzer<V, E, ?> analyzer : incrementalAnalyzers) {
+            scans.add(analyzer.startScan(graphState));
+        }
+
+        // the scans, that still need further elements
+        List<IncrementalGraphAnalyzer.Scan<V, E, ?>> active = new ArrayList<>(count);
+        for (IncrementalGraphAnalyzer.Scan<V, E, ?> scan : scans) {
+            if (!scan.isComplete())
+                active.add(scan);
+        }
+        if (!active.isEmpty()) {
+            for (Vertex<V, E> vertex : graphState.getVertices()) {
+                for (IncrementalGraphAnalyzer.Scan<V, E, ?> scan : active) {
+                    scan.visitVertex(vertex);
+                }
+                if (removeCompleted(active))
+                    break;
+            }
+        }
+        if (!active.isEmpty()) {
+            for (Edge<V, E> edge : graphState.getAllEdges()) {
+                for (IncrementalGraphAnalyzer.Scan<V, E, ?> scan : active) {
+                    scan.visitEdge(edge);
+                }
+                if (removeCompleted(active))
+                    break;
+            }
+        }
+
+        Object[] results = new Object[count];
+        for (int i = 0; i < count; i++) {
+            results[i] = scans.get(i).getResult();
+        }
+        return results;
+    }
+
+    /**
+     * Removes the completed scans
+     *
+     * @param active the scans, that are not completed yet
+     * @return true if all the scans are completed
+     */
+    private static <V, E> boolean removeCompleted(List<IncrementalGraphAnalyzer.Scan<V, E, ?>> active) {
+        active.removeIf(IncrementalGraphAnalyzer.Scan::isComplete);
+        return active.isEmpty();
+    }
+
+    /**
+     * A graph analyzer and the rule for its result
+     */
+    @RequiredArgsConstructor
+    private static class Rule<V, E> {
+        private final GraphAnalyzer<V, E, ?> analyzer;
+        private final Predicate<Object> predicate;
+        /**
+         * The position in the incremental analyzers, or -1 if the analyzer is not incremental
+         */
+        private final int incrementalIndex;
+    }
 }
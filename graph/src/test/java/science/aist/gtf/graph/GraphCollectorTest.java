@@ -11,10 +11,17 @@ package science.aist.gtf.graph;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import science.aist.gtf.graph.builder.GraphBuilder;
 import science.aist.gtf.graph.builder.impl.GraphBuilderImpl;
 import science.aist.gtf.graph.impl.GraphCollector;
 import science.aist.gtf.graph.impl.VertexImpl;
 
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -98,4 +105,220 @@ public class GraphCollectorTest {
         Assert.assertEquals(collect.getVertices().stream().filter(x -> x.getElement().equals("C")).findAny().get().getIncomingEdges().size(), 1);
         Assert.assertEquals(collect.getVertices().stream().filter(x -> x.getElement().equals("C")).findAny().get().getOutgoingEdges().size(), 0);
     }
+
+    @Test
+    public void testCollectSubGraphKeyIndex() {
+        // given
+        Graph<String, Void> graph = GraphBuilderImpl.<String, Void>create()
+                .from("A").to("B")
+                .from("B").to("AB")
+                .toGraph();
+
+        // when
+        Graph<String, Void> collect = graph.stream().filter(x -> x.getElement().length() == 1).collect(GraphCollector.toSubGraph());
+
+        // then
+        Assert.assertTrue(collect.containsKey("A"));
+        Assert.assertFalse(collect.containsKey("AB"));
+        Vertex<String, Void> b = collect.getVertexByKey("B").orElseThrow();
+        Assert.assertTrue(collect.getVertices().contains(b));
+        Assert.assertEquals(b.getIncomingEdges().size(), 1);
+    }
+
+    @Test
+    public void testCollectSubGraphWithKeyMapper() {
+        // given
+        Graph<String, Void> graph = GraphBuilderImpl.<String, Void>create()
+                .from("A").to("B")
+                .toGraph();
+
+        // when
+        Graph<String, Void> collect = graph.stream().collect(GraphCollector.toSubGraph(String::toLowerCase));
+
+        // then
+        Assert.assertTrue(collect.containsKey("a"));
+        Assert.assertTrue(collect.containsKey("b"));
+        Assert.assertFalse(collect.containsKey("A"));
+    }
+
+    @Test
+    public void testCollectSubGraphDuplicateKey() {
+        // given
+        Graph<String, Void> graph = GraphBuilderImpl.<String, Void>create()
+                .from("A").to("B")
+                .toGraph();
+
+        // when
+        Graph<String, Void> subGraph = graph.stream().collect(GraphCollector.toSubGraph(x -> "key"));
+
+        // then - the ambiguous key is not indexed
+        Assert.assertEquals(subGraph.getVertices().size(), 2);
+        Assert.assertEquals(subGraph.getEdges().size(), 1);
+        Assert.assertFalse(subGraph.containsKey("key"));
+    }
+
+    @Test
+    public void testCollectSubGraphEqualAndNullElements() {
+        // given
+        Graph<String, Void> graph = Stream.<Vertex<String, Void>>of(new VertexImpl<>("A"), new VertexImpl<>("A"), new VertexImpl<>(null), new VertexImpl<>("B"))
+                .collect(GraphCollector.toGraph((x, y) -> false));
+
+        // when
+        Graph<String, Void> subGraph = graph.stream().collect(GraphCollector.toSubGraph());
+        Graph<String, Void> concurrentSubGraph = graph.parallelStream().collect(GraphCollector.toConcurrentSubGraph());
+
+        // then
+        Assert.assertEquals(subGraph.getVertices().size(), 4);
+        Assert.assertFalse(subGraph.containsKey("A"));
+        Assert.assertFalse(subGraph.containsKey(null));
+        Assert.assertEquals(subGraph.getVertexByKey("B").orElseThrow().getElement(), "B");
+        Assert.assertEquals(concurrentSubGraph.getVertices().size(), 4);
+        Assert.assertFalse(concurrentSubGraph.containsKey("A"));
+        Assert.assertFalse(concurrentSubGraph.getVertexByKey(null).isPresent());
+        Assert.assertTrue(concurrentSubGraph.containsKey("B"));
+        Assert.assertFalse(graph.containsKey(null));
+    }
+
+    @Test
+    public void testCollectSubGraphView() {
+        // given
+        Graph<String, Void> graph = GraphBuilderImpl.<String, Void>create()
+                .from("A").to("B")
+                .from("B").to("C")
+                .from("B").to("AB")
+                .from("AB").to("BC")
+                .from("BC").to("A")
+                .toGraph();
+
+        // when
+        Graph<String, Void> collect = graph.stream().filter(x -> x.getElement().length() == 1).collect(GraphCollector.toSubGraphView());
+
+        // then
+        GraphStateAccessor<String, Void> graphState = collect.getGraphState();
+        Vertex<String, Void> a = collect.getVertexByKey("A").orElseThrow();
+        Vertex<String, Void> b = collect.getVertexByKey("B").orElseThrow();
+        Assert.assertEquals(collect.getVertices().size(), 3);
+        Assert.assertEquals(collect.getEdges().size(), 2);
+        Assert.assertFalse(collect.containsKey("AB"));
+        // the vertices are the original ones
+        Assert.assertTrue(graph.getVertices().contains(a));
+        Assert.assertEquals(graphState.getIncomingEdges(a).size(), 0);
+        Assert.assertEquals(graphState.getOutgoingEdges(a).size(), 1);
+        Assert.assertEquals(graphState.getOutgoingEdges(b).size(), 1);
+        Assert.assertEquals(graphState.getEdges(b).size(), 2);
+        Assert.assertTrue(graphState.findEdge(a, b).isPresent());
+    }
+
+    @Test
+    public void testSubGraphViewVertexAccessorsAreNotFiltered() {
+        // given
+        Graph<String, Void> graph = GraphBuilderImpl.<String, Void>create()
+                .from("A").to("B")
+                .from("B").to("C")
+                .from("B").to("AB")
+                .from("AB").to("BC")
+                .from("BC").to("A")
+                .toGraph();
+
+        // when
+        Graph<String, Void> subGraph = graph.stream().filter(x -> x.getElement().length() == 1).collect(GraphCollector.toSubGraph());
+        Graph<String, Void> view = graph.stream().filter(x -> x.getElement().length() == 1).collect(GraphCollector.toSubGraphView());
+
+        // then - code written against toSubGraph, that navigates via the vertices, gets different results from the view
+        Vertex<String, Void> subGraphB = subGraph.getVertexByKey("B").orElseThrow();
+        Vertex<String, Void> viewB = view.getVertexByKey("B").orElseThrow();
+        Assert.assertEquals(subGraphB.getEdges().size(), 2);
+        Assert.assertEquals(view.getGraphState().getEdges(viewB).size(), 2);
+        Assert.assertEquals(viewB.getEdges().size(), 3);
+        Set<String> subGraphTargets = subGraphB.getOutgoingEdges().stream().map(e -> e.getTarget().getElement()).collect(Collectors.toSet());
+        Set<String> viewTargets = viewB.getOutgoingEdges().stream().map(e -> e.getTarget().getElement()).collect(Collectors.toSet());
+        Assert.assertEquals(subGraphTargets, Set.of("C"));
+        Assert.assertEquals(viewTargets, Set.of("C", "AB"));
+    }
+
+    @Test
+    public void testCollectEmptySubGraphView() {
+        // given
+
+        // when
+        Graph<String, Void> res = Stream.<Vertex<String, Void>>empty().collect(GraphCollector.toSubGraphView());
+
+        // then
+        Assert.assertEquals(res.getVertices().size(), 0);
+        Assert.assertEquals(res.getEdges().size(), 0);
+    }
+
+    @Test
+    public void testCollectorWithBlockingKey() {
+        // given
+        BiPredicate<Vertex<Integer, Void>, Vertex<Integer, Void>> predicate = (v1, v2) -> v1.getElement() % 7 == v2.getElement() % 7 && v1.getElement() <= v2.getElement();
+
+        // when
+        Graph<Integer, Void> expected = createVertices(300).collect(GraphCollector.toGraph(predicate));
+        Graph<Integer, Void> res = createVertices(300).collect(GraphCollector.toGraph(v -> v.getElement() % 7, predicate));
+
+        // then
+        Assert.assertEquals(res.getVertices().size(), 300);
+        Assert.assertEquals(toPairs(res), toPairs(expected));
+    }
+
+    @Test
+    public void testCollectorWithMultipleBlockingKeys() {
+        // given - vertices within a distance of 10 are connected, so every vertex is in its own cell and the neighbouring ones
+        BiPredicate<Vertex<Integer, Void>, Vertex<Integer, Void>> predicate = (v1, v2) -> Math.abs(v1.getElement() - v2.getElement()) <= 10;
+        Function<Vertex<Integer, Void>, List<Integer>> cells = v -> List.of(v.getElement() / 10 - 1, v.getElement() / 10, v.getElement() / 10 + 1);
+
+        // when
+        Graph<Integer, Void> expected = createVertices(300).collect(GraphCollector.toGraph(predicate));
+        Graph<Integer, Void> res = createVertices(300).collect(GraphCollector.toGraphWithBlockingKeys(cells, predicate));
+
+        // then
+        Assert.assertEquals(res.getEdges().size(), expected.getEdges().size());
+        Assert.assertEquals(toPairs(res), toPairs(expected));
+    }
+
+    @Test
+    public void testConcurrentCollector() {
+        // given
+        BiPredicate<Vertex<Integer, Void>, Vertex<Integer, Void>> predicate = (v1, v2) -> v1.getElement() + 1 == v2.getElement() || v1.getElement() % 50 == 0 && v2.getElement() % 25 == 0;
+
+        // when
+        Graph<Integer, Void> expected = createVertices(2_000).collect(GraphCollector.toGraph(predicate));
+        Graph<Integer, Void> res = createVertices(2_000).parallel().collect(GraphCollector.toConcurrentGraph(predicate));
+
+        // then
+        Assert.assertEquals(res.getVertices().size(), 2_000);
+        Assert.assertEquals(res.getEdges().size(), expected.getEdges().size());
+        Assert.assertEquals(toPairs(res), toPairs(expected));
+    }
+
+    @Test
+    public void testConcurrentSubGraphCollector() {
+        // given
+        GraphBuilder<Integer, Void> builder = GraphBuilderImpl.create();
+        for (int i = 0; i < 10_000; i++) {
+            builder.from(i).to((i * 7 + 3) % 10_000);
+        }
+        Graph<Integer, Void> graph = builder.toGraph();
+
+        // when
+        Graph<Integer, Void> expected = graph.stream().filter(v -> v.getElement() % 3 != 0).collect(GraphCollector.toSubGraph());
+        Graph<Integer, Void> res = graph.getVertices().parallelStream().filter(v -> v.getElement() % 3 != 0).collect(GraphCollector.toConcurrentSubGraph());
+
+        // then
+        Assert.assertEquals(res.getVertices().size(), expected.getVertices().size());
+        Assert.assertEquals(toPairs(res), toPairs(expected));
+        Assert.assertTrue(res.containsKey(1));
+        Assert.assertFalse(res.containsKey(3));
+    }
+
+    private static Stream<Vertex<Integer, Void>> createVertices(int n) {
+        return IntStream.range(0, n).mapToObj(VertexImpl::new);
+    }
+
+    private static Set<List<Integer>> toPairs(Graph<Integer, Void> graph) {
+        return graph.getEdges().stream()
+                .map(e -> List.of(e.getSource().getElement(), e.getTarget().getElement()))
+                .collect(Collectors.toSet());
+    }
 }
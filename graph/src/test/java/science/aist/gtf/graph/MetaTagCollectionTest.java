@@ -249,4 +249,93 @@ public class MetaTagCollectionTest {
         // then
         Assert.assertEquals(v.getMetaTags().size(), 1);
     }
+
+    @Test
+    public void testManyMetaTags() {
+        // given
+        MetaTagCollection v = new MetaTagCollectionImpl();
+        for (int i = 0; i < 10; i++) {
+            v.addMetaTag(new MetaTagImpl<>("key" + i, i));
+        }
+        v.addMetaTag(new MetaTagImpl<>("key3", "three"));
+
+        // when
+        v.removeMetaTag("key5");
+
+        // then
+        Assert.assertEquals(v.getMetaTags().size(), 10);
+        Assert.assertEquals(v.getMetaTagValue("key3", Integer.class).intValue(), 3);
+        Assert.assertEquals(v.getMetaTagValue("key3", String.class), "three");
+        Assert.assertEquals(v.<Integer>getMetaTagValue("key9").intValue(), 9);
+        Assert.assertFalse(v.tryGetMetaTagValue("key5").isPresent());
+        Assert.assertFalse(v.tryGetMetaTagValue("key1", String.class).isPresent());
+        Assert.assertFalse(v.tryGetMetaTagValue("unknown").isPresent());
+    }
+
+    @Test
+    public void testAddMetaTagTwice() {
+        // given
+        MetaTagCollection v = new MetaTagCollectionImpl();
+        MetaTagImpl<Double> height = new MetaTagImpl<>("height", 12.0);
+        for (int i = 0; i < 10; i++) {
+            v.addMetaTag(new MetaTagImpl<>("key" + i, i));
+        }
+        v.addMetaTag(height);
+
+        // when
+        boolean res = v.addMetaTag(height);
+
+        // then
+        Assert.assertFalse(res);
+        Assert.assertEquals(v.getMetaTags().size(), 11);
+        Assert.assertTrue(v.getMetaTags().contains(height));
+    }
+
+    @Test
+    public void testGetMetaTagsIsModifiable() {
+        // given
+        MetaTagCollection v = new MetaTagCollectionImpl();
+        for (int i = 0; i < 10; i++) {
+            v.addMetaTag(new MetaTagImpl<>("key" + i, i));
+        }
+
+        // when
+        v.getMetaTags().removeIf(mt -> mt.getKey().equals("key2") || mt.getKey().equals("key7"));
+        v.<String>getMetaTags().add(new MetaTagImpl<>("key2", "two"));
+
+        // then
+        Assert.assertEquals(v.getMetaTags().size(), 9);
+        Assert.assertEquals(v.getMetaTagValue("key2"), "two");
+        Assert.assertFalse(v.tryGetMetaTagValue("key7").isPresent());
+        Assert.assertEquals(v.getMetaTagValue("key8", Integer.class).intValue(), 8);
+    }
+
+    @Test
+    public void testRemoveMetaTagByKeyWithIndex() {
+        // given
+        MetaTagCollection v = new MetaTagCollectionImpl();
+        for (int i = 0; i < 20; i++) {
+            v.addMetaTag(new MetaTagImpl<>("key" + (i % 5), i));
+        }
+        v.addMetaTag(new MetaTagImpl<>("key0", "zero"));
+        MetaTagImpl<Integer> last = new MetaTagImpl<>("last", 99);
+        v.addMetaTag(last);
+
+        // when
+        v.removeMetaTag("key0", Integer.class);
+        v.removeMetaTag("key3");
+        boolean removed = v.removeMetaTag(last);
+
+        // then
+        Assert.assertTrue(removed);
+        Assert.assertFalse(v.getMetaTags().contains(last));
+        Assert.assertEquals(v.getMetaTags().size(), 13);
+        Assert.assertEquals(v.getMetaTagValue("key0"), "zero");
+        Assert.assertFalse(v.tryGetMetaTagValue("key0", Integer.class).isPresent());
+        Assert.assertFalse(v.tryGetMetaTagValue("key3").isPresent());
+        Assert.assertEquals(v.getMetaTags().stream().filter(mt -> mt.getKey().equals("key1")).count(), 4);
+        for (MetaTag<Object> metaTag : v.getMetaTags()) {
+            Assert.assertTrue(v.getMetaTags().contains(metaTag));
+        }
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.analyzer;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.builder.GraphBuilder;
+import science.aist.gtf.graph.builder.impl.GraphBuilderImpl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Test class for {@link CachingGraphAnalyzer}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class CachingGraphAnalyzerTest {
+
+    @Test
+    public void testAnalyzeGraphState() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        CachingGraphAnalyzer<String, Void, Integer> analyzer = new CachingGraphAnalyzer<>(gs -> {
+            calls.incrementAndGet();
+            return gs.vertexCount();
+        });
+        GraphBuilder<String, Void> builder = GraphBuilderImpl.<String, Void>create().from("1").to("2");
+        GraphStateAccessor<String, Void> graphState = builder.getGraphState();
+
+        // when
+        int first = analyzer.analyzeGraphState(graphState);
+        int second = analyzer.analyzeGraphState(graphState);
+        builder.from("2").to("3");
+        int third = analyzer.analyzeGraphState(graphState);
+
+        // then
+        Assert.assertEquals(first, 2);
+        Assert.assertEquals(second, 2);
+        Assert.assertEquals(third, 3);
+        Assert.assertEquals(calls.get(), 2);
+    }
+
+    @Test
+    public void testAnalyzeDifferentGraphStates() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        CachingGraphAnalyzer<String, Void, Integer> analyzer = new CachingGraphAnalyzer<>(gs -> {
+            calls.incrementAndGet();
+            return gs.vertexCount();
+        });
+        GraphStateAccessor<String, Void> graphState1 = GraphBuilderImpl.<String, Void>create().from("1").to("2").getGraphState();
+        GraphStateAccessor<String, Void> graphState2 = GraphBuilderImpl.<String, Void>create().from("1").to("2").getGraphState();
+
+        // when
+        analyzer.analyzeGraphState(graphState1);
+        analyzer.analyzeGraphState(graphState2);
+        analyzer.invalidate();
+        analyzer.analyzeGraphState(graphState2);
+
+        // then
+        Assert.assertEquals(calls.get(), 3);
+    }
+}
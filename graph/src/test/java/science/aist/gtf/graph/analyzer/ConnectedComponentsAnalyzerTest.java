@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.analyzer;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.Graph;
+import science.aist.gtf.graph.Vertex;
+import science.aist.gtf.graph.builder.impl.GraphBuilderImpl;
+import science.aist.gtf.graph.factory.GraphFactoryFactory;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Test class for {@link ConnectedComponentsAnalyzer}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class ConnectedComponentsAnalyzerTest {
+
+    @Test
+    public void testAnalyzeGraphState() {
+        // given
+        ConnectedComponentsAnalyzer<String, Void> analyzer = new ConnectedComponentsAnalyzer<>();
+        Graph<String, Void> graph = GraphBuilderImpl.<String, Void>create(GraphFactoryFactory.getCompactFactory())
+                // subgraph 1
+                .from("1").to("2")
+                .from("3").to("2")
+                // subgraph 2
+                .from("4").to("5")
+                // subgraph 3
+                .from("6").to("6")
+                .toGraph();
+
+        // when
+        ConnectedComponents<String, Void> components = analyzer.analyzeGraphState(graph.getGraphState());
+
+        // then
+        Assert.assertEquals(components.getCount(), 3);
+        Assert.assertFalse(components.isConnected());
+        Vertex<String, Void> one = graph.getVertexByKey("1").orElseThrow();
+        Vertex<String, Void> three = graph.getVertexByKey("3").orElseThrow();
+        Vertex<String, Void> four = graph.getVertexByKey("4").orElseThrow();
+        Assert.assertEquals(components.getComponentOf(one), components.getComponentOf(three));
+        Assert.assertNotEquals(components.getComponentOf(one), components.getComponentOf(four));
+        Assert.assertEquals(components.getComponent(one).stream().map(Vertex::getElement).collect(Collectors.toSet()), Set.of("1", "2", "3"));
+    }
+
+    @Test
+    public void testAnalyzeConnectedGraphState() {
+        // given
+        ConnectedComponentsAnalyzer<String, Void> analyzer = new ConnectedComponentsAnalyzer<>();
+        Graph<String, Void> graph = GraphBuilderImpl.<String, Void>create()
+                .from("1").to("2")
+                .from("2").to("3")
+                .toGraph();
+
+        // when
+        ConnectedComponents<String, Void> components = analyzer.analyzeGraphState(graph.getGraphState());
+
+        // then
+        Assert.assertTrue(components.isConnected());
+        Assert.assertEquals(components.getComponents().get(0).size(), 3);
+    }
+}
@@ -12,7 +12,9 @@ package science.aist.gtf.graph.analyzer;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.builder.GraphBuilder;
 import science.aist.gtf.graph.builder.impl.GraphBuilderImpl;
+import science.aist.gtf.graph.factory.GraphFactoryFactory;
 
 /**
  * <p>Test class for {@link ConnectedGraphAnalyzer}</p>
@@ -59,4 +61,33 @@ public class ConnectedGraphAnalyzerTest {
         // then
         Assert.assertFalse(aBoolean);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAnalyzeGraphStateLongChain() {
+        // given
+        ConnectedGraphAnalyzer<Integer, Void> connectedGraphAnalyzer = new ConnectedGraphAnalyzer<>();
+        GraphBuilder<Integer, Void> builder = GraphBuilderImpl.create(GraphFactoryFactory.getCompactFactory());
+        for (int i = 0; i < 200_000; i++) {
+            builder.from(i + 1).to(i);
+        }
+
+        // when
+        Boolean aBoolean = connectedGraphAnalyzer.analyzeGraphState(builder.toGraph().getGraphState());
+
+        // then
+        Assert.assertTrue(aBoolean);
+    }
+
+    @Test
+    public void testAnalyzeEmptyGraphState() {
+        // given
+        ConnectedGraphAnalyzer<String, Void> connectedGraphAnalyzer = new ConnectedGraphAnalyzer<>();
+        GraphStateAccessor<String, Void> graphState = GraphBuilderImpl.<String, Void>create().getGraphState();
+
+        // when
+        Boolean aBoolean = connectedGraphAnalyzer.analyzeGraphState(graphState);
+
+        // then
+        Assert.assertFalse(aBoolean);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.analyzer;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.GraphState;
+import science.aist.gtf.graph.builder.impl.GraphBuilderImpl;
+import science.aist.gtf.graph.impl.EdgeImpl;
+import science.aist.gtf.graph.impl.GraphStateImpl;
+import science.aist.gtf.graph.impl.VertexImpl;
+
+/**
+ * <p>Test class for {@link TrackingConnectedGraphAnalyzer}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class TrackingConnectedGraphAnalyzerTest {
+
+    @Test
+    public void testAnalyzeGraphState() {
+        // given
+        GraphState<String, Void> graphState = new GraphStateImpl<>();
+        VertexImpl<String, Void> v1 = new VertexImpl<>("1");
+        VertexImpl<String, Void> v2 = new VertexImpl<>("2");
+        VertexImpl<String, Void> v3 = new VertexImpl<>("3");
+        graphState.addVertex(v1);
+        graphState.addVertex(v2);
+        graphState.addEdge(new EdgeImpl<>(null), v1, v2);
+        TrackingConnectedGraphAnalyzer<String, Void> analyzer = new TrackingConnectedGraphAnalyzer<>();
+        analyzer.attach(graphState);
+
+        // when
+        boolean connectedBefore = analyzer.analyzeGraphState(graphState.readonly());
+        graphState.addVertex(v3);
+        boolean connectedWithIsolatedVertex = analyzer.analyzeGraphState(graphState.readonly());
+        graphState.addEdge(new EdgeImpl<>(null), v3, v2);
+        boolean connectedAfter = analyzer.analyzeGraphState(graphState);
+
+        // then
+        Assert.assertTrue(connectedBefore);
+        Assert.assertFalse(connectedWithIsolatedVertex);
+        Assert.assertTrue(connectedAfter);
+        Assert.assertEquals(analyzer.getComponentCount(), 1);
+    }
+
+    @Test
+    public void testAnalyzeOtherGraphState() {
+        // given
+        TrackingConnectedGraphAnalyzer<String, Void> analyzer = new TrackingConnectedGraphAnalyzer<>();
+        analyzer.attach(new GraphStateImpl<>());
+
+        // when
+        boolean connected = analyzer.analyzeGraphState(GraphBuilderImpl.<String, Void>create()
+                .from("1").to("2")
+                .getGraphState());
+
+        // then
+        Assert.assertTrue(connected);
+    }
+
+    @Test
+    public void testDetach() {
+        // given
+        GraphState<String, Void> graphState = new GraphStateImpl<>();
+        VertexImpl<String, Void> v1 = new VertexImpl<>("1");
+        graphState.addVertex(v1);
+        TrackingConnectedGraphAnalyzer<String, Void> analyzer = new TrackingConnectedGraphAnalyzer<>();
+        analyzer.attach(graphState);
+
+        // when
+        analyzer.detach();
+        graphState.addVertex(new VertexImpl<>("2"));
+
+        // then
+        Assert.assertEquals(analyzer.getComponentCount(), 1);
+        Assert.assertFalse(analyzer.analyzeGraphState(graphState));
+    }
+
+    @Test
+    public void testRemoveEdge() {
+        // given
+        GraphState<String, Void> graphState = new GraphStateImpl<>();
+        VertexImpl<String, Void> v1 = new VertexImpl<>("1");
+        VertexImpl<String, Void> v2 = new VertexImpl<>("2");
+        VertexImpl<String, Void> v3 = new VertexImpl<>("3");
+        EdgeImpl<String, Void> bridge = new EdgeImpl<>(null);
+        graphState.addVertex(v1);
+        graphState.addVertex(v2);
+        graphState.addVertex(v3);
+        graphState.addEdge(new EdgeImpl<>(null), v1, v2);
+        graphState.addEdge(bridge, v2, v3);
+        TrackingConnectedGraphAnalyzer<String, Void> analyzer = new TrackingConnectedGraphAnalyzer<>();
+        analyzer.attach(graphState);
+
+        // when
+        boolean connectedBefore = analyzer.analyzeGraphState(graphState);
+        graphState.removeEdge(bridge);
+        boolean connectedWithoutBridge = analyzer.analyzeGraphState(graphState);
+        graphState.removeVertex(v3);
+        boolean connectedWithoutVertex = analyzer.analyzeGraphState(graphState);
+
+        // then
+        Assert.assertTrue(connectedBefore);
+        Assert.assertFalse(connectedWithoutBridge);
+        Assert.assertTrue(connectedWithoutVertex);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.analyzer;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.GraphState;
+import science.aist.gtf.graph.impl.CompactGraphStateImpl;
+import science.aist.gtf.graph.impl.EdgeImpl;
+import science.aist.gtf.graph.impl.GraphStateImpl;
+import science.aist.gtf.graph.impl.VertexImpl;
+
+/**
+ * <p>Test class for {@link TrackingVerticesHaveEdgesAnalyzer} and {@link TrackingNumberOfEdgesAnalyzer}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class TrackingVerticesHaveEdgesAnalyzerTest {
+
+    @Test
+    public void testAnalyzeGraphState() {
+        // given
+        GraphState<String, Void> graphState = new CompactGraphStateImpl<>();
+        TrackingVerticesHaveEdgesAnalyzer<String, Void> verticesHaveEdges = new TrackingVerticesHaveEdgesAnalyzer<>();
+        TrackingNumberOfEdgesAnalyzer<String, Void> numberOfEdges = new TrackingNumberOfEdgesAnalyzer<>();
+        verticesHaveEdges.attach(graphState);
+        numberOfEdges.attach(graphState);
+        VertexImpl<String, Void> v1 = new VertexImpl<>("1");
+        VertexImpl<String, Void> v2 = new VertexImpl<>("2");
+
+        // when
+        boolean emptyGraph = verticesHaveEdges.analyzeGraphState(graphState);
+        graphState.addVertex(v1);
+        graphState.addVertex(v2);
+        boolean withoutEdges = verticesHaveEdges.analyzeGraphState(graphState);
+        graphState.addEdge(new EdgeImpl<>(null), v1, v2);
+        graphState.addEdge(new EdgeImpl<>(null), v2, v1);
+        boolean withEdges = verticesHaveEdges.analyzeGraphState(graphState);
+
+        // then
+        Assert.assertFalse(emptyGraph);
+        Assert.assertFalse(withoutEdges);
+        Assert.assertTrue(withEdges);
+        Assert.assertEquals(numberOfEdges.analyzeGraphState(graphState.readonly()).intValue(), 2);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAttachTwice() {
+        // given
+        TrackingVerticesHaveEdgesAnalyzer<String, Void> analyzer = new TrackingVerticesHaveEdgesAnalyzer<>();
+        analyzer.attach(new CompactGraphStateImpl<>());
+
+        // when
+        analyzer.attach(new CompactGraphStateImpl<>());
+
+        // then
+        // exception - the analyzer is already attached
+    }
+
+    @Test
+    public void testRemoveEdge() {
+        // given
+        GraphState<String, Void> graphState = new GraphStateImpl<>();
+        VertexImpl<String, Void> v1 = new VertexImpl<>("1");
+        VertexImpl<String, Void> v2 = new VertexImpl<>("2");
+        VertexImpl<String, Void> v3 = new VertexImpl<>("3");
+        EdgeImpl<String, Void> edge = new EdgeImpl<>(null);
+        graphState.addVertex(v1);
+        graphState.addVertex(v2);
+        graphState.addVertex(v3);
+        graphState.addEdge(new EdgeImpl<>(null), v1, v2);
+        graphState.addEdge(edge, v2, v3);
+        TrackingVerticesHaveEdgesAnalyzer<String, Void> verticesHaveEdges = new TrackingVerticesHaveEdgesAnalyzer<>();
+        TrackingNumberOfEdgesAnalyzer<String, Void> numberOfEdges = new TrackingNumberOfEdgesAnalyzer<>();
+        verticesHaveEdges.attach(graphState);
+        numberOfEdges.attach(graphState);
+
+        // when
+        graphState.removeEdge(edge);
+        boolean withIsolatedVertex = verticesHaveEdges.analyzeGraphState(graphState);
+        graphState.removeVertex(v3);
+        boolean withoutIsolatedVertex = verticesHaveEdges.analyzeGraphState(graphState);
+
+        // then
+        Assert.assertFalse(withIsolatedVertex);
+        Assert.assertTrue(withoutIsolatedVertex);
+        Assert.assertEquals(numberOfEdges.analyzeGraphState(graphState).intValue(), 1);
+    }
+}
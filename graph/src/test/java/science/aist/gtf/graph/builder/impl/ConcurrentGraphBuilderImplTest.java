@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.builder.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.Graph;
+import science.aist.gtf.graph.builder.GraphBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Test class for {@link ConcurrentGraphBuilderImpl}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class ConcurrentGraphBuilderImplTest {
+    private static final int THREADS = 8;
+
+    @Test
+    public void testConcurrentEdgeCreation() throws Exception {
+        // given
+        int vertices = 200;
+        GraphBuilder<Integer, Void> graphBuilder = ConcurrentGraphBuilderImpl.create();
+
+        // when
+        // every thread adds the same ring, so every edge is created once and its weight is incremented by the others
+        runConcurrently(() -> {
+            for (int i = 0; i < vertices; i++) {
+                graphBuilder.from(i).to((i + 1) % vertices);
+            }
+        });
+        Graph<Integer, Void> graph = graphBuilder.toGraph();
+
+        // then
+        Assert.assertEquals(graph.getVertices().size(), vertices);
+        Assert.assertEquals(graph.getEdges().size(), vertices);
+        for (Edge<Integer, Void> edge : graph.getEdges()) {
+            Assert.assertEquals(edge.getWeight(), THREADS);
+            Assert.assertEquals(edge.getTarget().getElement().intValue(), (edge.getSource().getElement() + 1) % vertices);
+        }
+    }
+
+    @Test
+    public void testConcurrentMerging() throws Exception {
+        // given
+        AtomicInteger merges = new AtomicInteger();
+        GraphBuilder<int[], Void> graphBuilder = ConcurrentGraphBuilderImpl.create(x -> x[0], (a, b) -> {
+            merges.incrementAndGet();
+            return new int[]{a[0], a[1] + b[1]};
+        });
+
+        // when
+        runConcurrently(() -> {
+            for (int i = 0; i < 100; i++) {
+                graphBuilder.getOrAddVertex(new int[]{1, 1});
+            }
+        });
+
+        // then
+        Assert.assertEquals(graphBuilder.getGraphState().getVertices().size(), 1);
+        int[] element = graphBuilder.getGraphState().getVertices().iterator().next().getElement();
+        Assert.assertEquals(element[1], THREADS * 100);
+        Assert.assertEquals(merges.get(), THREADS * 100 - 1);
+    }
+
+    @Test
+    public void testCallback() throws Exception {
+        // given
+        AtomicInteger called = new AtomicInteger();
+        GraphBuilder<String, Void> graphBuilder = ConcurrentGraphBuilderImpl.create();
+        runConcurrently(() -> graphBuilder.addGraphCreationCallback(g -> called.incrementAndGet()));
+
+        // when
+        graphBuilder.toGraph();
+
+        // then
+        Assert.assertEquals(called.get(), THREADS);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testToGraphFailAlreadyCreated() {
+        // given
+        GraphBuilder<String, Void> graphBuilder = ConcurrentGraphBuilderImpl.create();
+        graphBuilder.toGraph();
+
+        // when
+        graphBuilder.from("A");
+
+        // then
+        // Exception expected - graph was already created
+    }
+
+    private static void runConcurrently(Runnable runnable) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(THREADS);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executorService.submit(() -> {
+                    barrier.await();
+                    runnable.run();
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}
@@ -17,6 +17,7 @@ import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import science.aist.gtf.graph.*;
+import science.aist.gtf.graph.builder.EdgeSpec;
 import science.aist.gtf.graph.builder.GraphBuilder;
 import science.aist.gtf.graph.factory.GraphFactory;
 import science.aist.gtf.graph.impl.GraphStateImpl;
@@ -25,6 +26,7 @@ import science.aist.gtf.graph.impl.VertexImpl;
 import science.aist.jack.general.util.CastUtils;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -319,6 +321,27 @@ public class GraphBuilderImplTest {
         Assert.assertEquals(first.get().getTarget().getElement(), c2);
     }
 
+    @Test
+    public void testKeyExtractionByInheritedGraphId() {
+        // given
+        D d1 = new D(1);
+        D d2 = new D(2);
+        F f1 = new F(3);
+
+        // when
+        GraphStateAccessor<Object, Void> graphState = GraphBuilderImpl.<Object, Void>create()
+                .addVertex(d1)
+                .addVertex(d2)
+                .addVertex(f1)
+                .fromByKey(1).toByKey(2)
+                .fromByKey(2).toByKey(3)
+                .getGraphState();
+
+        // then
+        Assert.assertEquals(graphState.getVertices().size(), 3);
+        Assert.assertEquals(graphState.edgeCount(), 2);
+    }
+
     @Test
     public void testToGraph() {
         // given
@@ -332,6 +355,24 @@ public class GraphBuilderImplTest {
         Assert.assertNotNull(graph.getGraphState());
     }
 
+    @Test
+    public void testToGraphKeyIndex() {
+        // given
+        GraphBuilder<String, Void> graphBuilder = GraphBuilderImpl.<String, Void>create(s -> s.toLowerCase())
+                .from("A").to("B");
+
+        // when
+        Graph<String, Void> graph = graphBuilder.toGraph();
+
+        // then
+        Assert.assertTrue(graph.containsKey("a"));
+        Assert.assertFalse(graph.containsKey("A"));
+        Assert.assertFalse(graph.getVertexByKey("c").isPresent());
+        Vertex<String, Void> b = graph.getVertexByKey("b").orElseThrow();
+        Assert.assertEquals(b.getElement(), "B");
+        Assert.assertTrue(graph.getVertices().contains(b));
+    }
+
     @Test(expectedExceptions = IllegalStateException.class)
     public void testToGraphFailAlreadyCreated() {
         // given
@@ -345,6 +386,128 @@ public class GraphBuilderImplTest {
         // Exception expected - graph was already created
     }
 
+    @Test
+    public void testToGraphFreezesGraphState() {
+        // given
+        GraphBuilder<String, Void> graphBuilder = GraphBuilderImpl.<String, Void>create()
+                .from("1").to("2")
+                .from("2").to("3");
+
+        // when
+        Graph<String, Void> graph = graphBuilder.toGraph();
+
+        // then
+        Assert.assertTrue(graph.getGraphState() instanceof IndexedGraphStateAccessor);
+        Assert.assertSame(graphBuilder.getGraphState(), graph.getGraphState());
+        Assert.assertEquals(graph.getVertices().size(), 3);
+        Assert.assertEquals(graph.getEdges().size(), 2);
+        Assert.assertTrue(graph.getVertices().stream().allMatch(v -> v.getEdges().size() >= 1));
+    }
+
+    @Test
+    public void testToGraphTwice() {
+        // given
+        GraphBuilder<String, Void> graphBuilder = GraphBuilderImpl.<String, Void>create()
+                .from("A").to("B");
+        Graph<String, Void> first = graphBuilder.toGraph();
+
+        // when
+        Graph<String, Void> second = graphBuilder.toGraph();
+
+        // then
+        Assert.assertSame(second, first);
+        Vertex<String, Void> a = first.getVertexByKey("A").orElseThrow();
+        Assert.assertEquals(a.getEdges().size(), 1);
+        Assert.assertEquals(a.getOutgoingEdges().iterator().next().getTarget().getElement(), "B");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAddSubGraphFailAlreadyCreated() {
+        // given
+        GraphBuilder<String, Void> graphBuilder = GraphBuilderImpl.create();
+        Graph<String, Void> subGraph = GraphBuilderImpl.<String, Void>create()
+                .from("A").to("B")
+                .toGraph();
+        graphBuilder.toGraph();
+
+        // when
+        graphBuilder.addSubGraph(subGraph);
+
+        // then
+        // Exception expected - graph was already created
+    }
+
+    @Test
+    public void testAddVertices() {
+        // given
+        GraphBuilder<String, Void> graphBuilder = GraphBuilderImpl.create();
+
+        // when
+        graphBuilder.addVertices(List.of("1", "2", "3", "2"));
+
+        // then
+        Assert.assertEquals(graphBuilder.getGraphState().getVertices().size(), 3);
+    }
+
+    @Test
+    public void testAddEdges() {
+        // given
+        GraphBuilder<String, String> graphBuilder = GraphBuilderImpl.create();
+
+        // when
+        graphBuilder.addEdges(List.of(
+                EdgeSpec.of("1", "2", "a"),
+                EdgeSpec.of("1", "3"),
+                EdgeSpec.of("1", "2", "b"),
+                EdgeSpec.of("3", "3")
+        ));
+
+        // then
+        Graph<String, String> graph = graphBuilder.toGraph();
+        Assert.assertEquals(graph.getVertices().size(), 3);
+        Assert.assertEquals(graph.getEdges().size(), 3);
+        Edge<String, String> edge = graph.getEdges().stream()
+                .filter(e -> e.getSource().getElement().equals("1"))
+                .filter(e -> e.getTarget().getElement().equals("2"))
+                .findFirst().orElseThrow();
+        Assert.assertEquals(edge.getElement(), "a");
+        Assert.assertEquals(edge.getWeight(), 2);
+    }
+
+    @Test
+    public void testAddEdgesMerging() {
+        // given
+        GraphBuilder<int[], Void> graphBuilder = GraphBuilderImpl.create(x -> x[0], (a, b) -> new int[]{a[0], a[1] + b[1]});
+        List<EdgeSpec<int[], Void>> edges = List.of(
+                EdgeSpec.of(new int[]{1, 1}, new int[]{2, 1}),
+                EdgeSpec.of(new int[]{1, 1}, new int[]{2, 1}),
+                EdgeSpec.of(new int[]{1, 1}, new int[]{2, 1})
+        );
+
+        // when
+        graphBuilder.addEdges(edges);
+
+        // then
+        Assert.assertEquals(graphBuilder.getGraphState().getVertices().size(), 2);
+        Assert.assertTrue(graphBuilder.getGraphState().getVertices().stream()
+                .anyMatch(v -> v.getElement()[0] == 1 && v.getElement()[1] == 3));
+        Assert.assertTrue(graphBuilder.getGraphState().getVertices().stream()
+                .anyMatch(v -> v.getElement()[0] == 2 && v.getElement()[1] == 3));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAddEdgesFailAlreadyCreated() {
+        // given
+        GraphBuilder<String, Void> graphBuilder = GraphBuilderImpl.create();
+        graphBuilder.toGraph();
+
+        // when
+        graphBuilder.addEdges(List.of(EdgeSpec.of("1", "2")));
+
+        // then
+        // Exception expected - graph was already created
+    }
+
     @Test
     public void testUpdateKey() {
         // given
@@ -430,6 +593,29 @@ public class GraphBuilderImplTest {
         Assert.assertEquals(subGraphView.getEdges().size(), 2);
     }
 
+    @Test
+    public void testAddSubGraphKeyIndex() {
+        // given
+        GraphBuilder<String, Void> graphBuilder = GraphBuilderImpl.create();
+        Graph<String, Void> subGraph = GraphBuilderImpl.<String, Void>create()
+                .from("A").to("B")
+                .toGraph();
+        graphBuilder.from("X").to("Y");
+
+        // when
+        Graph<String, Void> subGraphView = graphBuilder.addSubGraph(subGraph);
+
+        // then
+        Assert.assertTrue(subGraphView.containsKey("A"));
+        Assert.assertFalse(subGraphView.containsKey("X"));
+        Vertex<String, Void> a = subGraphView.getVertexByKey("A").orElseThrow();
+        Assert.assertTrue(subGraphView.getVertices().contains(a));
+        Assert.assertEquals(a.getOutgoingEdges().size(), 1);
+        Graph<String, Void> graph = graphBuilder.toGraph();
+        Assert.assertTrue(graph.containsKey("A"));
+        Assert.assertTrue(graph.containsKey("X"));
+    }
+
     @Test
     public void testAddSubGraph2() {
         // given
@@ -617,4 +803,25 @@ public class GraphBuilderImplTest {
         public void doNothing(int x) {
         }
     }
-}
\ No newline at end of file
+
+    private static class D extends A {
+        D(int key) {
+            super(key);
+        }
+    }
+
+    private interface Keyed {
+        @GraphId
+        int getId();
+    }
+
+    @AllArgsConstructor
+    private static class F implements Keyed {
+        private final int id;
+
+        @Override
+        public int getId() {
+            return id;
+        }
+    }
+}
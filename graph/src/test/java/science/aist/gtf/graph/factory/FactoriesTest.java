@@ -12,6 +12,7 @@ package science.aist.gtf.graph.factory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import science.aist.gtf.graph.*;
+import science.aist.gtf.graph.impl.ConcurrentGraphStateImpl;
 
 /**
  * <p>Tests {@link GraphFactory} {@link DefaultGraphFactory} {@link GraphFactoryFactory}</p>
@@ -30,6 +31,44 @@ public class FactoriesTest {
         Assert.assertNotNull(gf);
     }
 
+    @Test
+    public void testCreateCompactFactory() {
+        // given
+
+        // when
+        GraphFactory gf = GraphFactoryFactory.getCompactFactory();
+
+        // then
+        Assert.assertNotNull(gf);
+        Assert.assertTrue(gf.createGraphState() instanceof IndexedGraphStateAccessor);
+    }
+
+    @Test
+    public void testCreateColumnarCompactFactory() {
+        // given
+
+        // when
+        GraphFactory gf = GraphFactoryFactory.getColumnarCompactFactory();
+
+        // then
+        Assert.assertNotNull(gf);
+        IndexedGraphStateAccessor<Object, Object> graphState = (IndexedGraphStateAccessor<Object, Object>) gf.createGraphState();
+        Assert.assertTrue(graphState.getVertexMetaTagStore().isPresent());
+        Assert.assertTrue(graphState.getEdgeMetaTagStore().isPresent());
+    }
+
+    @Test
+    public void testCreateConcurrentFactory() {
+        // given
+
+        // when
+        GraphFactory gf = GraphFactoryFactory.getConcurrentFactory();
+
+        // then
+        Assert.assertNotNull(gf);
+        Assert.assertTrue(gf.createGraphState() instanceof ConcurrentGraphStateImpl);
+    }
+
     @Test
     public void testCreateGraphWithDefaultFactory() {
         // given
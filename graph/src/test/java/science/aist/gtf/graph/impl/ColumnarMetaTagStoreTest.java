@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.MetaTag;
+import science.aist.gtf.graph.MetaTagCollection;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * <p>Test class for {@link ColumnarMetaTagStore}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class ColumnarMetaTagStoreTest {
+
+    @Test
+    public void testPrimitiveColumns() {
+        // given
+        ColumnarMetaTagStore store = new ColumnarMetaTagStore();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            store.getIntColumn("int").setInt(i, i);
+            store.getLongColumn("long").setLong(i, i * 10L);
+            store.getDoubleColumn("double").setDouble(i, i / 2.0);
+            store.getBooleanColumn("even").setBoolean(i, i % 2 == 0);
+        }
+
+        // then
+        Assert.assertEquals(store.getColumns().size(), 4);
+        Assert.assertEquals(store.getIntColumn("int").getInt(42), 42);
+        Assert.assertEquals(store.getLongColumn("long").getLong(42), 420L);
+        Assert.assertEquals(store.getDoubleColumn("double").getDouble(42), 21.0);
+        Assert.assertTrue(store.getBooleanColumn("even").getBoolean(42));
+        Assert.assertEquals(store.getIntColumn("int").filter(x -> x >= 90).cardinality(), 10);
+        Assert.assertEquals(store.getLongColumn("long").filter(x -> x < 100).cardinality(), 10);
+        Assert.assertEquals(store.getDoubleColumn("double").filter(x -> x > 49).cardinality(), 1);
+        Assert.assertEquals(store.getBooleanColumn("even").filter(false).cardinality(), 50);
+    }
+
+    @Test
+    public void testFilterOnlyPresentValues() {
+        // given
+        ColumnarMetaTagStore store = new ColumnarMetaTagStore();
+        ColumnarMetaTagStore.DoubleColumn column = store.getDoubleColumn("weight");
+        column.setDouble(1, 5.0);
+        column.setDouble(3, 5.0);
+        column.setDouble(5, 1.0);
+
+        // when
+        column.remove(3);
+        BitSet result = column.filter(w -> w > 2);
+
+        // then
+        Assert.assertEquals(result.cardinality(), 1);
+        Assert.assertTrue(result.get(1));
+        Assert.assertEquals(column.size(), 2);
+        Assert.assertNull(column.get(3));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testGetMissingValue() {
+        // given
+        ColumnarMetaTagStore store = new ColumnarMetaTagStore();
+        store.getIntColumn("int").setInt(2, 1);
+
+        // when
+        store.getIntColumn("int").getInt(1);
+
+        // then
+        // exception - there is no value for index 1
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testColumnTypeMismatch() {
+        // given
+        ColumnarMetaTagStore store = new ColumnarMetaTagStore();
+        store.getIntColumn("key");
+
+        // when
+        store.getDoubleColumn("key");
+
+        // then
+        // exception - the column has a different type
+    }
+
+    @Test
+    public void testElementMetaTags() {
+        // given
+        ColumnarMetaTagStore store = new ColumnarMetaTagStore();
+        MetaTagCollection element = store.getMetaTags(7);
+
+        // when
+        element.addMetaTag(new MetaTagImpl<>("height", 12.0));
+        element.addMetaTag(new MetaTagImpl<>("count", 3));
+        element.addMetaTag(new MetaTagImpl<>("name", "seven"));
+
+        // then
+        Assert.assertEquals(element.getMetaTags().size(), 3);
+        Assert.assertEquals(element.getMetaTagValue("height", Double.class), 12.0);
+        Assert.assertEquals(element.<Integer>getMetaTagValue("count").intValue(), 3);
+        Assert.assertEquals(element.getMetaTagValue("name", String.class), "seven");
+        Assert.assertFalse(element.tryGetMetaTagValue("height", Integer.class).isPresent());
+        Assert.assertFalse(store.getMetaTags(6).tryGetMetaTagValue("height").isPresent());
+        Assert.assertEquals(store.getDoubleColumn("height").getDouble(7), 12.0);
+        Assert.assertEquals(store.getObjectColumn("name", Object.class).get(7), "seven");
+    }
+
+    @Test
+    public void testElementMetaTagsModification() {
+        // given
+        ColumnarMetaTagStore store = new ColumnarMetaTagStore();
+        MetaTagCollection element = store.getMetaTags(0);
+        element.addMetaTag(new MetaTagImpl<>("height", 12.0));
+        element.addMetaTag(new MetaTagImpl<>("width", 4.0));
+        element.addMetaTag(new MetaTagImpl<>("count", 3));
+
+        // when
+        MetaTag<Double> width = element.<Double>getMetaTags().stream()
+                .filter(mt -> mt.getKey().equals("width"))
+                .findFirst()
+                .orElseThrow();
+        width.setValue(5.0);
+        element.removeMetaTag("count", Double.class);
+        element.removeMetaTag("height");
+
+        // then
+        Assert.assertEquals(element.getMetaTags().size(), 2);
+        Assert.assertEquals(store.getDoubleColumn("width").getDouble(0), 5.0);
+        Assert.assertFalse(element.tryGetMetaTagValue("height").isPresent());
+        Assert.assertTrue(element.tryGetMetaTagValue("count").isPresent());
+        Assert.assertTrue(element.removeMetaTag(new MetaTagImpl<>("count", 3)));
+        Assert.assertEquals(element.getMetaTags().size(), 1);
+    }
+
+    @Test
+    public void testElementMetaTagsConflict() {
+        // given
+        ColumnarMetaTagStore store = new ColumnarMetaTagStore();
+        store.getMetaTags(0).addMetaTag(new MetaTagImpl<>("height", 12.0));
+
+        // when
+        boolean added = store.getMetaTags(1).addMetaTag(new MetaTagImpl<>("height", "tall"));
+
+        // then
+        Assert.assertFalse(added);
+        Assert.assertFalse(store.getMetaTags(1).tryGetMetaTagValue("height").isPresent());
+        Assert.assertSame(store.getMetaTags(1), store.getMetaTags(1));
+        Assert.assertTrue(store.accepts(List.of(new MetaTagImpl<>("height", 1.0), new MetaTagImpl<>("name", "x"))));
+        Assert.assertFalse(store.accepts(List.of(new MetaTagImpl<>("height", 1))));
+        Assert.assertFalse(store.accepts(List.of(new MetaTagImpl<>("count", 1), new MetaTagImpl<>("count", 1L))));
+    }
+}
@@ -0,0 +1,528 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.Vertex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * <p>Test class for {@link CompactGraphStateImpl}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class CompactGraphStateImplTest {
+
+    @Test
+    public void testGetVertices() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v = new VertexImpl<>(null);
+        gs.addVertex(v);
+
+        // when
+        Collection<Vertex<Void, Void>> vertices = gs.getVertices();
+
+        // then
+        Assert.assertNotNull(vertices);
+        Assert.assertEquals(vertices.size(), 1);
+        Assert.assertTrue(vertices.contains(v));
+    }
+
+    @Test
+    public void testGetEdges() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e, v1, v2);
+
+        // when
+        Set<Edge<Void, Void>> edges = gs.getEdges(v1);
+
+        // then
+        Assert.assertNotNull(edges);
+        Assert.assertEquals(edges.size(), 1);
+        Assert.assertTrue(edges.contains(e));
+        Assert.assertTrue(gs.getEdges(v2).contains(e));
+    }
+
+    @Test
+    public void testGetEdgesSelfLoop() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addEdge(e, v1, v1);
+
+        // when
+        Set<Edge<Void, Void>> edges = gs.getEdges(v1);
+
+        // then
+        Assert.assertEquals(edges.size(), 1);
+        Assert.assertEquals(new ArrayList<>(edges).size(), 1);
+    }
+
+    @Test
+    public void testGetOutgoingAndIncomingEdges() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e1 = new EdgeImpl<>(null);
+        EdgeImpl<Void, Void> e2 = new EdgeImpl<>(null);
+        EdgeImpl<Void, Void> loop = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e1, v1, v2);
+        gs.addEdge(e2, v2, v1);
+        gs.addEdge(loop, v1, v1);
+
+        // when
+        Collection<Edge<Void, Void>> outgoing = gs.getOutgoingEdges(v1);
+        Collection<Edge<Void, Void>> incoming = gs.getIncomingEdges(v1);
+
+        // then
+        Assert.assertEquals(outgoing.size(), 2);
+        Assert.assertTrue(outgoing.contains(e1));
+        Assert.assertTrue(outgoing.contains(loop));
+        Assert.assertFalse(outgoing.contains(e2));
+        Assert.assertEquals(incoming.size(), 2);
+        Assert.assertTrue(incoming.contains(e2));
+        Assert.assertTrue(incoming.contains(loop));
+        Assert.assertFalse(incoming.contains(e1));
+        Assert.assertEquals(gs.getEdges(v1).size(), 3);
+        Assert.assertEquals(new ArrayList<>(gs.getEdges(v1)).size(), 3);
+    }
+
+    @Test
+    public void testGetAllEdgesAndCounts() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v3 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e1 = new EdgeImpl<>(null);
+        EdgeImpl<Void, Void> e2 = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addVertex(v3);
+        gs.addEdge(e1, v1, v2);
+        gs.addEdge(e2, v2, v2);
+
+        // when
+        Set<Edge<Void, Void>> allEdges = gs.getAllEdges();
+
+        // then
+        Assert.assertEquals(allEdges.size(), 2);
+        Assert.assertTrue(allEdges.contains(e1));
+        Assert.assertTrue(allEdges.contains(e2));
+        Assert.assertFalse(allEdges.contains(new EdgeImpl<>(null)));
+        Assert.assertEquals(new ArrayList<>(allEdges).size(), 2);
+        Assert.assertEquals(gs.vertexCount(), 3);
+        Assert.assertEquals(gs.edgeCount(), 2);
+    }
+
+    @Test
+    public void testFindEdge() {
+        // given
+        int n = 50;
+        CompactGraphStateImpl<Integer, Void> gs = new CompactGraphStateImpl<>();
+        List<VertexImpl<Integer, Void>> vertices = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            VertexImpl<Integer, Void> v = new VertexImpl<>(i);
+            vertices.add(v);
+            gs.addVertex(v);
+        }
+        // edges from every vertex to every third vertex in descending target order, partly compacted
+        for (int i = 0; i < n; i++) {
+            for (int j = n - 1; j >= 0; j -= 3) {
+                gs.addEdge(new EdgeImpl<>(null), vertices.get(i), vertices.get(j));
+            }
+            if (i == n / 2)
+                gs.compact();
+        }
+
+        // when
+        Optional<Edge<Integer, Void>> edge = gs.findEdge(vertices.get(3), vertices.get(n - 1));
+
+        // then
+        Assert.assertTrue(edge.isPresent());
+        Assert.assertSame(edge.get().getSource(), vertices.get(3));
+        Assert.assertSame(edge.get().getTarget(), vertices.get(n - 1));
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                Optional<Edge<Integer, Void>> found = gs.findEdge(vertices.get(i), vertices.get(j));
+                Assert.assertEquals(found.isPresent(), (n - 1 - j) % 3 == 0);
+                if (found.isPresent()) {
+                    Assert.assertSame(found.get().getSource(), vertices.get(i));
+                    Assert.assertSame(found.get().getTarget(), vertices.get(j));
+                }
+            }
+        }
+        Assert.assertFalse(gs.findEdge(vertices.get(0), new VertexImpl<>(0)).isPresent());
+    }
+
+    @Test
+    public void testFindEdgeParallelPendingEdges() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e1 = new EdgeImpl<>(null);
+        EdgeImpl<Void, Void> e2 = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+
+        // when
+        gs.addEdge(e1, v1, v2);
+        gs.addEdge(e2, v1, v2);
+
+        // then
+        Assert.assertSame(gs.findEdge(v1, v2).orElseThrow(), e1);
+        Assert.assertFalse(gs.findEdge(v2, v1).isPresent());
+        gs.compact();
+        Assert.assertTrue(gs.findEdge(v1, v2).isPresent());
+        Assert.assertFalse(gs.findEdge(v2, v1).isPresent());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testGetEdgesFail() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v = new VertexImpl<>(null);
+
+        // when
+        gs.getEdges(v);
+
+        // then
+        // exception that v is not contained
+    }
+
+    @Test
+    public void testGetSourceAndTarget() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e, v1, v2);
+
+        // when
+        Vertex<Void, Void> source = gs.getSource(e);
+        Vertex<Void, Void> target = gs.getTarget(e);
+
+        // then
+        Assert.assertEquals(source, v1);
+        Assert.assertEquals(target, v2);
+        Assert.assertEquals(e.getSource(), v1);
+        Assert.assertEquals(e.getTarget(), v2);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testGetSourceFail() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        EdgeImpl<Void, Void> e = new EdgeImpl<>(null);
+
+        // when
+        gs.getSource(e);
+
+        // then
+        // exception that e is not part of the graph state
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAddVertexFail() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        gs.addVertex(v1);
+
+        // when
+        gs.addVertex(v1);
+
+        // then
+        // exception that v1 is already in the graph state
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAddEdgeFailMissingTarget() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        gs.addVertex(v1);
+
+        // when
+        gs.addEdge(new EdgeImpl<>(null), v1, v2);
+
+        // then
+        // exception that v2 is not part of the graph state
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAddEdgeFailAlreadyExists() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e, v1, v2);
+
+        // when
+        gs.addEdge(e, v2, v1);
+
+        // then
+        // exception that e is already part of the graph state
+    }
+
+    @Test
+    public void testIndices() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e, v2, v1);
+
+        // when
+        int i1 = gs.indexOf(v1);
+        int i2 = gs.indexOf(v2);
+        int ie = gs.indexOf(e);
+
+        // then
+        Assert.assertEquals(i1, 0);
+        Assert.assertEquals(i2, 1);
+        Assert.assertEquals(ie, 0);
+        Assert.assertEquals(gs.getVertex(i2), v2);
+        Assert.assertEquals(gs.getEdge(ie), e);
+        Assert.assertEquals(gs.vertexCount(), 2);
+        Assert.assertEquals(gs.edgeCount(), 1);
+    }
+
+    @Test
+    public void testEnsureCapacity() {
+        // given
+        CompactGraphStateImpl<Integer, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Integer, Void> v0 = new VertexImpl<>(0);
+        gs.addVertex(v0);
+
+        // when
+        gs.ensureCapacity(100, 100);
+        for (int i = 1; i < 100; i++) {
+            VertexImpl<Integer, Void> v = new VertexImpl<>(i);
+            gs.addVertex(v);
+            gs.addEdge(new EdgeImpl<>(null), v0, v);
+        }
+
+        // then
+        Assert.assertEquals(gs.vertexCount(), 100);
+        Assert.assertEquals(gs.edgeCount(), 99);
+        Assert.assertEquals(gs.getOutgoingEdges(v0).size(), 99);
+        Assert.assertSame(gs.getVertex(0), v0);
+    }
+
+    @Test
+    public void testColumnarMetaTags() {
+        // given
+        CompactGraphStateImpl<String, Void> gs = new CompactGraphStateImpl<>(true);
+        VertexImpl<String, Void> v1 = new VertexImpl<>("A");
+        VertexImpl<String, Void> v2 = new VertexImpl<>("B");
+        EdgeImpl<String, Void> e = new EdgeImpl<>(null);
+        v1.addMetaTag(new MetaTagImpl<>("weight", 1.5));
+        e.addMetaTag(new MetaTagImpl<>("label", "A-B"));
+
+        // when
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e, v1, v2);
+        v2.addMetaTag(new MetaTagImpl<>("weight", 3.0));
+
+        // then
+        ColumnarMetaTagStore vertexStore = gs.getVertexMetaTagStore().orElseThrow();
+        Assert.assertEquals(vertexStore.getDoubleColumn("weight").getDouble(gs.indexOf(v1)), 1.5);
+        Assert.assertEquals(vertexStore.getDoubleColumn("weight").filter(w -> w > 2).cardinality(), 1);
+        Assert.assertEquals(v2.getMetaTagValue("weight", Double.class), 3.0);
+        Assert.assertEquals(v1.getMetaTags().size(), 1);
+        Assert.assertEquals(e.<String>getMetaTagValue("label"), "A-B");
+        Assert.assertEquals(gs.getEdgeMetaTagStore().orElseThrow().getColumns().size(), 1);
+        Assert.assertFalse(new CompactGraphStateImpl<>().getVertexMetaTagStore().isPresent());
+    }
+
+    @Test
+    public void testColumnarMetaTagsConflict() {
+        // given
+        CompactGraphStateImpl<String, Void> gs = new CompactGraphStateImpl<>(true);
+        VertexImpl<String, Void> v1 = new VertexImpl<>("A");
+        VertexImpl<String, Void> v2 = new VertexImpl<>("B");
+        v1.addMetaTag(new MetaTagImpl<>("weight", 1.5));
+        v2.addMetaTag(new MetaTagImpl<>("weight", "heavy"));
+        gs.addVertex(v1);
+
+        // when
+        try {
+            gs.addVertex(v2);
+            Assert.fail("The vertex must be rejected, because its meta tag does not match the column");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        boolean added = v1.addMetaTag(new MetaTagImpl<>("weight", "light"));
+
+        // then
+        Assert.assertFalse(added);
+        Assert.assertEquals(gs.vertexCount(), 1);
+        Assert.assertEquals(gs.getVertices().size(), 1);
+        Assert.assertEquals(v2.<String>getMetaTagValue("weight"), "heavy");
+        Assert.assertEquals(v1.getMetaTagValue("weight", Double.class), 1.5);
+        v2.removeMetaTag("weight");
+        gs.addVertex(v2);
+        Assert.assertEquals(gs.indexOf(v2), 1);
+    }
+
+    @Test
+    public void testAdjacencyBeforeAndAfterCompaction() {
+        // given
+        int n = 3000;
+        CompactGraphStateImpl<Integer, Void> gs = new CompactGraphStateImpl<>();
+        List<VertexImpl<Integer, Void>> vertices = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            VertexImpl<Integer, Void> v = new VertexImpl<>(i);
+            vertices.add(v);
+            gs.addVertex(v);
+        }
+        // a ring, where the automatic compaction is triggered in between
+        for (int i = 0; i < n; i++) {
+            gs.addEdge(new EdgeImpl<>(null), vertices.get(i), vertices.get((i + 1) % n));
+        }
+
+        // when
+        Set<Edge<Integer, Void>> before = gs.getEdges(vertices.get(n - 1));
+        int sizeBefore = before.size();
+        gs.compact();
+        Set<Edge<Integer, Void>> after = gs.getEdges(vertices.get(n - 1));
+
+        // then
+        Assert.assertEquals(sizeBefore, 2);
+        Assert.assertEquals(after.size(), 2);
+        for (VertexImpl<Integer, Void> vertex : vertices) {
+            Assert.assertEquals(vertex.getEdges().size(), 2);
+            Assert.assertTrue(vertex.getEdges().stream()
+                    .anyMatch(e -> e.getSource() == vertex && e.getTarget().getElement() == (vertex.getElement() + 1) % n));
+        }
+    }
+
+    @Test
+    public void testAdjacentEdgeSizesWithSelfLoops() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(new EdgeImpl<>(null), v1, v2);
+        gs.addEdge(new EdgeImpl<>(null), v1, v1);
+        gs.compact();
+        gs.addEdge(new EdgeImpl<>(null), v2, v1);
+        gs.addEdge(new EdgeImpl<>(null), v1, v1);
+
+        // when
+        Set<Edge<Void, Void>> edges = gs.getEdges(v1);
+        Collection<Edge<Void, Void>> outgoing = gs.getOutgoingEdges(v1);
+        Collection<Edge<Void, Void>> incoming = gs.getIncomingEdges(v1);
+
+        // then
+        Assert.assertEquals(edges.size(), 4);
+        Assert.assertEquals(new ArrayList<>(edges).size(), 4);
+        Assert.assertEquals(outgoing.size(), 3);
+        Assert.assertEquals(new ArrayList<>(outgoing).size(), 3);
+        Assert.assertEquals(incoming.size(), 3);
+        Assert.assertEquals(new ArrayList<>(incoming).size(), 3);
+        Assert.assertSame(gs.getEdges(v1), edges);
+        gs.compact();
+        Assert.assertEquals(edges.size(), 4);
+        Assert.assertEquals(new ArrayList<>(edges).size(), 4);
+        Assert.assertFalse(gs.getEdges(v2).isEmpty());
+        Assert.assertEquals(gs.getEdges(v2).size(), 2);
+    }
+
+    @Test(expectedExceptions = ConcurrentModificationException.class)
+    public void testAdjacentEdgeIteratorFailsAfterCompaction() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(new EdgeImpl<>(null), v1, v2);
+        gs.addEdge(new EdgeImpl<>(null), v2, v1);
+        Iterator<Edge<Void, Void>> iterator = gs.getEdges(v1).iterator();
+        iterator.next();
+
+        // when
+        gs.compact();
+        iterator.next();
+    }
+
+    @Test
+    public void testModificationStamp() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        long initial = gs.getModificationStamp();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+
+        // when
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        long afterVertices = gs.getModificationStamp();
+        gs.addEdge(new EdgeImpl<>(null), v1, v2);
+        long afterEdge = gs.getModificationStamp();
+
+        // then
+        Assert.assertTrue(initial >= 0);
+        Assert.assertTrue(afterVertices > initial);
+        Assert.assertTrue(afterEdge > afterVertices);
+        Assert.assertEquals(gs.readonly().getModificationStamp(), afterEdge);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testRemoveVertex() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v = new VertexImpl<>(null);
+        gs.addVertex(v);
+
+        // when
+        gs.removeVertex(v);
+
+        // then
+        // exception - the compact graph state does not support removing vertices
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * <p>Test class for {@link ConcurrentGraphStateImpl}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class ConcurrentGraphStateImplTest {
+    private static final int THREADS = 8;
+
+    @Test
+    public void testConcurrentSelfLoops() throws Exception {
+        // given
+        int edgesPerThread = 500;
+        ConcurrentGraphStateImpl<Void, Void> gs = new ConcurrentGraphStateImpl<>();
+        VertexImpl<Void, Void> v = new VertexImpl<>(null);
+        gs.addVertex(v);
+        long initial = gs.getModificationStamp();
+
+        // when
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(THREADS);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executorService.submit(() -> {
+                    barrier.await();
+                    for (int j = 0; j < edgesPerThread; j++) {
+                        gs.addEdge(new EdgeImpl<>(null), v, v);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        // then
+        Assert.assertEquals(gs.getEdges(v).size(), THREADS * edgesPerThread);
+        Assert.assertEquals(gs.getOutgoingEdges(v).size(), THREADS * edgesPerThread);
+        Assert.assertEquals(gs.getModificationStamp() - initial, THREADS * edgesPerThread);
+    }
+}
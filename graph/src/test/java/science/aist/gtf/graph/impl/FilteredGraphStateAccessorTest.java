@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.Vertex;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>Test class for {@link FilteredGraphStateAccessor}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class FilteredGraphStateAccessorTest {
+
+    @Test
+    public void testFilteredEdges() {
+        // given
+        CompactGraphStateImpl<String, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<String, Void> v1 = new VertexImpl<>("1");
+        VertexImpl<String, Void> v2 = new VertexImpl<>("2");
+        VertexImpl<String, Void> v3 = new VertexImpl<>("3");
+        EdgeImpl<String, Void> e12 = new EdgeImpl<>(null);
+        EdgeImpl<String, Void> e23 = new EdgeImpl<>(null);
+        EdgeImpl<String, Void> e22 = new EdgeImpl<>(null);
+        for (VertexImpl<String, Void> v : List.of(v1, v2, v3)) {
+            gs.addVertex(v);
+        }
+        gs.addEdge(e12, v1, v2);
+        gs.addEdge(e23, v2, v3);
+        gs.addEdge(e22, v2, v2);
+
+        // when
+        GraphStateAccessor<String, Void> view = new FilteredGraphStateAccessor<>(gs, Set.of(v1, v2));
+
+        // then
+        Assert.assertEquals(view.vertexCount(), 2);
+        Assert.assertEquals(view.edgeCount(), 2);
+        Assert.assertEquals(view.getAllEdges(), Set.of(e12, e22));
+        Assert.assertEquals(view.getEdges(v2), Set.of(e12, e22));
+        Assert.assertEquals(view.getOutgoingEdges(v2).size(), 1);
+        Assert.assertEquals(view.getIncomingEdges(v2).size(), 2);
+        Assert.assertFalse(view.getAllEdges().contains(e23));
+        Assert.assertFalse(view.findEdge(v2, v3).isPresent());
+        Assert.assertEquals(view.getSource(e12), v1);
+        Assert.assertEquals(view.getModificationStamp(), gs.getModificationStamp());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testAccessUnselectedEdge() {
+        // given
+        GraphStateImpl<String, Void> gs = new GraphStateImpl<>();
+        VertexImpl<String, Void> v1 = new VertexImpl<>("1");
+        VertexImpl<String, Void> v2 = new VertexImpl<>("2");
+        Edge<String, Void> edge = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(edge, v1, v2);
+        GraphStateAccessor<String, Void> view = new FilteredGraphStateAccessor<>(gs, Set.<Vertex<String, Void>>of(v1));
+
+        // when
+        view.getTarget(edge);
+
+        // then
+        // exception - the target is not part of the view
+    }
+}
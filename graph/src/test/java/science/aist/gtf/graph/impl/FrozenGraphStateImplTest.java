@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.Vertex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * <p>Test class for {@link FrozenGraphStateImpl}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class FrozenGraphStateImplTest {
+
+    @Test
+    public void testGetVertices() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v = new VertexImpl<>(null);
+        gs.addVertex(v);
+
+        // when
+        Collection<Vertex<Void, Void>> vertices = new FrozenGraphStateImpl<>(gs).getVertices();
+
+        // then
+        Assert.assertEquals(vertices.size(), 1);
+        Assert.assertTrue(vertices.contains(v));
+        Assert.assertFalse(vertices.contains(new VertexImpl<>(null)));
+    }
+
+    @Test
+    public void testEdges() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e1 = new EdgeImpl<>(null);
+        EdgeImpl<Void, Void> e2 = new EdgeImpl<>(null);
+        EdgeImpl<Void, Void> loop = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e1, v1, v2);
+        gs.addEdge(e2, v2, v1);
+        gs.addEdge(loop, v1, v1);
+
+        // when
+        FrozenGraphStateImpl<Void, Void> frozen = new FrozenGraphStateImpl<>(gs);
+
+        // then
+        Assert.assertEquals(frozen.vertexCount(), 2);
+        Assert.assertEquals(frozen.edgeCount(), 3);
+        Assert.assertEquals(frozen.getAllEdges(), Set.of(e1, e2, loop));
+        Assert.assertEquals(frozen.getEdges(v1), Set.of(e1, e2, loop));
+        Assert.assertEquals(new ArrayList<>(frozen.getEdges(v1)).size(), 3);
+        Assert.assertEquals(frozen.getEdges(v2), Set.of(e1, e2));
+        Assert.assertEquals(Set.copyOf(frozen.getOutgoingEdges(v1)), Set.of(e1, loop));
+        Assert.assertEquals(Set.copyOf(frozen.getIncomingEdges(v1)), Set.of(e2, loop));
+        Assert.assertTrue(frozen.getOutgoingEdges(v1).contains(loop));
+        Assert.assertFalse(frozen.getOutgoingEdges(v1).contains(e2));
+        Assert.assertEquals(frozen.getSource(e1), v1);
+        Assert.assertEquals(frozen.getTarget(e1), v2);
+    }
+
+    @Test
+    public void testFindEdge() {
+        // given
+        GraphStateImpl<Integer, Void> gs = new GraphStateImpl<>();
+        List<VertexImpl<Integer, Void>> v = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            v.add(new VertexImpl<>(i));
+            gs.addVertex(v.get(i));
+        }
+        EdgeImpl<Integer, Void> loop = new EdgeImpl<>(null);
+        gs.addEdge(new EdgeImpl<>(null), v.get(0), v.get(4));
+        gs.addEdge(new EdgeImpl<>(null), v.get(0), v.get(2));
+        gs.addEdge(new EdgeImpl<>(null), v.get(0), v.get(1));
+        gs.addEdge(new EdgeImpl<>(null), v.get(3), v.get(0));
+        gs.addEdge(loop, v.get(0), v.get(0));
+        FrozenGraphStateImpl<Integer, Void> frozen = new FrozenGraphStateImpl<>(gs);
+
+        // when
+        Optional<Edge<Integer, Void>> edge = frozen.findEdge(v.get(0), v.get(2));
+
+        // then
+        Assert.assertTrue(edge.isPresent());
+        Assert.assertSame(frozen.getTarget(edge.get()), v.get(2));
+        Assert.assertSame(frozen.getTarget(frozen.findEdge(v.get(0), v.get(4)).orElseThrow()), v.get(4));
+        Assert.assertSame(frozen.getTarget(frozen.findEdge(v.get(0), v.get(1)).orElseThrow()), v.get(1));
+        Assert.assertSame(frozen.findEdge(v.get(0), v.get(0)).orElseThrow(), loop);
+        Assert.assertFalse(frozen.findEdge(v.get(0), v.get(3)).isPresent());
+        Assert.assertTrue(frozen.findEdge(v.get(3), v.get(0)).isPresent());
+        Assert.assertFalse(frozen.findEdge(v.get(1), v.get(1)).isPresent());
+        Assert.assertFalse(frozen.findEdge(v.get(2), v.get(0)).isPresent());
+    }
+
+    @Test
+    public void testTakesOwnership() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e, v1, v2);
+
+        // when
+        FrozenGraphStateImpl<Void, Void> frozen = new FrozenGraphStateImpl<>(gs);
+
+        // then
+        Assert.assertSame(v1.getGraphState(), frozen);
+        Assert.assertSame(e.getGraphState(), frozen);
+        Assert.assertSame(frozen.getVertex(frozen.indexOf(v2)), v2);
+        Assert.assertSame(frozen.getEdge(frozen.indexOf(e)), e);
+        Assert.assertSame(e.getSource(), v1);
+        Assert.assertSame(e.getTarget(), v2);
+    }
+
+    @Test
+    public void testViewsAreCached() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        gs.addVertex(v1);
+        FrozenGraphStateImpl<Void, Void> frozen = new FrozenGraphStateImpl<>(gs);
+
+        // when
+        Set<Edge<Void, Void>> edges = frozen.getEdges(v1);
+
+        // then
+        Assert.assertSame(frozen.getEdges(v1), edges);
+        Assert.assertSame(frozen.getOutgoingEdges(v1), frozen.getOutgoingEdges(v1));
+        Assert.assertSame(frozen.getIncomingEdges(v1), frozen.getIncomingEdges(v1));
+        Assert.assertSame(frozen.getAdjacentVertices(v1), frozen.getAdjacentVertices(v1));
+    }
+
+    @Test
+    public void testGetAdjacentVertices() {
+        // given
+        GraphStateImpl<Integer, Void> gs = new GraphStateImpl<>();
+        List<VertexImpl<Integer, Void>> v = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            v.add(new VertexImpl<>(i));
+            gs.addVertex(v.get(i));
+        }
+        gs.addEdge(new EdgeImpl<>(null), v.get(1), v.get(0));
+        gs.addEdge(new EdgeImpl<>(null), v.get(0), v.get(2));
+        gs.addEdge(new EdgeImpl<>(null), v.get(0), v.get(1));
+        FrozenGraphStateImpl<Integer, Void> frozen = new FrozenGraphStateImpl<>(gs);
+
+        // when
+        Collection<Vertex<Integer, Void>> adjacentVertices = frozen.getAdjacentVertices(v.get(0));
+
+        // then
+        Assert.assertEquals(adjacentVertices.size(), 2);
+        Assert.assertEquals(adjacentVertices.iterator().next(), v.get(1));
+        Assert.assertTrue(adjacentVertices.contains(v.get(2)));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testImmutable() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        gs.addVertex(v1);
+        FrozenGraphStateImpl<Void, Void> frozen = new FrozenGraphStateImpl<>(gs);
+
+        // when
+        frozen.getEdges(v1).add(new EdgeImpl<>(null));
+
+        // then
+        // exception - the snapshot is immutable
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testGetEdgesFail() {
+        // given
+        FrozenGraphStateImpl<Void, Void> frozen = new FrozenGraphStateImpl<>(new GraphStateImpl<>());
+
+        // when
+        frozen.getEdges(new VertexImpl<>(null));
+
+        // then
+        // exception that the vertex is not contained
+    }
+
+    @Test
+    public void testCopiesColumnarMetaTags() {
+        // given
+        CompactGraphStateImpl<String, Void> gs = new CompactGraphStateImpl<>(true);
+        VertexImpl<String, Void> v1 = new VertexImpl<>("A");
+        VertexImpl<String, Void> v2 = new VertexImpl<>("B");
+        EdgeImpl<String, Void> e = new EdgeImpl<>(null);
+        v1.addMetaTag(new MetaTagImpl<>("weight", 1.5));
+        e.addMetaTag(new MetaTagImpl<>("label", "A-B"));
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e, v1, v2);
+
+        // when
+        FrozenGraphStateImpl<String, Void> frozen = new FrozenGraphStateImpl<>(gs.readonly());
+
+        // then
+        Assert.assertFalse(frozen.getVertexMetaTagStore().isPresent());
+        Assert.assertEquals(v1.getMetaTagValue("weight", Double.class), 1.5);
+        Assert.assertEquals(v1.getMetaTags().size(), 1);
+        Assert.assertTrue(v2.getMetaTags().isEmpty());
+        Assert.assertEquals(e.<String>getMetaTagValue("label"), "A-B");
+    }
+}
@@ -20,7 +20,11 @@ import science.aist.gtf.graph.traversal.TraversalStrategy;
 import science.aist.jack.general.util.CastUtils;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -134,4 +138,79 @@ public class GraphImplTest {
         Assert.assertTrue(edges.contains(e1));
         Assert.assertTrue(edges.contains(e2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testStream() {
+        // given
+        CompactGraphStateImpl<Integer, Void> x = new CompactGraphStateImpl<>();
+        IntStream.range(0, 1000).forEach(i -> x.addVertex(new VertexImpl<>(i)));
+        Graph<Integer, Void> graph = GraphImpl.create(x);
+
+        // when
+        Spliterator<Vertex<Integer, Void>> spliterator = graph.stream().spliterator();
+        Spliterator<Vertex<Integer, Void>> prefix = spliterator.trySplit();
+
+        // then
+        Assert.assertNotNull(prefix);
+        Assert.assertTrue(prefix.hasCharacteristics(Spliterator.SIZED));
+        Assert.assertEquals(prefix.getExactSizeIfKnown() + spliterator.getExactSizeIfKnown(), 1000);
+    }
+
+    @Test
+    public void testParallelStream() {
+        // given
+        CompactGraphStateImpl<Integer, Void> x = new CompactGraphStateImpl<>();
+        IntStream.range(0, 1000).forEach(i -> x.addVertex(new VertexImpl<>(i)));
+        Graph<Integer, Void> graph = GraphImpl.create(x);
+
+        // when
+        List<Integer> values = graph.parallelStream().map(Vertex::getElement).collect(Collectors.toList());
+
+        // then
+        Assert.assertEquals(values, IntStream.range(0, 1000).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testEdgeStream() {
+        // given
+        GraphState<Void, Void> x = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v3 = new VertexImpl<>(null);
+        Stream.of(v1, v2, v3).forEach(x::addVertex);
+        EdgeImpl<Void, Void> e1 = new EdgeImpl<>(null);
+        EdgeImpl<Void, Void> e2 = new EdgeImpl<>(null);
+        x.addEdge(e1, v1, v2);
+        x.addEdge(e2, v2, v3);
+        Graph<Void, Void> graph = GraphImpl.create(x);
+
+        // when
+        Set<Edge<Void, Void>> edges = graph.edgeStream().collect(Collectors.toSet());
+        Set<Edge<Void, Void>> parallelEdges = graph.parallelEdgeStream().collect(Collectors.toSet());
+
+        // then
+        Assert.assertEquals(edges, Set.of(e1, e2));
+        Assert.assertEquals(parallelEdges, Set.of(e1, e2));
+    }
+
+    @Test
+    public void testDepthFirstStream() {
+        // given
+        CompactGraphStateImpl<Integer, Void> x = new CompactGraphStateImpl<>();
+        VertexImpl<Integer, Void> v1 = new VertexImpl<>(1);
+        VertexImpl<Integer, Void> v2 = new VertexImpl<>(2);
+        VertexImpl<Integer, Void> v3 = new VertexImpl<>(3);
+        Stream.of(v2, v1, v3).forEach(x::addVertex);
+        x.addEdge(new EdgeImpl<>(null), v2, v3);
+        x.addEdge(new EdgeImpl<>(null), v3, v1);
+        Graph<Integer, Void> graph = GraphImpl.create(x);
+
+        // when
+        List<Integer> storageOrder = graph.stream().map(Vertex::getElement).collect(Collectors.toList());
+        List<Integer> traversalOrder = graph.depthFirstStream().map(Vertex::getElement).collect(Collectors.toList());
+
+        // then
+        Assert.assertEquals(storageOrder, List.of(2, 1, 3));
+        Assert.assertEquals(traversalOrder, List.of(2, 3, 1));
+    }
+}
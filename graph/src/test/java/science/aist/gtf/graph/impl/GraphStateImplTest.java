@@ -14,9 +14,13 @@ import org.testng.annotations.Test;
 import science.aist.gtf.graph.Edge;
 import science.aist.gtf.graph.GraphState;
 import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.GraphStateListener;
 import science.aist.gtf.graph.Vertex;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -63,6 +67,154 @@ public class GraphStateImplTest {
         Assert.assertTrue(edges.contains(e));
     }
 
+    @Test
+    public void testGetOutgoingAndIncomingEdges() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e1 = new EdgeImpl<>(null);
+        EdgeImpl<Void, Void> e2 = new EdgeImpl<>(null);
+        EdgeImpl<Void, Void> loop = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e1, v1, v2);
+        gs.addEdge(e2, v2, v1);
+        gs.addEdge(loop, v1, v1);
+
+        // when
+        Collection<Edge<Void, Void>> outgoing = gs.getOutgoingEdges(v1);
+        Collection<Edge<Void, Void>> incoming = gs.getIncomingEdges(v1);
+
+        // then
+        Assert.assertEquals(outgoing.size(), 2);
+        Assert.assertTrue(outgoing.contains(e1));
+        Assert.assertTrue(outgoing.contains(loop));
+        Assert.assertFalse(outgoing.contains(e2));
+        Assert.assertEquals(incoming.size(), 2);
+        Assert.assertTrue(incoming.contains(e2));
+        Assert.assertTrue(incoming.contains(loop));
+        Assert.assertFalse(incoming.contains(e1));
+        Assert.assertEquals(gs.getEdges(v1).size(), 3);
+        Assert.assertEquals(new ArrayList<>(gs.getEdges(v1)).size(), 3);
+    }
+
+    @Test
+    public void testGetAllEdgesAndCounts() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v3 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e1 = new EdgeImpl<>(null);
+        EdgeImpl<Void, Void> e2 = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addVertex(v3);
+        gs.addEdge(e1, v1, v2);
+        gs.addEdge(e2, v2, v2);
+
+        // when
+        Set<Edge<Void, Void>> allEdges = gs.getAllEdges();
+
+        // then
+        Assert.assertEquals(allEdges.size(), 2);
+        Assert.assertTrue(allEdges.contains(e1));
+        Assert.assertTrue(allEdges.contains(e2));
+        Assert.assertFalse(allEdges.contains(new EdgeImpl<>(null)));
+        Assert.assertEquals(new ArrayList<>(allEdges).size(), 2);
+        Assert.assertEquals(gs.vertexCount(), 3);
+        Assert.assertEquals(gs.edgeCount(), 2);
+    }
+
+    @Test
+    public void testFindEdge() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e1 = new EdgeImpl<>(null);
+        EdgeImpl<Void, Void> e2 = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e1, v1, v2);
+        gs.addEdge(e2, v2, v2);
+
+        // when
+        Optional<Edge<Void, Void>> edge = gs.findEdge(v1, v2);
+
+        // then
+        Assert.assertTrue(edge.isPresent());
+        Assert.assertSame(edge.get(), e1);
+        Assert.assertSame(gs.findEdge(v2, v2).orElseThrow(), e2);
+        Assert.assertFalse(gs.findEdge(v2, v1).isPresent());
+        Assert.assertFalse(gs.findEdge(v1, v1).isPresent());
+        Assert.assertFalse(gs.findEdge(v1, new VertexImpl<>(null)).isPresent());
+    }
+
+    @Test
+    public void testGetEdgesSizeWithSelfLoops() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> loop1 = new EdgeImpl<>(null);
+        EdgeImpl<Void, Void> loop2 = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(new EdgeImpl<>(null), v1, v2);
+        gs.addEdge(new EdgeImpl<>(null), v2, v1);
+        gs.addEdge(loop1, v1, v1);
+        gs.addEdge(loop2, v1, v1);
+
+        // when
+        int sizeWithLoops = gs.getEdges(v1).size();
+        gs.removeEdge(loop1);
+
+        // then
+        Assert.assertEquals(sizeWithLoops, 4);
+        Assert.assertEquals(gs.getEdges(v1).size(), 3);
+        Assert.assertEquals(new ArrayList<>(gs.getEdges(v1)).size(), 3);
+        Assert.assertEquals(gs.getEdges(v2).size(), 2);
+    }
+
+    @Test
+    public void testFindEdgeHighOutDegree() {
+        // given
+        GraphStateImpl<Integer, Void> gs = new GraphStateImpl<>();
+        VertexImpl<Integer, Void> source = new VertexImpl<>(-1);
+        gs.addVertex(source);
+        List<VertexImpl<Integer, Void>> targets = new ArrayList<>();
+        List<EdgeImpl<Integer, Void>> edges = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            VertexImpl<Integer, Void> target = new VertexImpl<>(i);
+            EdgeImpl<Integer, Void> edge = new EdgeImpl<>(null);
+            gs.addVertex(target);
+            gs.addEdge(edge, source, target);
+            targets.add(target);
+            edges.add(edge);
+        }
+        EdgeImpl<Integer, Void> parallel = new EdgeImpl<>(null);
+        gs.addEdge(parallel, source, targets.get(5));
+
+        // when
+        gs.removeEdge(edges.get(5));
+        gs.removeEdge(edges.get(6));
+
+        // then
+        for (int i = 0; i < 20; i++) {
+            Optional<Edge<Integer, Void>> found = gs.findEdge(source, targets.get(i));
+            if (i == 5) {
+                Assert.assertSame(found.orElseThrow(), parallel);
+            } else if (i == 6) {
+                Assert.assertFalse(found.isPresent());
+            } else {
+                Assert.assertSame(found.orElseThrow(), edges.get(i));
+            }
+        }
+        Assert.assertFalse(gs.findEdge(targets.get(0), source).isPresent());
+    }
+
     @Test(expectedExceptions = IllegalStateException.class)
     public void testGetEdgesFail() {
         // given
@@ -263,4 +415,101 @@ public class GraphStateImplTest {
         Assert.assertEquals(readonly.getSource(e), v1);
         Assert.assertEquals(readonly.getTarget(e), v2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testModificationStamp() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+        long initial = gs.getModificationStamp();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+
+        // when
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        long afterVertices = gs.getModificationStamp();
+        gs.addEdge(new EdgeImpl<>(null), v1, v2);
+        long afterEdge = gs.getModificationStamp();
+
+        // then
+        Assert.assertTrue(initial >= 0);
+        Assert.assertTrue(afterVertices > initial);
+        Assert.assertTrue(afterEdge > afterVertices);
+        Assert.assertEquals(gs.readonly().getModificationStamp(), afterEdge);
+    }
+
+    @Test
+    public void testRemoveEdge() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e1 = new EdgeImpl<>(null);
+        EdgeImpl<Void, Void> e2 = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e1, v1, v2);
+        gs.addEdge(e2, v1, v2);
+        long stamp = gs.getModificationStamp();
+
+        // when
+        gs.removeEdge(gs.findEdge(v1, v2).orElseThrow());
+
+        // then
+        Assert.assertEquals(gs.edgeCount(), 1);
+        Assert.assertEquals(gs.getOutgoingEdges(v1).size(), 1);
+        Assert.assertEquals(gs.getIncomingEdges(v2).size(), 1);
+        Assert.assertTrue(gs.findEdge(v1, v2).isPresent());
+        Assert.assertTrue(gs.getModificationStamp() > stamp);
+    }
+
+    @Test
+    public void testRemoveVertex() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v3 = new VertexImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addVertex(v3);
+        gs.addEdge(new EdgeImpl<>(null), v1, v2);
+        gs.addEdge(new EdgeImpl<>(null), v2, v3);
+        gs.addEdge(new EdgeImpl<>(null), v2, v2);
+        List<String> events = new ArrayList<>();
+        gs.addListener(new GraphStateListener<>() {
+            @Override
+            public void onEdgeRemoved(Edge<Void, Void> edge, Vertex<Void, Void> source, Vertex<Void, Void> target) {
+                events.add("edge");
+            }
+
+            @Override
+            public void onVertexRemoved(Vertex<Void, Void> vertex) {
+                events.add("vertex");
+            }
+        });
+
+        // when
+        gs.removeVertex(v2);
+
+        // then
+        Assert.assertEquals(gs.vertexCount(), 2);
+        Assert.assertEquals(gs.edgeCount(), 0);
+        Assert.assertTrue(gs.getEdges(v1).isEmpty());
+        Assert.assertTrue(gs.getEdges(v3).isEmpty());
+        Assert.assertFalse(gs.getVertices().contains(v2));
+        Assert.assertEquals(events, List.of("edge", "edge", "edge", "vertex"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testRemoveUnknownEdge() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+
+        // when
+        gs.removeEdge(new EdgeImpl<>(null));
+
+        // then
+        // exception - the edge is not part of the graph state
+    }
+}
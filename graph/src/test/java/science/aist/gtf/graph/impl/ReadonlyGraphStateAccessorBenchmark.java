@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.GraphState;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.Vertex;
+import science.aist.jack.general.util.CastUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>Micro benchmark, that compares the edge navigation using the reflective proxy, that was formerly returned by
+ * {@link GraphState#readonly()}, with the {@link ReadonlyGraphStateAccessor}.</p>
+ * <p>This is no test case and therefore not executed during the build, run it manually using the main method.</p>
+ *
+ * @author Andreas Pointner
+ */
+public class ReadonlyGraphStateAccessorBenchmark {
+    private static final int VERTICES = 100_000;
+    private static final int EDGES_PER_VERTEX = 5;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    /**
+     * Runs the benchmark
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        GraphStateImpl<Integer, Void> graphState = createGraphState();
+        GraphStateAccessor<Integer, Void> proxy = CastUtils.cast(Proxy.newProxyInstance(
+                Thread.currentThread().getContextClassLoader(),
+                new Class[]{GraphStateAccessor.class},
+                (p, method, arguments) -> method.invoke(graphState, arguments)));
+        GraphStateAccessor<Integer, Void> wrapper = graphState.readonly();
+
+        System.out.printf("proxy:   %d ms%n", measure(proxy));
+        System.out.printf("wrapper: %d ms%n", measure(wrapper));
+    }
+
+    private static GraphStateImpl<Integer, Void> createGraphState() {
+        GraphStateImpl<Integer, Void> graphState = new GraphStateImpl<>();
+        List<VertexImpl<Integer, Void>> vertices = new ArrayList<>(VERTICES);
+        for (int i = 0; i < VERTICES; i++) {
+            VertexImpl<Integer, Void> vertex = new VertexImpl<>(i);
+            vertices.add(vertex);
+            graphState.addVertex(vertex);
+        }
+        Random random = new Random(42);
+        for (VertexImpl<Integer, Void> source : vertices) {
+            for (int i = 0; i < EDGES_PER_VERTEX; i++) {
+                graphState.addEdge(new EdgeImpl<>(null), source, vertices.get(random.nextInt(VERTICES)));
+            }
+        }
+        return graphState;
+    }
+
+    private static long measure(GraphStateAccessor<Integer, Void> accessor) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            navigate(accessor);
+        }
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            checksum += navigate(accessor);
+        }
+        long duration = (System.nanoTime() - start) / 1_000_000;
+        if (checksum == 42)
+            System.out.println(); // use the checksum, so that the navigation is not eliminated
+        return duration;
+    }
+
+    private static long navigate(GraphStateAccessor<Integer, Void> accessor) {
+        long sum = 0;
+        for (Vertex<Integer, Void> vertex : accessor.getVertices()) {
+            for (Edge<Integer, Void> edge : accessor.getOutgoingEdges(vertex)) {
+                sum += accessor.getTarget(edge).getElement();
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.GraphState;
+import science.aist.gtf.graph.GraphStateAccessor;
+import science.aist.gtf.graph.IndexedGraphStateAccessor;
+
+/**
+ * <p>Test class for {@link ReadonlyGraphStateAccessor}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class ReadonlyGraphStateAccessorTest {
+
+    @Test
+    public void testOf() {
+        // given
+        GraphStateImpl<Void, Void> gs = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e, v1, v2);
+
+        // when
+        GraphStateAccessor<Void, Void> readonly = ReadonlyGraphStateAccessor.of(gs);
+
+        // then
+        Assert.assertFalse(readonly instanceof GraphState);
+        Assert.assertFalse(readonly instanceof IndexedGraphStateAccessor);
+        Assert.assertEquals(readonly.vertexCount(), 2);
+        Assert.assertEquals(readonly.edgeCount(), 1);
+        Assert.assertTrue(readonly.getAllEdges().contains(e));
+        Assert.assertTrue(readonly.getOutgoingEdges(v1).contains(e));
+        Assert.assertTrue(readonly.getIncomingEdges(v2).contains(e));
+        Assert.assertEquals(readonly.getSource(e), v1);
+        Assert.assertEquals(readonly.getTarget(e), v2);
+    }
+
+    @Test
+    public void testOfIndexed() {
+        // given
+        CompactGraphStateImpl<Void, Void> gs = new CompactGraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        EdgeImpl<Void, Void> e = new EdgeImpl<>(null);
+        gs.addVertex(v1);
+        gs.addVertex(v2);
+        gs.addEdge(e, v1, v2);
+
+        // when
+        GraphStateAccessor<Void, Void> readonly = ReadonlyGraphStateAccessor.of(gs);
+
+        // then
+        Assert.assertFalse(readonly instanceof GraphState);
+        Assert.assertTrue(readonly instanceof IndexedGraphStateAccessor);
+        IndexedGraphStateAccessor<Void, Void> indexed = (IndexedGraphStateAccessor<Void, Void>) readonly;
+        Assert.assertEquals(indexed.indexOf(v2), 1);
+        Assert.assertEquals(indexed.getVertex(1), v2);
+        Assert.assertEquals(indexed.indexOf(e), 0);
+        Assert.assertEquals(indexed.getEdge(0), e);
+    }
+
+    @Test
+    public void testOfDoesNotWrapTwice() {
+        // given
+        GraphStateAccessor<Void, Void> readonly = ReadonlyGraphStateAccessor.of(new GraphStateImpl<>());
+
+        // when
+        GraphStateAccessor<Void, Void> readonlyAgain = ReadonlyGraphStateAccessor.of(readonly);
+
+        // then
+        Assert.assertSame(readonlyAgain, readonly);
+    }
+
+    @Test
+    public void testReadonlyIsCached() {
+        // given
+        GraphState<Void, Void> gs = new GraphStateImpl<>();
+
+        // when
+        GraphStateAccessor<Void, Void> readonly = gs.readonly();
+
+        // then
+        Assert.assertSame(gs.readonly(), readonly);
+    }
+}
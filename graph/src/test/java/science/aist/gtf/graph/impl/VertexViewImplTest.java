@@ -169,7 +169,7 @@ public class VertexViewImplTest {
         vv.getAdjacentVertices();
 
         // then
-        Mockito.verify(graphState, Mockito.times(2)).getEdges(any());
+        Mockito.verify(graphState, Mockito.times(1)).getAdjacentVertices(any());
         Mockito.verifyNoMoreInteractions(graphState);
         Mockito.verifyNoMoreInteractions(vertex);
     }
@@ -203,7 +203,7 @@ public class VertexViewImplTest {
         vv.getIncomingEdges();
 
         // then
-        Mockito.verify(graphState, Mockito.times(1)).getEdges(any());
+        Mockito.verify(graphState, Mockito.times(1)).getIncomingEdges(any());
         Mockito.verifyNoMoreInteractions(graphState);
         Mockito.verifyNoMoreInteractions(vertex);
     }
@@ -220,7 +220,7 @@ public class VertexViewImplTest {
         vv.getOutgoingEdges();
 
         // then
-        Mockito.verify(graphState, Mockito.times(1)).getEdges(any());
+        Mockito.verify(graphState, Mockito.times(1)).getOutgoingEdges(any());
         Mockito.verifyNoMoreInteractions(graphState);
         Mockito.verifyNoMoreInteractions(vertex);
     }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl.iterator;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.Graph;
+import science.aist.gtf.graph.Vertex;
+import science.aist.gtf.graph.builder.GraphBuilder;
+import science.aist.gtf.graph.builder.impl.GraphBuilderImpl;
+import science.aist.gtf.graph.factory.GraphFactoryFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Test class for {@link DepthFirstSearchGraphIterator}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class DepthFirstSearchGraphIteratorTest {
+
+    @Test
+    public void testDepthFirstOrder() {
+        // given
+        Graph<String, Void> graph = GraphBuilderImpl.<String, Void>create(GraphFactoryFactory.getCompactFactory())
+                .from("A").to("B")
+                .from("B").to("C")
+                .from("A").to("D")
+                .from("D").to("B")
+                .toGraph();
+
+        // when
+        List<String> visited = iterate(graph);
+
+        // then
+        Assert.assertEquals(visited, List.of("A", "B", "C", "D"));
+    }
+
+    @Test
+    public void testDisconnectedGraphAndCycles() {
+        // given
+        Graph<Integer, Void> graph = GraphBuilderImpl.<Integer, Void>create()
+                .from(1).to(2)
+                .from(2).to(1)
+                .from(3).to(3)
+                .from(4).to(2)
+                .toGraph();
+
+        // when
+        List<Integer> visited = iterate(graph);
+
+        // then
+        Assert.assertEquals(visited.size(), 4);
+        Assert.assertTrue(visited.containsAll(List.of(1, 2, 3, 4)));
+        // the cycle is always visited within the same search tree
+        Assert.assertEquals(Math.abs(visited.indexOf(1) - visited.indexOf(2)), 1);
+    }
+
+    @Test
+    public void testLongPath() {
+        // given
+        int n = 1_000_000;
+        GraphBuilder<Integer, Void> builder = GraphBuilderImpl.<Integer, Void>create(GraphFactoryFactory.getCompactFactory());
+        for (int i = 0; i < n - 1; i++) {
+            builder.from(i).to(i + 1);
+        }
+        Graph<Integer, Void> graph = builder.toGraph();
+
+        // when
+        List<Integer> visited = iterate(graph);
+
+        // then
+        Assert.assertEquals(visited.size(), n);
+        for (int i = 0; i < n; i++) {
+            Assert.assertEquals(visited.get(i).intValue(), i);
+        }
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void testNextFail() {
+        // given
+        Graph<Integer, Void> graph = GraphBuilderImpl.<Integer, Void>create().addVertex(1).toGraph();
+        Iterator<Vertex<Integer, Void>> iterator = new DepthFirstSearchGraphIterator<>(graph);
+        iterator.next();
+
+        // when
+        iterator.next();
+
+        // then
+        // exception - there are no more vertices
+    }
+
+    private static <V> List<V> iterate(Graph<V, Void> graph) {
+        List<V> visited = new ArrayList<>();
+        Iterator<Vertex<V, Void>> iterator = new DepthFirstSearchGraphIterator<>(graph);
+        while (iterator.hasNext()) {
+            visited.add(iterator.next().getElement());
+        }
+        return visited;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl.traversal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.Edge;
+import science.aist.gtf.graph.Graph;
+import science.aist.gtf.graph.builder.impl.GraphBuilderImpl;
+import science.aist.gtf.graph.factory.GraphFactoryFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Test class for {@link BreadthFirstSearchTraversalStrategy}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class BreadthFirstSearchTraversalStrategyTest {
+
+    @Test
+    public void testLevelOrder() {
+        // given
+        Graph<String, Void> graph = GraphBuilderImpl.<String, Void>create(GraphFactoryFactory.getCompactFactory())
+                .from("A").to("B")
+                .from("B").to("D")
+                .from("A").to("C")
+                .from("C").to("D")
+                .from("D").to("A")
+                .toGraph();
+        graph.setVertexTraversalStrategy(new BreadthFirstSearchTraversalStrategy<>(graph));
+        List<String> vertices = new ArrayList<>();
+        List<Edge<String, Void>> edges = new ArrayList<>();
+
+        // when
+        graph.traverseEdges(v -> vertices.add(v.getElement()), edges::add);
+
+        // then
+        Assert.assertEquals(vertices, List.of("A", "B", "C", "D"));
+        Assert.assertEquals(edges.size(), 5);
+        Assert.assertEquals(edges.get(0).getSource().getElement(), "A");
+        Assert.assertEquals(edges.get(4).getSource().getElement(), "D");
+    }
+
+    @Test
+    public void testDisconnectedGraph() {
+        // given
+        Graph<Integer, Void> graph = GraphBuilderImpl.<Integer, Void>create()
+                .from(1).to(2)
+                .from(3).to(3)
+                .from(4).to(2)
+                .toGraph();
+        BreadthFirstSearchTraversalStrategy<Integer, Void> strategy = new BreadthFirstSearchTraversalStrategy<>(graph);
+        List<Integer> vertices = new ArrayList<>();
+
+        // when
+        strategy.traverse(v -> vertices.add(v.getElement()));
+        strategy.traverse(v -> vertices.add(v.getElement()));
+
+        // then
+        Assert.assertEquals(vertices.size(), 8);
+        Assert.assertTrue(vertices.subList(0, 4).containsAll(List.of(1, 2, 3, 4)));
+        Assert.assertEquals(vertices.subList(0, 4), vertices.subList(4, 8));
+    }
+}
@@ -10,12 +10,16 @@
 package science.aist.gtf.graph.impl.traversal;
 
 import org.mockito.Mockito;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 import science.aist.gtf.graph.Graph;
 import science.aist.gtf.graph.GraphState;
 import science.aist.gtf.graph.impl.*;
 import science.aist.jack.general.util.CastUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 /**
@@ -69,4 +73,31 @@ public class DepthFirstSearchTraversalStrategyTest {
         Mockito.verify(vv, Mockito.times(1)).visit(v2);
         Mockito.verify(ev, Mockito.times(1)).visit(e1);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testTraverseLongPath() {
+        // given
+        int n = 500_000;
+        GraphState<Integer, Void> x = new GraphStateImpl<>();
+        VertexImpl<Integer, Void> previous = new VertexImpl<>(0);
+        x.addVertex(previous);
+        for (int i = 1; i < n; i++) {
+            VertexImpl<Integer, Void> vertex = new VertexImpl<>(i);
+            x.addVertex(vertex);
+            x.addEdge(new EdgeImpl<>(null), previous, vertex);
+            previous = vertex;
+        }
+        DepthFirstSearchTraversalStrategy<Integer, Void> depthFirstSearchTraversalStrategy = new DepthFirstSearchTraversalStrategy<>(GraphImpl.create(x));
+        List<Integer> visited = new ArrayList<>();
+        AtomicInteger visitedEdges = new AtomicInteger();
+
+        // when
+        depthFirstSearchTraversalStrategy.traverse(v -> visited.add(v.getElement()), e -> visitedEdges.incrementAndGet());
+        depthFirstSearchTraversalStrategy.traverse(v -> visited.add(v.getElement()), e -> visitedEdges.incrementAndGet());
+
+        // then
+        Assert.assertEquals(visited.size(), 2 * n);
+        Assert.assertEquals(visitedEdges.get(), 2 * (n - 1));
+        Assert.assertTrue(visited.indexOf(n - 1) < visited.indexOf(0));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl.traversal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.Graph;
+import science.aist.gtf.graph.builder.GraphBuilder;
+import science.aist.gtf.graph.builder.impl.GraphBuilderImpl;
+import science.aist.gtf.graph.factory.GraphFactory;
+import science.aist.gtf.graph.factory.GraphFactoryFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Test class for {@link ParallelBreadthFirstTraversalStrategy}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class ParallelBreadthFirstTraversalStrategyTest {
+    private static final int TREE_SIZE = (1 << 14) - 1;
+
+    @Test
+    public void testLevelOrder() {
+        // given - a complete binary tree, where the level of a vertex i is floor(log2(i + 1))
+        Graph<Integer, Void> graph = createBinaryTree(GraphFactoryFactory.getCompactFactory());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ParallelBreadthFirstTraversalStrategy<Integer, Void> strategy = new ParallelBreadthFirstTraversalStrategy<>(graph, pool, 16);
+        Queue<Integer> visited = new ConcurrentLinkedQueue<>();
+        AtomicInteger edges = new AtomicInteger();
+
+        // when
+        try {
+            strategy.traverse(v -> visited.add(v.getElement()), e -> edges.incrementAndGet());
+        } finally {
+            pool.shutdown();
+        }
+
+        // then
+        Assert.assertEquals(visited.size(), TREE_SIZE);
+        Assert.assertEquals(visited.stream().distinct().count(), TREE_SIZE);
+        Assert.assertEquals(edges.get(), TREE_SIZE - 1);
+        List<Integer> levels = new ArrayList<>();
+        for (Integer i : visited) {
+            levels.add(31 - Integer.numberOfLeadingZeros(i + 1));
+        }
+        for (int i = 1; i < levels.size(); i++) {
+            Assert.assertTrue(levels.get(i - 1) <= levels.get(i));
+        }
+    }
+
+    @Test
+    public void testNotIndexedGraphState() {
+        // given
+        Graph<Integer, Void> graph = createBinaryTree(GraphFactoryFactory.getConcurrentFactory());
+        ParallelBreadthFirstTraversalStrategy<Integer, Void> strategy = new ParallelBreadthFirstTraversalStrategy<>(graph, ForkJoinPool.commonPool(), 16);
+        Queue<Integer> visited = new ConcurrentLinkedQueue<>();
+        AtomicInteger edges = new AtomicInteger();
+
+        // when
+        strategy.traverse(v -> visited.add(v.getElement()), e -> edges.incrementAndGet());
+
+        // then
+        Assert.assertEquals(visited.size(), TREE_SIZE);
+        Assert.assertEquals(visited.stream().distinct().count(), TREE_SIZE);
+        Assert.assertEquals(edges.get(), TREE_SIZE - 1);
+    }
+
+    @Test
+    public void testDisconnectedGraph() {
+        // given
+        Graph<Integer, Void> graph = GraphBuilderImpl.<Integer, Void>create()
+                .from(1).to(2)
+                .from(2).to(1)
+                .from(3).to(4)
+                .toGraph();
+        graph.setVertexTraversalStrategy(new ParallelBreadthFirstTraversalStrategy<>(graph));
+        Queue<Integer> visited = new ConcurrentLinkedQueue<>();
+
+        // when
+        graph.traverseVertices(v -> visited.add(v.getElement()));
+
+        // then
+        Assert.assertEquals(visited.size(), 4);
+        Assert.assertTrue(visited.containsAll(List.of(1, 2, 3, 4)));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testInvalidThreshold() {
+        // given
+        Graph<Integer, Void> graph = GraphBuilderImpl.<Integer, Void>create().from(1).to(2).toGraph();
+
+        // when
+        new ParallelBreadthFirstTraversalStrategy<>(graph, ForkJoinPool.commonPool(), 0);
+
+        // then
+        // exception - the threshold must be positive
+    }
+
+    private static Graph<Integer, Void> createBinaryTree(GraphFactory factory) {
+        GraphBuilder<Integer, Void> builder = GraphBuilderImpl.create(factory);
+        for (int i = 1; i < TREE_SIZE; i++) {
+            builder.from((i - 1) / 2).to(i);
+        }
+        return builder.toGraph();
+    }
+}
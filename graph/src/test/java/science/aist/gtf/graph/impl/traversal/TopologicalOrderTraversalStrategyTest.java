@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020 the original author or authors.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package science.aist.gtf.graph.impl.traversal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import science.aist.gtf.graph.Graph;
+import science.aist.gtf.graph.Vertex;
+import science.aist.gtf.graph.builder.GraphBuilder;
+import science.aist.gtf.graph.builder.impl.GraphBuilderImpl;
+import science.aist.gtf.graph.factory.GraphFactoryFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Test class for {@link TopologicalOrderTraversalStrategy}</p>
+ *
+ * @author Andreas Pointner
+ */
+public class TopologicalOrderTraversalStrategyTest {
+
+    @Test
+    public void testTopologicalOrder() {
+        // given
+        Graph<String, Void> graph = GraphBuilderImpl.<String, Void>create()
+                .from("D").to("E")
+                .from("B").to("D")
+                .from("A").to("B")
+                .from("A").to("C")
+                .from("C").to("D")
+                .toGraph();
+        graph.setVertexTraversalStrategy(new TopologicalOrderTraversalStrategy<>(graph));
+        List<String> vertices = new ArrayList<>();
+        List<String> edgeSources = new ArrayList<>();
+
+        // when
+        graph.traverseEdges(v -> vertices.add(v.getElement()), e -> edgeSources.add(e.getSource().getElement()));
+
+        // then
+        Assert.assertEquals(vertices.size(), 5);
+        Assert.assertTrue(vertices.indexOf("A") < vertices.indexOf("B"));
+        Assert.assertTrue(vertices.indexOf("A") < vertices.indexOf("C"));
+        Assert.assertTrue(vertices.indexOf("B") < vertices.indexOf("D"));
+        Assert.assertTrue(vertices.indexOf("C") < vertices.indexOf("D"));
+        Assert.assertTrue(vertices.indexOf("D") < vertices.indexOf("E"));
+        Assert.assertEquals(edgeSources.size(), 5);
+    }
+
+    @Test
+    public void testTopologicalOrderIndexed() {
+        // given
+        int n = 100_000;
+        GraphBuilder<Integer, Void> builder = GraphBuilderImpl.<Integer, Void>create(GraphFactoryFactory.getCompactFactory());
+        for (int i = n - 1; i > 0; i--) {
+            builder.from(i - 1).to(i);
+        }
+        Graph<Integer, Void> graph = builder.toGraph();
+
+        // when
+        List<Vertex<Integer, Void>> order = new TopologicalOrderTraversalStrategy<>(graph).getOrder();
+
+        // then
+        Assert.assertEquals(order.size(), n);
+        for (int i = 0; i < n; i++) {
+            Assert.assertEquals(order.get(i).getElement().intValue(), i);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testCycle() {
+        // given
+        Graph<Integer, Void> graph = GraphBuilderImpl.<Integer, Void>create()
+                .from(0).to(1)
+                .from(1).to(2)
+                .from(2).to(1)
+                .toGraph();
+        TopologicalOrderTraversalStrategy<Integer, Void> strategy = new TopologicalOrderTraversalStrategy<>(graph);
+
+        // when
+        strategy.traverse(v -> Assert.fail("no vertex must be visited if there is a cycle"));
+
+        // then
+        // exception - the graph contains a cycle
+    }
+}
@@ -12,10 +12,12 @@ package science.aist.gtf.graph.validator.impl;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import science.aist.gtf.graph.GraphState;
+import science.aist.gtf.graph.analyzer.ConnectedGraphAnalyzer;
 import science.aist.gtf.graph.impl.EdgeImpl;
 import science.aist.gtf.graph.impl.GraphStateImpl;
 import science.aist.gtf.graph.impl.VertexImpl;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 /**
@@ -56,4 +58,33 @@ public class DefaultRulesGraphStateValidatorImplTest {
         // then
         Assert.assertFalse(validGraphState);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testUnchangedGraphStateIsNotAnalyzedAgain() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        ConnectedGraphAnalyzer<Void, Void> connectedGraphAnalyzer = new ConnectedGraphAnalyzer<>();
+        DefaultRulesGraphStateValidatorImpl<Void, Void> validator = new DefaultRulesGraphStateValidatorImpl<>(gs -> {
+            calls.incrementAndGet();
+            return connectedGraphAnalyzer.analyzeGraphState(gs);
+        });
+        GraphState<Void, Void> graphState = new GraphStateImpl<>();
+        VertexImpl<Void, Void> v1 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v2 = new VertexImpl<>(null);
+        VertexImpl<Void, Void> v3 = new VertexImpl<>(null);
+        Stream.of(v1, v2).forEach(graphState::addVertex);
+        graphState.addEdge(new EdgeImpl<>(null), v1, v2);
+
+        // when
+        boolean first = validator.isValidGraphState(graphState);
+        boolean second = validator.isValidGraphState(graphState);
+        graphState.addVertex(v3);
+        boolean third = validator.isValidGraphState(graphState);
+
+        // then
+        Assert.assertTrue(first);
+        Assert.assertTrue(second);
+        Assert.assertFalse(third);
+        Assert.assertEquals(calls.get(), 2);
+    }
+}
@@ -11,6 +11,17 @@ package science.aist.gtf.graph.validator.impl;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import science.aist.gtf.graph.*;
+import science.aist.gtf.graph.analyzer.CachingGraphAnalyzer;
+import science.aist.gtf.graph.analyzer.ConnectedGraphAnalyzer;
+import science.aist.gtf.graph.analyzer.VerticesHaveEdgesAnalyzer;
+import science.aist.gtf.graph.builder.GraphBuilder;
+import science.aist.gtf.graph.builder.impl.GraphBuilderImpl;
+import science.aist.gtf.graph.impl.MetaTagImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * <p>Test class for {@link RuleBasedGraphStateValidatorImpl}</p>
@@ -88,5 +99,118 @@ public class RuleBasedGraphStateValidatorImplTest {
         Assert.assertFalse(validGraphState);
     }
 
+    @Test
+    public void testCheapRulesFirst() {
+        // given
+        RuleBasedGraphStateValidatorImpl<Void, Void> ruleBasedGraphStateValidator = new RuleBasedGraphStateValidatorImpl<>();
+        List<String> evaluated = new ArrayList<>();
+        ruleBasedGraphStateValidator.addAnalyzerRule(
+                x -> evaluated.add("expensive"),
+                Boolean.TRUE::equals
+        );
+        ruleBasedGraphStateValidator.addAnalyzerRule(
+                new GraphAnalyzer<Void, Void, Integer>() {
+                    @Override
+                    public Integer analyzeGraphState(GraphStateAccessor<Void, Void> graphStateAccessor) {
+                        evaluated.add("cheap");
+                        return 0;
+                    }
+
+                    @Override
+                    public AnalyzerCost getCost() {
+                        return AnalyzerCost.CONSTANT;
+                    }
+                },
+                x -> x > 0
+        );
+
+        // when
+        boolean validGraphState = ruleBasedGraphStateValidator.isValidGraphState(null);
+
+        // then
+        Assert.assertFalse(validGraphState);
+        Assert.assertEquals(evaluated, List.of("cheap"));
+    }
+
+    @Test
+    public void testIncrementalRulesShareSingleScan() {
+        // given
+        RuleBasedGraphStateValidatorImpl<String, Void> ruleBasedGraphStateValidator = new RuleBasedGraphStateValidatorImpl<>();
+        AtomicInteger vertexVisits = new AtomicInteger();
+        AtomicInteger edgeVisits = new AtomicInteger();
+        IncrementalGraphAnalyzer<String, Void, Integer> countingAnalyzer = graphState -> new IncrementalGraphAnalyzer.Scan<>() {
+            private int edges;
+
+            @Override
+            public void visitVertex(Vertex<String, Void> vertex) {
+                vertexVisits.incrementAndGet();
+            }
+
+            @Override
+            public void visitEdge(Edge<String, Void> edge) {
+                edgeVisits.incrementAndGet();
+                edges++;
+            }
+
+            @Override
+            public Integer getResult() {
+                return edges;
+            }
+        };
+        ruleBasedGraphStateValidator.addAnalyzerRule(countingAnalyzer, x -> x == 2);
+        ruleBasedGraphStateValidator.addAnalyzerRule(new ConnectedGraphAnalyzer<>(), Boolean.TRUE::equals);
+        ruleBasedGraphStateValidator.addAnalyzerRule(new VerticesHaveEdgesAnalyzer<>(), Boolean.TRUE::equals);
+        GraphStateAccessor<String, Void> graphState = GraphBuilderImpl.<String, Void>create()
+                .from("1").to("2")
+                .from("2").to("3")
+                .getGraphState();
+
+        // when
+        boolean validGraphState = ruleBasedGraphStateValidator.isValidGraphState(graphState);
+
+        // then
+        Assert.assertTrue(validGraphState);
+        Assert.assertEquals(vertexVisits.get(), 3);
+        Assert.assertEquals(edgeVisits.get(), 2);
+    }
+
+    @Test
+    public void testMetaTagChangesAreValidated() {
+        // given
+        RuleBasedGraphStateValidatorImpl<String, Void> ruleBasedGraphStateValidator = new RuleBasedGraphStateValidatorImpl<>();
+        ruleBasedGraphStateValidator.addAnalyzerRule(gs -> gs.getVertices().stream()
+                .allMatch(v -> v.tryGetMetaTagValue("checked", Boolean.class).orElse(false)), Boolean.TRUE::equals);
+        Graph<String, Void> graph = GraphBuilderImpl.<String, Void>create().from("1").to("2").toGraph();
+
+        // when
+        boolean first = ruleBasedGraphStateValidator.isValidGraphState(graph.getGraphState());
+        graph.getVertices().forEach(v -> v.addMetaTag(new MetaTagImpl<>("checked", true)));
+        boolean second = ruleBasedGraphStateValidator.isValidGraphState(graph.getGraphState());
 
-}
\ No newline at end of file
+        // then
+        Assert.assertFalse(first);
+        Assert.assertTrue(second);
+    }
+
+    @Test
+    public void testCachingAnalyzerRule() {
+        // given
+        RuleBasedGraphStateValidatorImpl<String, Void> ruleBasedGraphStateValidator = new RuleBasedGraphStateValidatorImpl<>();
+        AtomicInteger calls = new AtomicInteger();
+        ruleBasedGraphStateValidator.addAnalyzerRule(new CachingGraphAnalyzer<String, Void, Boolean>(gs -> calls.incrementAndGet() > 0 && gs.vertexCount() > 2), Boolean.TRUE::equals);
+        GraphBuilder<String, Void> builder = GraphBuilderImpl.<String, Void>create().from("1").to("2");
+        GraphStateAccessor<String, Void> graphState = builder.getGraphState();
+
+        // when
+        boolean first = ruleBasedGraphStateValidator.isValidGraphState(graphState);
+        boolean second = ruleBasedGraphStateValidator.isValidGraphState(graphState);
+        builder.from("2").to("3");
+        boolean third = ruleBasedGraphStateValidator.isValidGraphState(graphState);
+
+        // then
+        Assert.assertFalse(first);
+        Assert.assertFalse(second);
+        Assert.assertTrue(third);
+        Assert.assertEquals(calls.get(), 2);
+    }
+}